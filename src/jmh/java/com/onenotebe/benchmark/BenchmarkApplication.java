@@ -0,0 +1,30 @@
+package com.onenotebe.benchmark;
+
+import com.onenotebe.OneNoteBeApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application on a random port against an in-memory H2 database
+ * so benchmarks exercise the real service and repository code.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        var args = new String[extraArgs.length + 9];
+        args[0] = "--spring.profiles.active=benchmark";
+        args[1] = "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        args[2] = "--spring.datasource.username=sa";
+        args[3] = "--spring.jpa.hibernate.ddl-auto=create-drop";
+        args[4] = "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect";
+        args[5] = "--spring.jpa.show-sql=false";
+        args[6] = "--app.jwt.secret=benchmark-secret-key-with-at-least-32-bytes";
+        args[7] = "--server.port=0";
+        args[8] = "--logging.level.root=WARN";
+        System.arraycopy(extraArgs, 0, args, 9, extraArgs.length);
+        return new SpringApplicationBuilder(OneNoteBeApplication.class).run(args);
+    }
+}
@@ -0,0 +1,55 @@
+package com.onenotebe.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Makes the in-memory H2 database behave like a remote one: every connection
+ * checkout holds the connection for {@code benchmark.jdbc-latency} before handing
+ * it out, as a network round trip to Postgres would. Only active when that
+ * property is set, so other benchmarks are unaffected.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("benchmark.jdbc-latency")
+class DatabaseLatencyConfig {
+
+    @Bean
+    static BeanPostProcessor databaseLatency(Environment environment) {
+        var latency = environment.getProperty("benchmark.jdbc-latency", Duration.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? new SlowDataSource(dataSource, latency) : bean;
+            }
+        };
+    }
+
+    private static final class SlowDataSource extends DelegatingDataSource {
+
+        private final Duration latency;
+
+        SlowDataSource(DataSource target, Duration latency) {
+            super(target);
+            this.latency = latency;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var connection = super.getConnection();
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return connection;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.onenotebe.benchmark;
+
+import com.onenotebe.config.JwtProperties;
+import com.onenotebe.security.JwtService;
+import com.onenotebe.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-request token check of the JWT filter, over a pool of live tokens:
+ * <ul>
+ *   <li>{@code legacy}: the previous filter path, three parses each with a freshly built parser;</li>
+ *   <li>{@code reusedParser}: one parse with a shared parser, no cache;</li>
+ *   <li>{@code cached}: {@link JwtService#verify}, which hits the verified-claims cache.</li>
+ * </ul>
+ *
+ * <p>Run with {@code ./gradlew jmh -Pjmh.includes=JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final int TOKENS = 64;
+    private static final String SECRET = "benchmark-secret-key-with-at-least-32-bytes";
+
+    private JwtService jwtService;
+    private SecretKey key;
+    private JwtParser parser;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpirationMs(TimeUnit.HOURS.toMillis(1));
+        jwtService = new JwtService(properties);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtService.generateToken((long) i, "user" + i, "ROLE_USER", 0).value();
+        }
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        var token = nextToken();
+        var username = legacyClaims(token).getSubject();
+        var claims = legacyClaims(token);
+        return legacyClaims(token).getSubject().equals(username) && claims.getExpiration().after(new Date());
+    }
+
+    @Benchmark
+    public Claims reusedParser() {
+        return parser.parseClaimsJws(nextToken()).getBody();
+    }
+
+    @Benchmark
+    public VerifiedToken cached() {
+        return jwtService.verify(nextToken());
+    }
+
+    private String nextToken() {
+        next = (next + 1) & (TOKENS - 1);
+        return tokens[next];
+    }
+
+    private Claims legacyClaims(String token) {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
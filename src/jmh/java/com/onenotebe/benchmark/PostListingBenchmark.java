@@ -0,0 +1,100 @@
+package com.onenotebe.benchmark;
+
+import com.onenotebe.service.PostCursor;
+import com.onenotebe.service.PostService;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares OFFSET pagination with keyset pagination from page 1 to page 10,000
+ * over a seeded archive of 200k posts. Offset latency grows with the page number;
+ * keyset latency should stay flat.
+ *
+ * <p>Run with {@code ./gradlew jmh -Pjmh.includes=PostListingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostListingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int POSTS = 10_000 * PAGE_SIZE + PAGE_SIZE;
+    private static final int BATCH = 5_000;
+
+    @Param({"1", "100", "1000", "10000"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        postService = context.getBean(PostService.class);
+        var jdbc = context.getBean(JdbcTemplate.class);
+        seed(jdbc);
+        cursor = cursorForPage(jdbc, page);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object offset() {
+        return postService.listAll(page - 1, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object keyset() {
+        return postService.listByCursor(cursor, PAGE_SIZE);
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        var base = Instant.parse("2020-01-01T00:00:00Z");
+        var rows = new ArrayList<Object[]>(BATCH);
+        for (int i = 0; i < POSTS; i++) {
+            var created = Timestamp.from(base.plusSeconds(i));
+            rows.add(new Object[]{"Post " + i, "post-" + i, "Body of post " + i, created, created});
+            if (rows.size() == BATCH) {
+                insert(jdbc, rows);
+                rows.clear();
+            }
+        }
+        insert(jdbc, rows);
+    }
+
+    private static void insert(JdbcTemplate jdbc, List<Object[]> rows) {
+        // posts.id has no default since ids come from the shared entity_id_seq sequence
+        jdbc.batchUpdate("insert into posts (id, title, slug, content, created_at, updated_at) "
+                + "values (next value for entity_id_seq, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /** The cursor a client would hold after reading {@code page - 1} pages. */
+    private static String cursorForPage(JdbcTemplate jdbc, int page) {
+        if (page == 1) {
+            return "";
+        }
+        return jdbc.queryForObject(
+                "select created_at, id from posts order by created_at desc, id desc offset ? rows fetch next 1 rows only",
+                (rs, i) -> new PostCursor(rs.getTimestamp(1).toInstant(), rs.getLong(2)).encode(),
+                (page - 1) * PAGE_SIZE - 1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.onenotebe.benchmark;
+
+import com.onenotebe.security.TokenBucketRateLimiter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of one rate limit decision under contention: the CAS token bucket against
+ * the previous fixed-window limiter built on {@code ConcurrentHashMap.compute}
+ * (kept here verbatim as the baseline). {@code hotKey} repeats one client;
+ * {@code spreadKeys} cycles through 1024 clients. Limits are set high
+ * enough that every call is admitted, which is the path normal traffic takes.
+ *
+ * <p>Run with {@code ./gradlew jmh -Pjmh.includes=RateLimiterBenchmark}; add
+ * {@code -Pjmh.profilers=gc} to compare allocation per decision.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 1024;
+
+    private final TokenBucketRateLimiter tokenBucket = new TokenBucketRateLimiter(1_000_000, Duration.ofMillis(1), KEYS * 2);
+    private final FixedWindowLimiter fixedWindow = new FixedWindowLimiter(Integer.MAX_VALUE, Duration.ofHours(1));
+    private final String[] keys = new String[KEYS];
+
+    public RateLimiterBenchmark() {
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "10.0." + (i >> 8) + "." + (i & 255);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public boolean tokenBucketHotKey() {
+        return tokenBucket.allow(keys[0]);
+    }
+
+    @Benchmark
+    public boolean fixedWindowHotKey() {
+        return fixedWindow.allow(keys[0]);
+    }
+
+    @Benchmark
+    public boolean tokenBucketSpreadKeys(Cursor cursor) {
+        cursor.next = (cursor.next + 1) & (KEYS - 1);
+        return tokenBucket.allow(keys[cursor.next]);
+    }
+
+    @Benchmark
+    public boolean fixedWindowSpreadKeys(Cursor cursor) {
+        cursor.next = (cursor.next + 1) & (KEYS - 1);
+        return fixedWindow.allow(keys[cursor.next]);
+    }
+
+    private static final class FixedWindowLimiter {
+        private final Map<String, Window> windows = new ConcurrentHashMap<>();
+        private final int maxRequests;
+        private final Duration windowSize;
+
+        FixedWindowLimiter(int maxRequests, Duration windowSize) {
+            this.maxRequests = maxRequests;
+            this.windowSize = windowSize;
+        }
+
+        boolean allow(String key) {
+            var now = Instant.now();
+            var w = windows.compute(key, (k, existing) -> {
+                if (existing == null || now.isAfter(existing.resetAt)) {
+                    return new Window(1, now.plus(windowSize));
+                }
+                if (existing.count < maxRequests) {
+                    existing.count++;
+                }
+                return existing;
+            });
+            return w.count <= maxRequests;
+        }
+
+        private static final class Window {
+            int count;
+            Instant resetAt;
+
+            Window(int count, Instant resetAt) {
+                this.count = count;
+                this.resetAt = resetAt;
+            }
+        }
+    }
+}
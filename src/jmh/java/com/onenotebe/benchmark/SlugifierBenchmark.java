@@ -0,0 +1,61 @@
+package com.onenotebe.benchmark;
+
+import com.onenotebe.service.Slugifier;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Slug generation cost of the shared {@link Slugifier} against the previous
+ * {@code String.replaceAll} implementation, over a mix of English and Vietnamese
+ * titles. The regex version is kept here verbatim as the baseline (it drops every
+ * accented letter, so its output differs for the Vietnamese titles).
+ *
+ * <p>Run with {@code ./gradlew jmh -Pjmh.includes=SlugifierBenchmark}; add
+ * {@code -Pjmh.profilers=gc} to compare allocation per slug.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlugifierBenchmark {
+
+    private static final String[] TITLES = {
+            "Getting Started with Spring Boot 3.5 and Java 21",
+            "Virtual Threads: What Changes for Blocking JDBC Code?",
+            "Hướng dẫn lập trình Java cho người mới bắt đầu",
+            "Tối ưu hiệu năng PostgreSQL với chỉ mục phù hợp",
+            "  Caching -- the Good, the Bad & the Ugly!  ",
+            "Đánh giá Kubernetes trong môi trường sản xuất",
+            "Keyset Pagination vs OFFSET: A Benchmark",
+            "Những điều cần biết về bảo mật JWT"
+    };
+
+    private final Slugifier slugifier = new Slugifier();
+    private int next;
+
+    @Benchmark
+    public String slugifier() {
+        next = (next + 1) & 7;
+        return slugifier.slugify(TITLES[next]);
+    }
+
+    @Benchmark
+    public String regex() {
+        next = (next + 1) & 7;
+        return regexSlugify(TITLES[next]);
+    }
+
+    private static String regexSlugify(String input) {
+        if (input == null || input.isBlank()) {
+            return "";
+        }
+        return input.toLowerCase()
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("-+", "-")
+                .replaceAll("(^-)|-($)", "");
+    }
+}
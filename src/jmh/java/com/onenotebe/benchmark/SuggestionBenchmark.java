@@ -0,0 +1,86 @@
+package com.onenotebe.benchmark;
+
+import com.onenotebe.dto.SuggestionDto;
+import com.onenotebe.search.PrefixTrie;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookup throughput of the autocomplete trie over synthetic post titles.
+ * Prefixes are drawn from indexed titles and cut at the given length, so
+ * short prefixes hit wide subtrees and long ones walk deep paths.
+ *
+ * <p>Run with {@code ./gradlew jmh -Pjmh.includes=SuggestionBenchmark}; add
+ * {@code -Pjmh.profilers=gc} to check allocation per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestionBenchmark {
+
+    private static final String[] WORDS = {
+            "spring", "java", "virtual", "threads", "caching", "postgres", "index", "search", "kotlin",
+            "gradle", "docker", "kubernetes", "security", "tokens", "markdown", "render", "latency",
+            "throughput", "benchmark", "memory", "garbage", "collector", "streams", "records", "pattern",
+            "matching", "reactive", "servlet", "hibernate", "queries", "pagination", "keyset", "bitmap"
+    };
+    private static final int PREFIXES = 1024;
+
+    @Param({"10000", "100000"})
+    public int posts;
+
+    @Param({"1", "3", "8"})
+    public int prefixLength;
+
+    private PrefixTrie trie;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        var titles = new String[posts];
+        var builder = PrefixTrie.builder(10, 32);
+        for (int i = 0; i < posts; i++) {
+            titles[i] = title(random);
+            builder.add(new SuggestionDto(SuggestionDto.Type.POST, titles[i], "post-" + i), i, titles[i]);
+        }
+        trie = builder.build();
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            var title = titles[random.nextInt(posts)];
+            var words = title.split(" ");
+            var word = words[random.nextInt(words.length)];
+            prefixes[i] = word.substring(0, Math.min(prefixLength, word.length()));
+        }
+    }
+
+    @Benchmark
+    public List<SuggestionDto> lookup() {
+        next = (next + 1) & (PREFIXES - 1);
+        return trie.lookup(prefixes[next], 10);
+    }
+
+    static String title(SplittableRandom random) {
+        var title = new StringBuilder();
+        int words = 3 + random.nextInt(5);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                title.append(' ');
+            }
+            var word = WORDS[random.nextInt(WORDS.length)];
+            title.append(w == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+        }
+        return title.append(' ').append(random.nextInt(100_000)).toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.onenotebe.benchmark;
+
+import com.onenotebe.dto.SuggestionDto;
+import com.onenotebe.search.PrefixTrie;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Time to build the autocomplete trie from scratch, which the suggestion index
+ * does once per burst of post or category writes. Titles are generated like in
+ * {@link SuggestionBenchmark}.
+ *
+ * <p>Run with {@code ./gradlew jmh -Pjmh.includes=SuggestionRebuildBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SuggestionRebuildBenchmark {
+
+    @Param({"10000", "100000"})
+    public int posts;
+
+    private String[] titles;
+    private SuggestionDto[] suggestions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        titles = new String[posts];
+        suggestions = new SuggestionDto[posts];
+        for (int i = 0; i < posts; i++) {
+            titles[i] = SuggestionBenchmark.title(random);
+            suggestions[i] = new SuggestionDto(SuggestionDto.Type.POST, titles[i], "post-" + i);
+        }
+    }
+
+    @Benchmark
+    public PrefixTrie rebuild() {
+        var builder = PrefixTrie.builder(10, 32);
+        for (int i = 0; i < posts; i++) {
+            builder.add(suggestions[i], i, titles[i]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.onenotebe.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Time to serve a burst of concurrent post listings over HTTP with Tomcat on its
+ * platform thread pool (200 threads) versus virtual threads, with and without the
+ * JDBC connection gate ({@code app.datasource.connection-gate}). Each request checks
+ * out a connection that the database holds for 200ms ({@link DatabaseLatencyConfig}).
+ * With 400 connections the pool is larger than Tomcat's thread pool, so the thread
+ * pool is the bottleneck the virtual mode removes; with 20 connections the pool is
+ * the bottleneck, and the virtual modes compare queueing hundreds of threads at the
+ * gate against letting them all contend inside the pool.
+ *
+ * <p>Run with {@code ./gradlew jmh -Pjmh.includes=ThreadingModeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ThreadingModeBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 600;
+
+    /** {@code platform}, {@code virtual} (gated) or {@code virtual-ungated}. */
+    @Param({"platform", "virtual", "virtual-ungated"})
+    public String threads;
+
+    @Param({"400", "20"})
+    public int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "--spring.threads.virtual.enabled=" + threads.startsWith("virtual"),
+                "--app.datasource.connection-gate=" + !"virtual-ungated".equals(threads),
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--benchmark.jdbc-latency=PT0.2S",
+                "--app.rate-limit.enabled=false",
+                "--server.tomcat.accept-count=" + CONCURRENT_REQUESTS);
+        var port = context.getEnvironment().getProperty("local.server.port");
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/posts?page=0&size=20"))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        clientExecutor.close();
+    }
+
+    @Benchmark
+    public int burst() {
+        var responses = new ArrayList<CompletableFuture<HttpResponse<Void>>>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (var response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != CONCURRENT_REQUESTS) {
+            throw new IllegalStateException("Only " + ok + " of " + CONCURRENT_REQUESTS + " requests succeeded");
+        }
+        return ok;
+    }
+}
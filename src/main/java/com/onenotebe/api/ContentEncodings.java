@@ -0,0 +1,44 @@
+package com.onenotebe.api;
+
+/**
+ * Helpers for negotiating pre-compressed response bodies from Accept-Encoding.
+ */
+public final class ContentEncodings {
+
+    public static final String GZIP = "gzip";
+
+    private ContentEncodings() {
+    }
+
+    /**
+     * True when the Accept-Encoding header lists gzip (or *) with a non-zero quality.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        for (var part : acceptEncoding.split(",")) {
+            var semicolon = part.indexOf(';');
+            var coding = (semicolon < 0 ? part : part.substring(0, semicolon)).trim();
+            if ((GZIP.equalsIgnoreCase(coding) || "*".equals(coding)) && quality(part, semicolon) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double quality(String part, int semicolon) {
+        if (semicolon < 0) {
+            return 1.0;
+        }
+        var params = part.substring(semicolon + 1).trim();
+        if (!params.startsWith("q=")) {
+            return 1.0;
+        }
+        try {
+            return Double.parseDouble(params.substring(2).trim());
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
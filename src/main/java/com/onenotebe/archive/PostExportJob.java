@@ -0,0 +1,98 @@
+package com.onenotebe.archive;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.onenotebe.dto.PostArchiveDto;
+import com.onenotebe.repository.PostRepository;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes every post as NDJSON in the format {@link PostImportJob} reads.
+ *
+ * <p>Posts are read with a forward-only scroll inside one read-only repeatable-read
+ * transaction, so the dump is a consistent snapshot even while the blog is edited.
+ * Rows are projections handled in chunks of {@value #CHUNK_SIZE}: each chunk fetches
+ * its category slugs with one query, is written out and flushed, then dropped, so
+ * heap use stays flat however large the blog is.
+ */
+@Component
+@Slf4j
+public class PostExportJob {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+    private final TransactionTemplate snapshotTransaction;
+
+    public PostExportJob(PostRepository postRepository,
+                         ObjectMapper objectMapper,
+                         TransactionTemplate transactionTemplate) {
+        this.postRepository = postRepository;
+        this.objectMapper = objectMapper;
+        // Flushed once per chunk instead of once per line
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /** Streams the archive to {@code out}; the caller owns and closes the stream. */
+    public void export(OutputStream out) {
+        var started = System.nanoTime();
+        long exported = snapshotTransaction.execute(status -> {
+            try (var rows = postRepository.streamExportRows();
+                 var generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                var chunk = new ArrayList<PostRepository.ExportRow>(CHUNK_SIZE);
+                long count = 0;
+                for (var row : (Iterable<PostRepository.ExportRow>) rows::iterator) {
+                    chunk.add(row);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        count += writeChunk(chunk, generator);
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    count += writeChunk(chunk, generator);
+                }
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write post export", e);
+            }
+        });
+        log.info("Post export finished [exported={}, elapsedMs={}]",
+                exported, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private int writeChunk(List<PostRepository.ExportRow> chunk, JsonGenerator generator) throws IOException {
+        var slugsByPost = new HashMap<Long, List<String>>();
+        postRepository.findCategorySlugs(chunk.stream().map(PostRepository.ExportRow::id).toList())
+                .forEach(link -> slugsByPost.computeIfAbsent(link.postId(), id -> new ArrayList<>()).add(link.slug()));
+        // Sorted so two exports of the same data are byte-identical
+        slugsByPost.values().forEach(slugs -> slugs.sort(Comparator.naturalOrder()));
+        for (var row : chunk) {
+            var categories = slugsByPost.getOrDefault(row.id(), List.of());
+            lineWriter.writeValue(generator, new PostArchiveDto(row.title(), row.slug(), row.content(),
+                    row.featuredImageUrl(), row.author(), categories, row.createdAt()));
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return chunk.size();
+    }
+}
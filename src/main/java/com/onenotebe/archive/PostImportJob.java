@@ -0,0 +1,391 @@
+package com.onenotebe.archive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onenotebe.dto.ImportReportDto;
+import com.onenotebe.dto.PostArchiveDto;
+import com.onenotebe.event.PostsImportedEvent;
+import com.onenotebe.exception.JobAlreadyRunningException;
+import com.onenotebe.exception.ResourceNotFoundException;
+import com.onenotebe.model.User;
+import com.onenotebe.model.base.BaseEntity;
+import com.onenotebe.repository.CategoryRepository;
+import com.onenotebe.repository.PostRepository;
+import com.onenotebe.repository.UserRepository;
+import com.onenotebe.service.Slugifier;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads posts from an NDJSON archive, one {@link PostArchiveDto} per line.
+ *
+ * <p>The upload is read as a stream and processed in batches of {@value #BATCH_SIZE}
+ * lines. Per batch, authors, categories, taken slugs and the suffixed families of
+ * colliding slugs are resolved with one query each (authors and categories are
+ * remembered across batches), ids are reserved
+ * from the shared sequence in blocks, and posts plus their {@code post_categories}
+ * rows are written with JDBC batch inserts in one transaction. A line that cannot be
+ * imported is reported and skipped; if a batch insert still fails, the batch is
+ * replayed row by row so only the offending rows are lost. Explicit slugs must already
+ * be in the form {@link Slugifier} produces, so imported URLs match created ones.
+ */
+@Component
+@Slf4j
+public class PostImportJob {
+
+    static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_POST = """
+            insert into posts (id, title, slug, content, featured_image_url, author_id,
+                               created_at, updated_at, created_by, updated_by)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_POST_CATEGORY =
+            "insert into post_categories (post_id, category_id) values (?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Slugifier slugifier;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PostImportJob(ObjectMapper objectMapper,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         UserRepository userRepository,
+                         CategoryRepository categoryRepository,
+                         PostRepository postRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         Slugifier slugifier) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.postRepository = postRepository;
+        this.eventPublisher = eventPublisher;
+        this.slugifier = slugifier;
+    }
+
+    public ImportReportDto run(InputStream archive, String importingUsername) {
+        if (!running.compareAndSet(false, true)) {
+            throw new JobAlreadyRunningException("A post import is already running");
+        }
+        try {
+            var importer = userRepository.findByUsername(importingUsername)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found: " + importingUsername));
+            return importAll(archive, importer);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ImportReportDto importAll(InputStream archive, User importer) {
+        var run = new Run(importer);
+        var started = System.nanoTime();
+        log.info("Post import started [importer={}]", importer.getUsername());
+        try (var reader = new BufferedReader(new InputStreamReader(archive, StandardCharsets.UTF_8))) {
+            var batch = new ArrayList<Row>(BATCH_SIZE);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.received++;
+                try {
+                    batch.add(new Row(lineNumber, objectMapper.readValue(line, PostArchiveDto.class)));
+                } catch (JsonProcessingException e) {
+                    run.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                }
+                if (batch.size() == BATCH_SIZE) {
+                    importBatch(batch, run);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read import archive", e);
+        } finally {
+            // Committed batches stay even if the upload breaks off, so indexes resync either way
+            run.elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (run.imported > 0) {
+                eventPublisher.publishEvent(new PostsImportedEvent(run.imported));
+            }
+        }
+        var elapsedMs = run.elapsedMs;
+        var perSecond = elapsedMs == 0 ? run.imported : run.imported * 1000.0 / elapsedMs;
+        log.info("Post import finished [received={}, imported={}, failed={}, elapsedMs={}]",
+                run.received, run.imported, run.failed, elapsedMs);
+        return new ImportReportDto(run.received, run.imported, run.failed, elapsedMs,
+                Math.round(perSecond * 10) / 10.0, List.copyOf(run.errors));
+    }
+
+    private void importBatch(List<Row> batch, Run run) {
+        resolveAuthors(batch, run);
+        resolveCategories(batch, run);
+        var slugs = batch.stream().map(row -> slugOf(row.post())).filter(slug -> !slug.isEmpty()).toList();
+        var taken = slugs.isEmpty() ? Set.<String>of() : new HashSet<>(postRepository.findExistingSlugs(slugs));
+        var families = findSlugFamilies(collidingDerivedSlugs(batch, run, taken));
+
+        var accepted = new ArrayList<Insert>(batch.size());
+        for (var row : batch) {
+            var insert = prepare(row, run, taken, families);
+            if (insert != null) {
+                accepted.add(insert);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertAll(accepted));
+            run.imported += accepted.size();
+        } catch (DataAccessException e) {
+            log.warn("Import batch failed, retrying row by row [rows={}]", accepted.size(), e);
+            for (var insert : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertAll(List.of(insert)));
+                    run.imported++;
+                } catch (DataAccessException rowFailure) {
+                    // The driver message names tables and constraints; it goes to the log, not the report
+                    log.warn("Import row failed [line={}, slug={}]", insert.line(), insert.slug(), rowFailure);
+                    run.reject(insert.line(), rowFailure instanceof DuplicateKeyException
+                            ? "Slug already exists: " + insert.slug()
+                            : "Insert failed");
+                }
+            }
+        }
+    }
+
+    private Insert prepare(Row row, Run run, Set<String> taken, Set<String> families) {
+        var post = row.post();
+        if (post == null || isBlank(post.title()) || isBlank(post.content())) {
+            run.reject(row.line(), "title and content are required");
+            return null;
+        }
+        var slug = slugOf(post);
+        if (!isBlank(post.slug()) && !slug.equals(post.slug().trim())) {
+            run.reject(row.line(), "Invalid slug, expected lowercase letters, digits and hyphens of at most "
+                    + Slugifier.MAX_LENGTH + " characters: " + post.slug());
+            return null;
+        }
+        if (slug.isEmpty()) {
+            run.reject(row.line(), "Unable to derive a slug from the title");
+            return null;
+        }
+        if (taken.contains(slug) || run.slugsSeen.contains(slug)) {
+            if (!isBlank(post.slug())) {
+                run.reject(row.line(), "Slug already exists: " + slug);
+                return null;
+            }
+            // Derived from a duplicate title: suffix it like interactive creation does
+            slug = slugifier.unique(slug,
+                    candidate -> families.contains(candidate) || run.slugsSeen.contains(candidate));
+        }
+        Long authorId = post.author() == null ? run.importer.getId() : run.authors.get(post.author());
+        if (authorId == null) {
+            run.reject(row.line(), "Unknown author: " + post.author());
+            return null;
+        }
+        var categoryIds = new ArrayList<Long>();
+        if (post.categories() != null) {
+            for (var categorySlug : new HashSet<>(post.categories())) {
+                var categoryId = run.categories.get(categorySlug);
+                if (categoryId == null) {
+                    run.reject(row.line(), "Unknown category: " + categorySlug);
+                    return null;
+                }
+                categoryIds.add(categoryId);
+            }
+        }
+        // Claimed only once the row is valid, so a rejected row does not block its slug for later rows
+        run.slugsSeen.add(slug);
+        var createdAt = post.createdAt() == null ? run.startedAt : post.createdAt();
+        return new Insert(row.line(), run.nextId(), post, slug, authorId, categoryIds, createdAt);
+    }
+
+    private void insertAll(List<Insert> inserts) {
+        var stamp = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_POST, inserts, inserts.size(), (ps, insert) -> {
+            ps.setLong(1, insert.id());
+            ps.setString(2, insert.post().title());
+            ps.setString(3, insert.slug());
+            ps.setString(4, insert.post().content());
+            ps.setString(5, insert.post().featuredImageUrl());
+            ps.setLong(6, insert.authorId());
+            ps.setTimestamp(7, Timestamp.from(insert.createdAt()));
+            ps.setTimestamp(8, stamp);
+            ps.setLong(9, insert.authorId());
+            ps.setLong(10, insert.authorId());
+        });
+        var links = new ArrayList<long[]>();
+        inserts.forEach(insert -> insert.categoryIds().forEach(categoryId ->
+                links.add(new long[]{insert.id(), categoryId})));
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_POST_CATEGORY, links, links.size(), (ps, link) -> {
+                ps.setLong(1, link[0]);
+                ps.setLong(2, link[1]);
+            });
+        }
+    }
+
+    private void resolveAuthors(List<Row> batch, Run run) {
+        var missing = new HashSet<String>();
+        batch.forEach(row -> {
+            if (row.post() != null && row.post().author() != null && !run.authors.containsKey(row.post().author())) {
+                missing.add(row.post().author());
+            }
+        });
+        if (!missing.isEmpty()) {
+            userRepository.findByUsernameIn(missing).forEach(user -> run.authors.put(user.getUsername(), user.getId()));
+        }
+    }
+
+    private void resolveCategories(List<Row> batch, Run run) {
+        var missing = new HashSet<String>();
+        batch.forEach(row -> {
+            if (row.post() != null && row.post().categories() != null) {
+                row.post().categories().stream()
+                        .filter(Objects::nonNull)
+                        .filter(slug -> !run.categories.containsKey(slug))
+                        .forEach(missing::add);
+            }
+        });
+        if (!missing.isEmpty()) {
+            categoryRepository.findBySlugIn(missing)
+                    .forEach(category -> run.categories.put(category.getSlug(), category.getId()));
+        }
+    }
+
+    /**
+     * Title-derived slugs of the batch that are taken, were imported earlier in the run
+     * or occur more than once in the batch, and so will need a suffix.
+     */
+    private Set<String> collidingDerivedSlugs(List<Row> batch, Run run, Set<String> taken) {
+        var seen = new HashSet<String>();
+        var colliding = new HashSet<String>();
+        for (var row : batch) {
+            if (row.post() == null || !isBlank(row.post().slug())) {
+                continue;
+            }
+            var slug = slugOf(row.post());
+            if (!slug.isEmpty() && (!seen.add(slug) || taken.contains(slug) || run.slugsSeen.contains(slug))) {
+                colliding.add(slug);
+            }
+        }
+        return colliding;
+    }
+
+    /**
+     * Every taken slug equal to one of the bases or of the form {@code base-<suffix>}, in
+     * one query. Slugs hold no {@code %} or {@code _}, so the bases need no LIKE escaping.
+     */
+    private Set<String> findSlugFamilies(Set<String> bases) {
+        if (bases.isEmpty()) {
+            return Set.of();
+        }
+        var sql = new StringBuilder("select slug from posts where slug in (");
+        var args = new ArrayList<Object>(bases.size() * 2);
+        for (var base : bases) {
+            sql.append(args.isEmpty() ? "?" : ", ?");
+            args.add(base);
+        }
+        sql.append(')');
+        for (var base : bases) {
+            sql.append(" or slug like ?");
+            args.add(base + "-%");
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray()));
+    }
+
+    /** Reserves the next block of ids; the sequence value is the first id of the block (pooled-lo). */
+    private long reserveIdBlock() {
+        var low = jdbcTemplate.queryForObject("select nextval('" + BaseEntity.ID_SEQUENCE + "')", Long.class);
+        return Objects.requireNonNull(low, "Id sequence returned no value");
+    }
+
+    /** Normalized slug of the post; for an explicit slug, {@link #prepare} rejects any difference. */
+    private String slugOf(PostArchiveDto post) {
+        if (post == null) {
+            return "";
+        }
+        return slugifier.slugify(isBlank(post.slug()) ? post.title() : post.slug());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record Row(long line, PostArchiveDto post) {
+    }
+
+    private record Insert(long line, long id, PostArchiveDto post, String slug, long authorId,
+                          List<Long> categoryIds, Instant createdAt) {
+    }
+
+    /** Mutable state of one import run; confined to the request thread. */
+    private final class Run {
+        private final User importer;
+        private final Instant startedAt = Instant.now();
+        private final Map<String, Long> authors = new HashMap<>();
+        private final Map<String, Long> categories = new HashMap<>();
+        private final Set<String> slugsSeen = new HashSet<>();
+        private final List<ImportReportDto.RowError> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+        private long elapsedMs;
+        private long nextId;
+        private long idLimit;
+
+        private Run(User importer) {
+            this.importer = importer;
+        }
+
+        private long nextId() {
+            if (nextId == idLimit) {
+                nextId = reserveIdBlock();
+                idLimit = nextId + BaseEntity.ID_ALLOCATION_SIZE;
+            }
+            return nextId++;
+        }
+
+        private void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReportDto.RowError(line, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.onenotebe.bootstrap;
+
+import com.onenotebe.model.base.BaseEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the shared id sequence past the highest existing primary key. Tables
+ * created under the former identity columns already hold ids the new sequence
+ * would hand out again; runs before any other runner inserts rows.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class IdSequenceAligner implements ApplicationRunner {
+
+    private static final String[] TABLES = {"users", "categories", "posts"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long maxId = 0;
+        for (var table : TABLES) {
+            var tableMax = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            maxId = Math.max(maxId, tableMax == null ? 0 : tableMax);
+        }
+        var next = jdbcTemplate.queryForObject("select nextval('" + BaseEntity.ID_SEQUENCE + "')", Long.class);
+        if (next != null && next > maxId) {
+            log.debug("Id sequence already ahead of existing rows [next={}, maxId={}]", next, maxId);
+            return;
+        }
+        jdbcTemplate.execute("alter sequence " + BaseEntity.ID_SEQUENCE + " restart with " + (maxId + 1));
+        log.info("Id sequence aligned with existing rows [restartWith={}]", maxId + 1);
+    }
+}
@@ -0,0 +1,13 @@
+package com.onenotebe.cache;
+
+/**
+ * Central registry of cache names so services, configuration and stats
+ * reporting agree on the same identifiers.
+ */
+public final class CacheNames {
+    public static final String POSTS_BY_SLUG = "postsBySlug";
+    public static final String POSTS_BY_ID = "postsById";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.onenotebe.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.onenotebe.dto.PostDetailDto;
+
+/**
+ * Estimates the retained heap size of a cache entry in bytes so L1 caches can
+ * be bounded by memory instead of entry count. Strings are weighed at two bytes
+ * per char, which over-estimates Latin-1 compact strings and keeps us on the safe side.
+ */
+public final class CacheWeigher implements Weigher<Object, Object> {
+
+    private static final int ENTRY_OVERHEAD = 128;
+    private static final int DEFAULT_WEIGHT = 256;
+    private static final int NESTED_OBJECT_WEIGHT = 96;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long weight = ENTRY_OVERHEAD + chars(String.valueOf(key));
+        if (value instanceof PostDetailDto post) {
+            weight += chars(post.title()) + chars(post.slug()) + chars(post.content()) + chars(post.featuredImageUrl())
+                    + chars(post.html());
+            weight += post.author() != null ? NESTED_OBJECT_WEIGHT : 0;
+            weight += post.categories() != null ? (long) NESTED_OBJECT_WEIGHT * post.categories().size() : 0;
+        } else {
+            weight += DEFAULT_WEIGHT;
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static long chars(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+}
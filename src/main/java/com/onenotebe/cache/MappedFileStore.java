@@ -0,0 +1,156 @@
+package com.onenotebe.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Off-heap L2 store backed by a memory-mapped file used as a ring buffer.
+ * Values are appended at the write position; when the ring wraps, any entry
+ * overlapped by a new write is dropped, so the file never grows beyond its
+ * configured size. The index lives on the heap but only holds offsets.
+ *
+ * <p>The store is a cache, not a persistence layer: its contents are discarded
+ * on restart and the backing file is deleted on close.
+ */
+@Slf4j
+public class MappedFileStore implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Map<String, Slot> index = new HashMap<>();
+    private final NavigableMap<Integer, String> byOffset = new TreeMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int writePosition;
+
+    public MappedFileStore(Path file, long sizeBytes) {
+        this.file = file;
+        this.capacity = (int) Math.min(sizeBytes, Integer.MAX_VALUE);
+        try {
+            Files.createDirectories(file.getParent());
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map L2 cache file " + file, e);
+        }
+        log.info("L2 cache file mapped [path={}, sizeBytes={}]", file, capacity);
+    }
+
+    /**
+     * Stores a value; values larger than a quarter of the file are skipped so a
+     * single huge post cannot flush the whole tier.
+     */
+    public void put(String key, byte[] value, long expiresAtMillis) {
+        if (value.length == 0 || value.length > capacity / 4) {
+            return;
+        }
+        lock.lock();
+        try {
+            removeInternal(key);
+            if (writePosition + value.length > capacity) {
+                writePosition = 0;
+            }
+            dropOverlapping(writePosition, writePosition + value.length);
+            buffer.put(writePosition, value);
+            index.put(key, new Slot(writePosition, value.length, expiresAtMillis));
+            byOffset.put(writePosition, key);
+            writePosition += value.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns a copy of the stored bytes, or null when absent or expired. */
+    public byte[] get(String key, long nowMillis) {
+        lock.lock();
+        try {
+            var slot = index.get(key);
+            if (slot == null) {
+                return null;
+            }
+            if (slot.expiresAtMillis() <= nowMillis) {
+                removeInternal(key);
+                return null;
+            }
+            var copy = new byte[slot.length()];
+            buffer.get(slot.offset(), copy);
+            return copy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.lock();
+        try {
+            removeInternal(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            byOffset.clear();
+            writePosition = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        clear();
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    private void dropOverlapping(int start, int end) {
+        var previous = byOffset.lowerEntry(start);
+        if (previous != null) {
+            var slot = index.get(previous.getValue());
+            if (slot != null && slot.offset() + slot.length() > start) {
+                removeInternal(previous.getValue());
+            }
+        }
+        var overlapped = byOffset.subMap(start, true, end, false);
+        for (var key : overlapped.values().toArray(String[]::new)) {
+            removeInternal(key);
+        }
+    }
+
+    private void removeInternal(String key) {
+        var slot = index.remove(key);
+        if (slot != null) {
+            byOffset.remove(slot.offset());
+        }
+    }
+
+    private record Slot(int offset, int length, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.onenotebe.cache;
+
+import com.onenotebe.dto.PostDetailDto;
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@code postsById} and {@code postsBySlug} consistent with post mutations.
+ * Runs after commit and applies every key change for one post under a single lock:
+ * the new state is written through under id and new slug, and a slug that moved
+ * away is evicted, so the first read after an edit is served from cache. A write
+ * older than the cached entry by {@code updatedAt} is dropped. Posts of a
+ * renamed or deleted category are evicted, as their cached DTOs embed the old category.
+ */
+@Component
+@Slf4j
+public class PostCacheSynchronizer {
+
+    private final Cache postsById;
+    private final Cache postsBySlug;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public PostCacheSynchronizer(CacheManager cacheManager) {
+        this.postsById = requireCache(cacheManager, CacheNames.POSTS_BY_ID);
+        this.postsBySlug = requireCache(cacheManager, CacheNames.POSTS_BY_SLUG);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        lock.lock();
+        try {
+            if (event.slugMoved()) {
+                postsBySlug.evict(event.previousSlug());
+            }
+            var post = event.post();
+            if (post == null) {
+                postsById.evict(event.postId());
+            } else if (isOutdated(post, postsById.get(post.id(), PostDetailDto.class))
+                    || isOutdated(post, postsBySlug.get(post.slug(), PostDetailDto.class))) {
+                log.debug("Skipped outdated post cache write [id={}, updatedAt={}]", post.id(), post.updatedAt());
+            } else {
+                postsById.put(post.id(), post);
+                postsBySlug.put(post.slug(), post);
+            }
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Post caches synchronized [type={}, id={}, previousSlug={}]",
+                event.type(), event.postId(), event.previousSlug());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.postIds().isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            event.postIds().forEach(postsById::evict);
+            // Slugs of the affected posts are not known here; category edits are rare
+            postsBySlug.clear();
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Post caches synchronized [type={}, categoryId={}, evictedPosts={}]",
+                event.type(), event.categoryId(), event.postIds().size());
+    }
+
+    /**
+     * Whether the cache already holds a later version of the post. Listeners of
+     * concurrent commits can run in either order, so the older one must not win.
+     */
+    private static boolean isOutdated(PostDetailDto post, PostDetailDto cached) {
+        return cached != null && cached.id().equals(post.id())
+                && cached.updatedAt() != null && post.updatedAt() != null
+                && cached.updatedAt().isAfter(post.updatedAt());
+    }
+
+    private static Cache requireCache(CacheManager cacheManager, String name) {
+        var cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + name);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,19 @@
+package com.onenotebe.cache;
+
+import java.time.Instant;
+
+/**
+ * Compact version stamp of a post: its id and last modification time in
+ * epoch milliseconds. This is all that is needed to build the post's ETag.
+ */
+public record PostVersion(long id, long updatedAtMillis) {
+
+    public static PostVersion of(Long id, Instant updatedAt) {
+        return new PostVersion(id, updatedAt != null ? updatedAt.toEpochMilli() : 0L);
+    }
+
+    /** Weak ETag shared by the full response and the revalidation shortcut. */
+    public String etag() {
+        return "W/\"" + id + "-" + updatedAtMillis + "\"";
+    }
+}
@@ -0,0 +1,76 @@
+package com.onenotebe.cache;
+
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.event.PostsImportedEvent;
+import com.onenotebe.repository.PostRepository;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory index from slug to {@link PostVersion}. It lets conditional GETs be
+ * answered with 304 Not Modified without touching the post caches or the database.
+ * Loaded at startup and after bulk imports, and maintained from post and category
+ * mutation events after commit.
+ */
+@Component
+@Slf4j
+public class PostVersionIndex {
+
+    private final PostRepository postRepository;
+    private final Map<String, PostVersion> versions = new ConcurrentHashMap<>();
+
+    public PostVersionIndex(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, PostsImportedEvent.class})
+    @Transactional(readOnly = true)
+    public void load() {
+        try (var rows = postRepository.streamVersions()) {
+            rows.forEach(row -> versions.put(row.slug(), PostVersion.of(row.id(), row.updatedAt())));
+        }
+        log.info("Post version index loaded [entries={}]", versions.size());
+    }
+
+    /** Current version of the post with this slug, or null if unknown. */
+    public PostVersion find(String slug) {
+        return versions.get(slug);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.slugMoved()) {
+            versions.remove(event.previousSlug());
+        }
+        var post = event.post();
+        if (post != null) {
+            versions.put(post.slug(), PostVersion.of(post.id(), post.updatedAt()));
+        }
+        log.debug("Post version index updated [type={}, id={}]", event.type(), event.postId());
+    }
+
+    /**
+     * A category rename or delete moves the updatedAt of the posts embedding it, so
+     * their ETags change and clients holding the old body revalidate to the new one.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.postIds().isEmpty()) {
+            return;
+        }
+        var postIds = new HashSet<>(event.postIds());
+        versions.replaceAll((slug, version) -> postIds.contains(version.id())
+                ? PostVersion.of(version.id(), event.postsUpdatedAt())
+                : version);
+        log.debug("Post version index updated [type={}, categoryId={}, posts={}]",
+                event.type(), event.categoryId(), postIds.size());
+    }
+}
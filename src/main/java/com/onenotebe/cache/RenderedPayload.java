@@ -0,0 +1,18 @@
+package com.onenotebe.cache;
+
+/**
+ * Serialized HTTP body of a post detail response, stored once per write with
+ * its encoded variants so reads only copy bytes.
+ *
+ * @param identity uncompressed JSON bytes
+ * @param gzip     gzip-compressed JSON bytes
+ * @param etag     ETag of the post version the bytes were rendered from
+ * @param version  last modification time (epoch millis) of that post version
+ */
+public record RenderedPayload(byte[] identity, byte[] gzip, String etag, long version) {
+
+    /** Approximate retained size used to bound the store by memory. */
+    public int weight() {
+        return identity.length + gzip.length + 2 * etag.length() + 64;
+    }
+}
@@ -0,0 +1,183 @@
+package com.onenotebe.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onenotebe.api.ApiResult;
+import com.onenotebe.dto.PostDetailDto;
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.render.MarkdownRenderer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the fully serialized {@code ApiResult<PostDetailDto>} body of each post,
+ * plus a gzip variant, keyed by slug and representation (with or without the
+ * rendered HTML). Payloads are rendered when a post is created or updated (and
+ * lazily on a read miss), so serving a post detail does no Markdown, Jackson or
+ * compression work per request. Bounded by payload bytes.
+ *
+ * <p>A payload is served and stored only while its ETag matches the slug's entry in
+ * {@link PostVersionIndex}, so a read that raced with a delete or slug move cannot put
+ * back or serve a dead version. A category rename or delete that touched posts drops
+ * every payload, as the categories are embedded in the body, and a write TTL bounds
+ * anything missed.
+ */
+@Component
+@Slf4j
+public class RenderedPostStore {
+
+    private static final TypeReference<ApiResult<PostDetailDto>> BODY = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final MarkdownRenderer markdownRenderer;
+    private final PostVersionIndex postVersionIndex;
+    private final Cache<Key, RenderedPayload> payloads;
+
+    public RenderedPostStore(ObjectMapper objectMapper,
+                             MarkdownRenderer markdownRenderer,
+                             PostVersionIndex postVersionIndex,
+                             @Value("${app.cache.rendered.max-weight-bytes:67108864}") long maxWeightBytes,
+                             @Value("${app.cache.rendered.ttl:PT1H}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.markdownRenderer = markdownRenderer;
+        this.postVersionIndex = postVersionIndex;
+        this.payloads = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Key key, RenderedPayload payload) -> payload.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /** Rendered payload of the slug's current version, or null if there is none. */
+    public RenderedPayload find(String slug, boolean withHtml) {
+        var payload = payloads.getIfPresent(new Key(slug, withHtml));
+        return payload != null && isCurrent(slug, payload) ? payload : null;
+    }
+
+    /**
+     * Renders a post read on a store miss. The payload is kept only if it is the
+     * slug's current version; a payload rendered concurrently from a newer version
+     * wins, so a slow reader can never overwrite a fresh write.
+     */
+    public RenderedPayload renderOnRead(PostDetailDto post, boolean withHtml) {
+        var rendered = serialize(post, withHtml);
+        if (!isCurrent(post.slug(), rendered)) {
+            log.debug("Rendered post not stored, version is no longer current [slug={}]", post.slug());
+            return rendered;
+        }
+        return payloads.asMap().merge(new Key(post.slug(), withHtml), rendered,
+                (existing, candidate) -> existing.version() >= candidate.version() ? existing : candidate);
+    }
+
+    /** Slugs that have a stored representation with rendered HTML. */
+    public List<String> slugsWithHtml() {
+        return payloads.asMap().keySet().stream().filter(Key::withHtml).map(Key::slug).toList();
+    }
+
+    /**
+     * Re-renders the HTML representation of the slug in place from its stored body,
+     * after the Markdown render cache was refreshed. The entry is replaced only if it
+     * did not change meanwhile, so a concurrent write wins; the plain representation
+     * holds no HTML and stays as it is.
+     *
+     * @return whether a payload was replaced
+     */
+    public boolean rerenderHtml(String slug) {
+        var key = new Key(slug, true);
+        var stored = payloads.getIfPresent(key);
+        if (stored == null) {
+            return false;
+        }
+        PostDetailDto post;
+        try {
+            post = objectMapper.readValue(stored.identity(), BODY).data();
+        } catch (IOException e) {
+            log.warn("Unable to read stored post payload, dropping it [slug={}]", slug, e);
+            payloads.asMap().remove(key, stored);
+            return false;
+        }
+        return payloads.asMap().replace(key, stored, serialize(post, true));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.slugMoved()) {
+            payloads.invalidate(new Key(event.previousSlug(), false));
+            payloads.invalidate(new Key(event.previousSlug(), true));
+        }
+        var post = event.post();
+        if (post != null) {
+            // Rendering the HTML variant here is the write-time Markdown stage
+            var plain = serialize(post, false);
+            payloads.put(new Key(post.slug(), false), plain);
+            payloads.put(new Key(post.slug(), true), serialize(post, true));
+            log.debug("Post payloads rendered [slug={}, bytes={}, gzipBytes={}]",
+                    post.slug(), plain.identity().length, plain.gzip().length);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.postIds().isEmpty()) {
+            return;
+        }
+        // Payloads are keyed by slug, not id; category edits are rare, so start over
+        payloads.invalidateAll();
+        log.debug("Post payloads dropped after category change [type={}, categoryId={}]",
+                event.type(), event.categoryId());
+    }
+
+    private boolean isCurrent(String slug, RenderedPayload payload) {
+        var version = postVersionIndex.find(slug);
+        return version != null && version.etag().equals(payload.etag());
+    }
+
+    private RenderedPayload serialize(PostDetailDto post, boolean withHtml) {
+        var body = withHtml ? withHtml(post, markdownRenderer.render(post.content())) : post;
+        try {
+            var json = objectMapper.writeValueAsBytes(ApiResult.success(body));
+            var version = PostVersion.of(post.id(), post.updatedAt());
+            return new RenderedPayload(json, gzip(json), version.etag(), version.updatedAtMillis());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize post " + post.id(), e);
+        }
+    }
+
+    private static PostDetailDto withHtml(PostDetailDto post, String html) {
+        return new PostDetailDto(post.id(), post.title(), post.slug(), post.content(), post.featuredImageUrl(),
+                post.createdAt(), post.updatedAt(), post.author(), post.categories(), html);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        var out = new ByteArrayOutputStream(bytes.length / 3 + 64);
+        try (var gzip = new GZIPOutputStream(out) {
+            {
+                // Rendered once per write and served many times, so spend CPU on ratio
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(String slug, boolean withHtml) {
+    }
+}
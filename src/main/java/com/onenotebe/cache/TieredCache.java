@@ -0,0 +1,196 @@
+package com.onenotebe.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.onenotebe.dto.CacheStatsDto;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} with two tiers:
+ * <ul>
+ *   <li>L1: a Caffeine cache bounded by estimated bytes (W-TinyLFU eviction) with a write TTL.</li>
+ *   <li>L2 (optional): a {@link MappedFileStore} that receives entries evicted from L1 for
+ *       size reasons, so cold posts can be served without a database round trip.</li>
+ * </ul>
+ * Null values are never cached, so lookups of unknown keys do not occupy memory.
+ */
+@Slf4j
+public class TieredCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<Object, Object> l1;
+    private final MappedFileStore l2;
+    private final ObjectMapper objectMapper;
+    private final Class<?> valueType;
+    private final long ttlMillis;
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+
+    TieredCache(String name, long maxWeightBytes, Duration ttl,
+                MappedFileStore l2, ObjectMapper objectMapper, Class<?> valueType) {
+        super(false);
+        this.name = name;
+        this.l2 = valueType != null ? l2 : null;
+        this.objectMapper = objectMapper;
+        this.valueType = valueType;
+        this.ttlMillis = ttl.toMillis();
+        this.l1 = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher(new CacheWeigher())
+                .expireAfterWrite(ttl)
+                // Synchronous with the eviction: an evict() right after cannot run before the demotion
+                .evictionListener(this::onEviction)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        var value = l1.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        // Promoted under the key's L1 lock, so a concurrent put() or evict() cannot be
+        // overwritten by the older copy read from L2
+        return l1.asMap().computeIfAbsent(key, k -> {
+            var promoted = readL2(k);
+            if (promoted != null) {
+                puts.increment();
+            }
+            return promoted;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(l1.get(key, k -> {
+            var loaded = readL2(k);
+            if (loaded == null) {
+                try {
+                    loaded = toStoreValue(valueLoader.call());
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(k, valueLoader, e);
+                }
+            }
+            puts.increment();
+            return loaded;
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        var stored = toStoreValue(value);
+        l1.asMap().compute(key, (k, previous) -> {
+            removeL2(k);
+            return stored;
+        });
+        puts.increment();
+    }
+
+    @Override
+    public void evict(Object key) {
+        // Both tiers are cleared under the key's L1 lock, which promotions and demotions also hold
+        l1.asMap().compute(key, (k, previous) -> {
+            removeL2(k);
+            return null;
+        });
+    }
+
+    @Override
+    public void clear() {
+        l1.invalidateAll();
+        if (l2 != null) {
+            l2.clear();
+        }
+    }
+
+    /** Snapshot of L1 and L2 counters for this cache. */
+    public CacheStatsDto stats() {
+        var stats = l1.stats();
+        long weightedSize = l1.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new CacheStatsDto(
+                name,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                puts.sum(),
+                l1.estimatedSize(),
+                weightedSize,
+                l2 != null,
+                l2Hits.sum(),
+                l2Misses.sum(),
+                l2 != null ? l2.size() : 0);
+    }
+
+    private void onEviction(Object key, Object value, RemovalCause cause) {
+        if (l2 == null || cause != RemovalCause.SIZE || key == null || value == null) {
+            return;
+        }
+        try {
+            l2.put(l2Key(key), objectMapper.writeValueAsBytes(value), System.currentTimeMillis() + ttlMillis);
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to demote cache entry to L2 [cache={}, key={}]", name, key, e);
+        }
+    }
+
+    private Object readL2(Object key) {
+        if (l2 == null) {
+            return null;
+        }
+        var bytes = l2.get(l2Key(key), System.currentTimeMillis());
+        if (bytes == null) {
+            l2Misses.increment();
+            return null;
+        }
+        try {
+            var value = objectMapper.readValue(bytes, valueType);
+            l2Hits.increment();
+            log.debug("L2 cache hit [cache={}, key={}]", name, key);
+            return value;
+        } catch (IOException e) {
+            log.warn("Dropping unreadable L2 cache entry [cache={}, key={}]", name, key, e);
+            l2.remove(l2Key(key));
+            l2Misses.increment();
+            return null;
+        }
+    }
+
+    private void removeL2(Object key) {
+        if (l2 != null) {
+            l2.remove(l2Key(key));
+        }
+    }
+
+    private String l2Key(Object key) {
+        // The L2 file is shared by all caches, so keys are namespaced by cache name
+        return name + ':' + key;
+    }
+}
@@ -0,0 +1,61 @@
+package com.onenotebe.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onenotebe.config.CacheProperties;
+import com.onenotebe.dto.CacheStatsDto;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+/**
+ * Cache manager producing {@link TieredCache} instances. Caches listed in
+ * {@code valueTypes} are created eagerly and may spill to L2 (their values
+ * need a concrete type for deserialization); any other name requested at
+ * runtime gets an L1-only cache with the default limits.
+ */
+public class TieredCacheManager extends AbstractCacheManager {
+
+    private final CacheProperties properties;
+    private final MappedFileStore l2;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Class<?>> valueTypes;
+
+    public TieredCacheManager(CacheProperties properties, MappedFileStore l2,
+                              ObjectMapper objectMapper, Map<String, Class<?>> valueTypes) {
+        this.properties = properties;
+        this.l2 = l2;
+        this.objectMapper = objectMapper;
+        this.valueTypes = Map.copyOf(valueTypes);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return valueTypes.keySet().stream().map(this::createCache).toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    /** Stats for every cache created so far, sorted by name. */
+    public List<CacheStatsDto> stats() {
+        return getCacheNames().stream()
+                .sorted()
+                .map(this::getCache)
+                .filter(TieredCache.class::isInstance)
+                .map(cache -> ((TieredCache) cache).stats())
+                .toList();
+    }
+
+    private TieredCache createCache(String name) {
+        return new TieredCache(name,
+                properties.maxWeightBytesFor(name),
+                properties.ttlFor(name),
+                l2,
+                objectMapper,
+                valueTypes.get(name));
+    }
+}
@@ -0,0 +1,94 @@
+package com.onenotebe.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.util.List;
+
+/**
+ * Publishes a {@link TieredCache} as the standard Micrometer cache meters
+ * ({@code cache.gets} by hit/miss, {@code cache.evictions}, {@code cache.puts},
+ * {@code cache.size}) plus {@code cache.eviction.weight}, {@code cache.weighted.size}
+ * and, when the cache spills, {@code cache.l2.gets}. Every value is read from the
+ * counters the cache already keeps, at scrape time, so lookups pay nothing extra.
+ */
+public class TieredCacheMetrics extends CacheMeterBinder<TieredCache> {
+
+    public TieredCacheMetrics(TieredCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        var cache = getCache();
+        return cache == null ? null : l1(cache).estimatedSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        var stats = stats();
+        return stats == null ? 0 : stats.hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        var stats = stats();
+        return stats == null ? null : stats.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        var stats = stats();
+        return stats == null ? null : stats.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        // Caffeine does not count explicit puts, so the cache keeps its own counter
+        var cache = getCache();
+        return cache == null ? 0 : cache.stats().putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        var cache = getCache();
+        if (cache == null) {
+            return;
+        }
+        var tags = getTagsWithCacheName();
+        FunctionCounter.builder("cache.eviction.weight", cache, c -> l1(c).stats().evictionWeight())
+                .tags(tags)
+                .description("Estimated bytes evicted from L1")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("cache.weighted.size", cache, c -> c.stats().weightedSizeBytes())
+                .tags(tags)
+                .description("Estimated bytes currently held in L1")
+                .baseUnit("bytes")
+                .register(registry);
+        if (cache.stats().l2Enabled()) {
+            FunctionCounter.builder("cache.l2.gets", cache, c -> c.stats().l2HitCount())
+                    .tags(tags).tags(List.of(Tag.of("result", "hit")))
+                    .description("L1 misses answered from the memory-mapped L2")
+                    .register(registry);
+            FunctionCounter.builder("cache.l2.gets", cache, c -> c.stats().l2MissCount())
+                    .tags(tags).tags(List.of(Tag.of("result", "miss")))
+                    .description("L1 misses not found in the memory-mapped L2")
+                    .register(registry);
+        }
+    }
+
+    private CacheStats stats() {
+        var cache = getCache();
+        return cache == null ? null : l1(cache).stats();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> l1(TieredCache cache) {
+        return (Cache<Object, Object>) cache.getNativeCache();
+    }
+}
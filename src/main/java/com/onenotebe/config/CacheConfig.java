@@ -1,13 +1,56 @@
 package com.onenotebe.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onenotebe.cache.CacheNames;
+import com.onenotebe.cache.MappedFileStore;
+import com.onenotebe.cache.TieredCache;
+import com.onenotebe.cache.TieredCacheManager;
+import com.onenotebe.cache.TieredCacheMetrics;
+import com.onenotebe.dto.PostDetailDto;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Enables Spring's annotation-driven caching to improve performance for
  * frequently accessed resources like blog posts.
+ *
+ * <p>Caches are bounded by estimated bytes rather than entry count, so a crawler
+ * walking thousands of slugs cannot grow the heap without limit. Entries evicted
+ * for size reasons can optionally spill to a memory-mapped L2 file.
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
-}
\ No newline at end of file
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.cache.l2", name = "enabled", havingValue = "true")
+    public MappedFileStore l2CacheStore(CacheProperties properties) {
+        var l2 = properties.getL2();
+        return new MappedFileStore(l2.getDirectory().resolve("l2-cache.bin"), l2.getSizeBytes());
+    }
+
+    @Bean
+    public TieredCacheManager cacheManager(CacheProperties properties,
+                                           ObjectProvider<MappedFileStore> l2CacheStore,
+                                           ObjectMapper objectMapper) {
+        return new TieredCacheManager(properties, l2CacheStore.getIfAvailable(), objectMapper, Map.of(
+                CacheNames.POSTS_BY_SLUG, PostDetailDto.class,
+                CacheNames.POSTS_BY_ID, PostDetailDto.class));
+    }
+
+    /**
+     * Lets the actuator bind every tiered cache to the meter registry
+     * ({@code cache.gets}, {@code cache.evictions}, ...), tagged with the cache name.
+     */
+    @Bean
+    public CacheMeterBinderProvider<TieredCache> tieredCacheMeterBinderProvider() {
+        return TieredCacheMetrics::new;
+    }
+}
@@ -0,0 +1,52 @@
+package com.onenotebe.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Strongly typed configuration for the tiered application cache.
+ * Defaults apply to every cache; {@code specs} overrides them per cache name.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+    /** Maximum estimated heap footprint of a single L1 cache, in bytes. */
+    private long maxWeightBytes = 64L * 1024 * 1024;
+    /** Time-to-live of an entry after it was written. */
+    private Duration ttl = Duration.ofMinutes(30);
+    /** Per-cache overrides keyed by cache name. */
+    private Map<String, Spec> specs = new HashMap<>();
+    /** Optional memory-mapped second tier for entries evicted from the heap. */
+    private L2 l2 = new L2();
+
+    @Setter
+    @Getter
+    public static class Spec {
+        private Long maxWeightBytes;
+        private Duration ttl;
+    }
+
+    @Setter
+    @Getter
+    public static class L2 {
+        private boolean enabled;
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "one-note-be", "cache");
+        private long sizeBytes = 256L * 1024 * 1024;
+    }
+
+    public long maxWeightBytesFor(String cacheName) {
+        var spec = specs.get(cacheName);
+        return spec != null && spec.getMaxWeightBytes() != null ? spec.getMaxWeightBytes() : maxWeightBytes;
+    }
+
+    public Duration ttlFor(String cacheName) {
+        var spec = specs.get(cacheName);
+        return spec != null && spec.getTtl() != null ? spec.getTtl() : ttl;
+    }
+}
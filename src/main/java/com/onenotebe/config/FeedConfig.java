@@ -0,0 +1,12 @@
+package com.onenotebe.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@code app.feed} settings of the sitemap and RSS/Atom feeds.
+ */
+@Configuration
+@EnableConfigurationProperties(FeedProperties.class)
+public class FeedConfig {
+}
@@ -0,0 +1,24 @@
+package com.onenotebe.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Strongly typed configuration for the sitemap and RSS/Atom feeds.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "app.feed")
+public class FeedProperties {
+    /** Public origin of the site, prefixed to every URL in the sitemap and feeds. */
+    private String baseUrl = "http://localhost:8080";
+    /** Feed title. */
+    private String title = "One Note Blog";
+    /** Feed description (RSS channel description, Atom subtitle). */
+    private String description = "Latest posts";
+    /** Number of newest posts carried by the RSS and Atom feeds. */
+    private int entries = 20;
+    /** URLs per sitemap file; past this the sitemap becomes an index (the protocol caps it at 50,000). */
+    private int urlsPerSitemap = 50_000;
+}
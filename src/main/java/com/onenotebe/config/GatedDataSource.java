@@ -0,0 +1,113 @@
+package com.onenotebe.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Admits at most as many threads into the connection pool as it has connections.
+ * Any number of virtual threads can then wait for a connection, parked cheaply in a
+ * fair FIFO queue, instead of contending inside the pool's borrow loop. A permit
+ * is held from checkout until the connection is closed. A wait longer than the
+ * pool's own connection timeout fails the same way a pool timeout would.
+ *
+ * <p>Waiting here replaces most of the wait inside the pool, so it is published
+ * next to the pool's own meters: {@code jdbc.connections.gate.wait} (time to get a
+ * permit) and {@code jdbc.connections.gate.waiting} (threads queued for one).
+ */
+final class GatedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long timeoutNanos;
+    private final Timer waits;
+
+    GatedDataSource(DataSource target, int maxConnections, Duration timeout, MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.timeoutNanos = timeout.toNanos();
+        this.waits = Timer.builder("jdbc.connections.gate.wait")
+                .description("Time spent waiting for a connection permit, ahead of the pool")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("jdbc.connections.gate.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a connection permit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return gate(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return gate(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+            waits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                throw new SQLTransientConnectionException("No database connection available within "
+                        + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms [waiting=" + permits.getQueueLength() + "]");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private Connection gate(Connection target) {
+        var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getTargetConnection" -> target;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> "Gated connection [" + target + "]";
+                    case "close" -> {
+                        try {
+                            target.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    }
+                });
+    }
+}
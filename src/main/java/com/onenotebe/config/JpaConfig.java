@@ -1,5 +1,6 @@
 package com.onenotebe.config;
 
+import com.onenotebe.security.AuthenticatedUser;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
@@ -12,6 +13,7 @@ import java.util.Optional;
 /**
  * JPA configuration for auditing support.
  * Enables automatic population of @CreatedDate, @LastModifiedDate,
+ * @CreatedBy and @LastModifiedBy.
  */
 @Configuration
 @EnableJpaAuditing(auditorAwareRef = "auditorProvider")
@@ -19,30 +21,17 @@ public class JpaConfig {
 
     /**
      * Provides the current auditor (user ID) for JPA auditing.
-     * Returns the authenticated user's ID, or null for system operations.
+     * Returns the authenticated user's ID taken from the JWT principal, or empty for
+     * anonymous and system operations (like bootstrap), leaving the columns null.
      */
     @Bean
     public AuditorAware<Long> auditorProvider() {
         return () -> {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-            if (authentication == null || !authentication.isAuthenticated()
-                    || "anonymousUser".equals(authentication.getPrincipal())) {
-                // Return null for system operations (like bootstrap)
-                // This allows nullable columns to work
-                return Optional.empty();
-            }
-
-            // Extract user ID from authentication principal
-            // Adjust this based on your UserDetails implementation
-            Object principal = authentication.getPrincipal();
-            if (principal instanceof org.springframework.security.core.userdetails.User) {
-                // For bootstrap or when user ID is not available, return null
-                return Optional.empty();
+            if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+                return Optional.ofNullable(user.id());
             }
-
-            // If you have a custom UserDetails with ID, extract it here
             return Optional.empty();
         };
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.onenotebe.config;
 
+import java.time.Duration;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -13,7 +14,16 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class JwtProperties {
     /** Secret key for HS256 signing (never commit real secrets). */
     private String secret;
-    /** Expiration time in milliseconds. */
+    /** Access token lifetime in milliseconds; keep it short, refresh tokens renew it. */
     private long expirationMs;
-
+    /** Refresh token lifetime. */
+    private Duration refreshTtl = Duration.ofDays(14);
+    /** Revoked-but-unexpired access tokens the revocation Bloom filter is sized for; it grows past this. */
+    private int expectedRevocations = 10_000;
+    /** Maximum number of verified tokens whose claims are cached until they expire. */
+    private long verifiedCacheSize = 10_000;
+    /** How long a user's token version is trusted before it is re-read from the database. */
+    private Duration tokenVersionTtl = Duration.ofSeconds(30);
+    /** Maximum number of users whose token version is cached. */
+    private long tokenVersionCacheSize = 10_000;
 }
\ No newline at end of file
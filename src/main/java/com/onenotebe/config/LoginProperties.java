@@ -0,0 +1,35 @@
+package com.onenotebe.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Password login settings: the bounded pool that runs BCrypt verification and
+ * how the BCrypt cost is chosen.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "app.login")
+public class LoginProperties {
+    /** Threads verifying passwords; caps the cores a login storm can take from everything else. */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /** Logins allowed to wait for a thread; beyond this they are rejected with 503 at once. */
+    private int queueCapacity = 64;
+    /** Longest a request waits for its verification before giving up with 503. */
+    private Duration timeout = Duration.ofSeconds(5);
+    /** Value of the Retry-After header sent with a rejected login. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+    /**
+     * Fixed BCrypt cost; 0 calibrates one at startup from {@link #targetVerifyTime}.
+     * Pin it when several nodes share the user table so they agree on one cost.
+     */
+    private int bcryptCost;
+    /** Verification time the calibrated BCrypt cost should stay within on this host. */
+    private Duration targetVerifyTime = Duration.ofMillis(100);
+    /** Lowest cost calibration may pick, whatever the host speed. */
+    private int minBcryptCost = 10;
+    /** Highest cost calibration may pick. */
+    private int maxBcryptCost = 14;
+}
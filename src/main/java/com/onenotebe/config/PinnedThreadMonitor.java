@@ -0,0 +1,69 @@
+package com.onenotebe.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event: a virtual thread that
+ * blocks while it cannot unmount, typically inside {@code synchronized}, holding its
+ * carrier thread. Each pinning site, the first application frame of the stack, is
+ * logged once with its stack, then only counted, so a hot site does not flood the log.
+ */
+@Slf4j
+final class PinnedThreadMonitor implements AutoCloseable {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Map<String, AtomicLong> sites = new ConcurrentHashMap<>();
+
+    PinnedThreadMonitor(Duration threshold) {
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started [thresholdMs={}]", threshold.toMillis());
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        var frames = event.getStackTrace() == null ? List.<RecordedFrame>of() : event.getStackTrace().getFrames();
+        var site = frames.stream().filter(frame -> !isPlatform(frame)).findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(PinnedThreadMonitor::describe)
+                .orElse("unknown");
+        // The increment decides which event is first, so exactly one logs the stack
+        long occurrences = sites.computeIfAbsent(site, key -> new AtomicLong()).incrementAndGet();
+        if (occurrences == 1) {
+            var stack = frames.stream().limit(LOGGED_FRAMES).map(frame -> "\tat " + describe(frame))
+                    .collect(Collectors.joining("\n"));
+            log.warn("Virtual thread pinned [site={}, durationMs={}]\n{}", site, event.getDuration().toMillis(), stack);
+        } else {
+            log.debug("Virtual thread pinned [site={}, durationMs={}, occurrences={}]",
+                    site, event.getDuration().toMillis(), occurrences);
+        }
+    }
+
+    // The top frames are the JDK parking code; the site worth fixing is the first frame below them
+    private static boolean isPlatform(RecordedFrame frame) {
+        var type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        var method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,65 @@
+package com.onenotebe.config;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-route rate limits applied per client address by the rate limit filter.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    /** Whether requests are rate limited at all. */
+    private boolean enabled = true;
+    /** Where buckets live: {@code memory} (per node) or {@code jdbc} (shared through the database). */
+    private String store = "memory";
+    /** Client addresses tracked per route; beyond this, new addresses share one bucket. */
+    private int maxKeys = 100_000;
+    /** Password logins. */
+    private Limit login = new Limit(10, Duration.ofMinutes(1));
+    /** Account registrations. */
+    private Limit register = new Limit(5, Duration.ofMinutes(1));
+    /** Other auth calls: token refresh and logout. */
+    private Limit auth = new Limit(30, Duration.ofMinutes(1));
+    /** GET and HEAD requests: public reads, feeds and admin statistics. */
+    private Limit read = new Limit(600, Duration.ofMinutes(1));
+    /** Every other method; outside auth these are admin writes. */
+    private Limit write = new Limit(120, Duration.ofMinutes(1));
+    /** Settings of the shared JDBC store. */
+    private Jdbc jdbc = new Jdbc();
+
+    /**
+     * Bucket of {@code capacity} requests refilling evenly over {@code period}.
+     */
+    @Setter
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private Duration period;
+    }
+
+    /**
+     * Token leasing of the JDBC store: each node takes a batch of tokens from the
+     * shared bucket and spends it locally, so only about one request per batch
+     * reaches the database.
+     */
+    @Setter
+    @Getter
+    public static class Jdbc {
+        /** Share of a policy's capacity leased per round trip; at least one token. */
+        private double leaseFraction = 0.1;
+        /** Upper bound on the tokens of one lease. */
+        private int maxLease = 50;
+        /** How often full buckets are deleted from the shared table. */
+        private Duration purgeInterval = Duration.ofMinutes(10);
+        /** How long leases are granted locally, without the database, after it failed. */
+        private Duration failureBackoff = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,12 @@
+package com.onenotebe.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@code app.render} settings used by the Markdown renderer.
+ */
+@Configuration
+@EnableConfigurationProperties(RenderProperties.class)
+public class RenderConfig {
+}
@@ -0,0 +1,18 @@
+package com.onenotebe.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Strongly typed configuration for server-side Markdown rendering.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "app.render")
+public class RenderProperties {
+    /** Enable GitHub-flavoured tables and strikethrough. */
+    private boolean gfmExtensions = true;
+    /** Maximum estimated bytes of rendered HTML kept in the render cache. */
+    private long maxWeightBytes = 64L * 1024 * 1024;
+}
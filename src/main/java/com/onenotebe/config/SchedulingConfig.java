@@ -0,0 +1,12 @@
+package com.onenotebe.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as index reconciliation.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,12 @@
+package com.onenotebe.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@code app.search} settings of the full-text post index.
+ */
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfig {
+}
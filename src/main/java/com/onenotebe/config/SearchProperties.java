@@ -0,0 +1,21 @@
+package com.onenotebe.config;
+
+import java.nio.file.Path;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Strongly typed configuration for the embedded full-text search index.
+ */
+@Setter
+@Getter
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+    /** Directory holding the index segments on local disk. */
+    private Path indexDirectory = Path.of(System.getProperty("java.io.tmpdir"), "one-note-be", "search-index");
+    /** Keep the index in memory instead of on disk (tests). */
+    private boolean inMemory;
+    /** Boost applied to title matches relative to content matches. */
+    private float titleBoost = 2.0f;
+}
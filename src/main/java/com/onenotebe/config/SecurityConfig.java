@@ -1,19 +1,26 @@
 package com.onenotebe.config;
 
+import com.onenotebe.security.AdaptiveBCryptPasswordEncoder;
 import com.onenotebe.security.JwtAuthFilter;
+import com.onenotebe.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
@@ -22,13 +29,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  */
 @Configuration
 @EnableMethodSecurity
-@EnableConfigurationProperties(JwtProperties.class)
+@EnableConfigurationProperties({JwtProperties.class, LoginProperties.class, RateLimitProperties.class})
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final boolean publicScrape;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, RateLimitFilter rateLimitFilter,
+                          @Value("${app.metrics.public-scrape:false}") boolean publicScrape) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.publicScrape = publicScrape;
     }
 
     @Bean
@@ -37,21 +49,49 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume a request that was already authorized (streamed exports)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/posts/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/categories/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/suggestions").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/sitemap.xml", "/sitemaps/**", "/feed.rss", "/feed.atom").permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").access(scrapeAccess())
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .formLogin(AbstractHttpConfigurer::disable)
                 .httpBasic(AbstractHttpConfigurer::disable)
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthFilter.class);
         return http.build();
     }
 
+    /**
+     * Prometheus cannot log in, so the scrape endpoint can be opened with
+     * {@code app.metrics.public-scrape} where only the monitoring network reaches it.
+     * Otherwise it is admin-only like the rest of the actuator.
+     */
+    private AuthorizationManager<RequestAuthorizationContext> scrapeAccess() {
+        if (publicScrape) {
+            return (authentication, context) -> new AuthorizationDecision(true);
+        }
+        return AuthorityAuthorizationManager.hasRole("ADMIN");
+    }
+
+    /**
+     * BCrypt at the configured cost, or at one calibrated to the target verify time
+     * on this host. Hashes with another cost are rehashed on the next successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(LoginProperties properties) {
+        if (properties.getBcryptCost() > 0) {
+            return new AdaptiveBCryptPasswordEncoder(properties.getBcryptCost());
+        }
+        return AdaptiveBCryptPasswordEncoder.calibrated(properties.getTargetVerifyTime(),
+                properties.getMinBcryptCost(), properties.getMaxBcryptCost());
     }
 
     @Bean
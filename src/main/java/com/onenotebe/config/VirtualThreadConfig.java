@@ -0,0 +1,67 @@
+package com.onenotebe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true}. In that mode Spring Boot
+ * already runs Tomcat requests, MVC async work and scheduled jobs on virtual
+ * threads. This adds a gate in front of the connection pool and, unless
+ * {@code app.threads.pinning-monitor=false}, logs virtual threads pinned to their
+ * carrier for longer than {@code app.threads.pinning-threshold}.
+ *
+ * <p>The dedicated single-thread executors and the login pool stay on platform
+ * threads: they exist to bound work, not to wait on I/O.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource", name = "connection-gate", havingValue = "true",
+            matchIfMissing = true)
+    static BeanPostProcessor connectionGate(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GatedDataSource)) {
+                    var pool = hikari(dataSource);
+                    if (pool != null) {
+                        // Slices without the actuator have no registry; the global one then keeps the meters inert
+                        return new GatedDataSource(dataSource, pool.getMaximumPoolSize(),
+                                Duration.ofMillis(pool.getConnectionTimeout()),
+                                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "app.threads", name = "pinning-monitor", havingValue = "true",
+            matchIfMissing = true)
+    PinnedThreadMonitor pinnedThreadMonitor(@Value("${app.threads.pinning-threshold:PT0.02S}") Duration threshold) {
+        return new PinnedThreadMonitor(threshold);
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
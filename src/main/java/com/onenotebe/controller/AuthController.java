@@ -3,52 +3,55 @@ package com.onenotebe.controller;
 import com.onenotebe.api.ApiResult;
 import com.onenotebe.dto.auth.LoginRequest;
 import com.onenotebe.dto.auth.LoginResponse;
+import com.onenotebe.dto.auth.RefreshRequest;
 import com.onenotebe.dto.auth.RegisterRequest;
 import com.onenotebe.dto.auth.RegisterResponse;
-import com.onenotebe.exception.RateLimitExceededException;
-import com.onenotebe.security.JwtService;
-import com.onenotebe.security.RegistrationRateLimiter;
+import com.onenotebe.dto.auth.UsernameAvailabilityResponse;
+import com.onenotebe.security.AccountDetails;
+import com.onenotebe.security.AuthenticatedUser;
+import com.onenotebe.security.LoginExecutor;
 import com.onenotebe.service.AuthService;
+import com.onenotebe.service.TokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/v1/auth")
+@Validated
 @Slf4j
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-    private final JwtService jwtService;
+    private final LoginExecutor loginExecutor;
+    private final TokenService tokenService;
     private final AuthService authService;
-    private final RegistrationRateLimiter registrationRateLimiter;
 
-    public AuthController(AuthenticationManager authenticationManager,
-                          JwtService jwtService,
-                          AuthService authService,
-                          RegistrationRateLimiter registrationRateLimiter) {
-        this.authenticationManager = authenticationManager;
-        this.jwtService = jwtService;
+    public AuthController(LoginExecutor loginExecutor,
+                          TokenService tokenService,
+                          AuthService authService) {
+        this.loginExecutor = loginExecutor;
+        this.tokenService = tokenService;
         this.authService = authService;
-        this.registrationRateLimiter = registrationRateLimiter;
     }
 
     @Operation(
@@ -57,31 +60,26 @@ public class AuthController {
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Login successful",
                             content = @Content(schema = @Schema(implementation = LoginResponse.class))),
-                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid credentials")
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Invalid credentials"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many logins in progress; retry after the Retry-After delay")
             }
     )
     @PostMapping("/login")
     public ResponseEntity<ApiResult<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
         log.info("Login attempt [username={}]", request.username());
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            Authentication authentication = loginExecutor.authenticate(
                     new UsernamePasswordAuthenticationToken(request.username(), request.password())
             );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            var principal = authentication.getPrincipal();
-            String username;
-            if (principal instanceof UserDetails ud) {
-                username = ud.getUsername();
-            } else {
-                username = principal.toString();
-            }
+            var account = (AccountDetails) authentication.getPrincipal();
+            var username = account.getUsername();
             var role = authentication.getAuthorities().stream()
                     .map(GrantedAuthority::getAuthority)
                     .findFirst()
                     .orElse("ROLE_USER");
-            var token = jwtService.generateToken(username, role);
+            var tokens = tokenService.issue(account.getId(), username, role, account.getTokenVersion());
             log.info("User logged in [username={}]", username);
-            return ResponseEntity.ok(ApiResult.success(new LoginResponse(token)));
+            return ResponseEntity.ok(ApiResult.success(tokens));
         } catch (BadCredentialsException e) {
             log.warn("Invalid credentials for user [{}]", request.username());
             // GlobalExceptionHandler will format AuthenticationException; we return 401 via exception
@@ -97,23 +95,64 @@ public class AuthController {
             content = @Content(schema = @Schema(implementation = RegisterResponse.class)))
     @ApiResponse(responseCode = "400", description = "Invalid input")
     @ApiResponse(responseCode = "409", description = "Duplicate username or email")
+    @ApiResponse(responseCode = "429", description = "Too many registrations from this address")
     @PreAuthorize("isAnonymous()")
     @PostMapping("/register")
-    public ResponseEntity<ApiResult<RegisterResponse>> register(@Valid @RequestBody RegisterRequest request,
-                                                                HttpServletRequest httpRequest) {
-        var ip = clientIp(httpRequest);
-        if (!registrationRateLimiter.allow(ip)) {
-            throw new RateLimitExceededException("Too many registration attempts. Please try again later.");
-        }
+    public ResponseEntity<ApiResult<RegisterResponse>> register(@Valid @RequestBody RegisterRequest request) {
         var response = authService.register(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResult.success(response));
     }
 
-    private String clientIp(HttpServletRequest request) {
-        var forwarded = request.getHeader("X-Forwarded-For");
-        if (forwarded != null && !forwarded.isBlank()) {
-            return forwarded.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
+    @Operation(
+            summary = "Check username availability",
+            description = "Tells whether a username can still be registered. Free names are usually answered "
+                    + "from memory without touching the database."
+    )
+    @ApiResponse(responseCode = "200", description = "Availability checked",
+            content = @Content(schema = @Schema(implementation = UsernameAvailabilityResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid username")
+    @GetMapping("/username-availability")
+    public ResponseEntity<ApiResult<UsernameAvailabilityResponse>> usernameAvailability(
+            @RequestParam @NotBlank @Size(max = 32) String username) {
+        var available = authService.isUsernameAvailable(username);
+        return ResponseEntity.ok(ApiResult.success(new UsernameAvailabilityResponse(username.trim(), available)));
+    }
+
+    @Operation(
+            summary = "Refresh tokens",
+            description = "Exchanges a refresh token for a new access/refresh pair. Each refresh token works once; "
+                    + "replaying a used one revokes every token descending from the same login."
+    )
+    @ApiResponse(responseCode = "200", description = "New token pair",
+            content = @Content(schema = @Schema(implementation = LoginResponse.class)))
+    @ApiResponse(responseCode = "401", description = "Unknown, expired or already used refresh token")
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResult<LoginResponse>> refresh(@Valid @RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(ApiResult.success(tokenService.refresh(request.refreshToken())));
+    }
+
+    @Operation(
+            summary = "Log out",
+            description = "Revokes the access token used for this call and, when given, its refresh token family."
+    )
+    @ApiResponse(responseCode = "204", description = "Tokens revoked")
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser user,
+                                       @Valid @RequestBody(required = false) RefreshRequest request) {
+        tokenService.logout(user, request == null ? null : request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Log out everywhere",
+            description = "Revokes every token issued to the current user, including the one used for this call."
+    )
+    @ApiResponse(responseCode = "204", description = "Tokens revoked")
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal AuthenticatedUser user) {
+        authService.revokeTokens(user.id());
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
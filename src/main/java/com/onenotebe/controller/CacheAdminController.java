@@ -0,0 +1,42 @@
+package com.onenotebe.controller;
+
+import com.onenotebe.api.ApiResult;
+import com.onenotebe.cache.TieredCacheManager;
+import com.onenotebe.dto.CacheStatsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoints exposing cache statistics per cache name.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/caches")
+@Tag(name = "Admin", description = "Operational endpoints for the blog owner")
+@Slf4j
+public class CacheAdminController {
+
+    private final TieredCacheManager cacheManager;
+
+    public CacheAdminController(TieredCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Operation(summary = "Cache statistics", description = "Admin-only: hit/miss/eviction statistics for every cache")
+    @ApiResponse(responseCode = "200", description = "Statistics fetched", content = @Content(schema = @Schema(implementation = ApiResult.class)))
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResult<List<CacheStatsDto>>> stats() {
+        log.debug("Fetching cache statistics");
+        return ResponseEntity.ok(ApiResult.success(cacheManager.stats()));
+    }
+}
@@ -3,14 +3,19 @@ package com.onenotebe.controller;
 import com.onenotebe.api.ApiResult;
 import com.onenotebe.dto.CategoryDto;
 import com.onenotebe.dto.CreateCategoryDto;
+import com.onenotebe.dto.CursorPage;
+import com.onenotebe.dto.PostSummaryDto;
 import com.onenotebe.dto.UpdateCategoryDto;
 import com.onenotebe.service.CategoryService;
+import com.onenotebe.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
 import java.time.Duration;
 import java.util.List;
@@ -22,6 +27,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -37,14 +43,17 @@ import org.springframework.web.bind.annotation.RestController;
  */
 @RestController
 @RequestMapping("/api/v1/categories")
+@Validated
 @Tag(name = "Categories", description = "Manage blog categories")
 @Slf4j
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final PostService postService;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, PostService postService) {
         this.categoryService = categoryService;
+        this.postService = postService;
     }
 
     @Operation(summary = "List categories", description = "Public endpoint to fetch paginated list of categories")
@@ -99,10 +108,25 @@ public class CategoryController {
         var category = categoryService.findBySlug(slug);
         var headers = new HttpHeaders();
         if (category != null) {
-            // Weak ETag based on id and name for cache validation
-            var etag = "W/\"" + category.id() + ":" + category.name().hashCode() + "\"";
+            // Weak ETag based on id, name and post count for cache validation
+            var etag = "W/\"" + category.id() + ":" + category.name().hashCode() + ":" + category.postCount() + "\"";
             headers.setETag(etag);
         }
         return ResponseEntity.ok().headers(headers).body(ApiResult.success(category));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "List posts in category", description = "Public endpoint returning post summaries of a category, "
+            + "newest first. Pass the returned nextCursor to fetch the following page.")
+    @ApiResponse(responseCode = "200", description = "Posts fetched", content = @Content(schema = @Schema(implementation = ApiResult.class)))
+    @ApiResponse(responseCode = "404", description = "Category not found", content = @Content(schema = @Schema(implementation = ApiResult.class)))
+    @GetMapping("/{slug}/posts")
+    @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<ApiResult<CursorPage<PostSummaryDto>>> listPosts(
+            @PathVariable String slug,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) @Min(1) @Max(100) Integer size) {
+        log.debug("Listing posts of category via API [slug={}, cursor={}, size={}]", slug, cursor, size);
+        var page = postService.listByCategory(slug, cursor, size);
+        return ResponseEntity.ok(ApiResult.success(page));
+    }
+}
@@ -0,0 +1,109 @@
+package com.onenotebe.controller;
+
+import com.onenotebe.api.ContentEncodings;
+import com.onenotebe.exception.ResourceNotFoundException;
+import com.onenotebe.feed.FeedDocument;
+import com.onenotebe.feed.FeedPublisher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Sitemap and RSS/Atom feeds, served from pre-rendered, pre-compressed documents.
+ * Conditional requests are answered with 304 from the document's ETag and
+ * Last-Modified before any body is selected.
+ */
+@RestController
+@Tag(name = "Feeds", description = "Sitemap, RSS and Atom")
+@Slf4j
+public class FeedController {
+
+    private static final MediaType RSS = new MediaType("application", "rss+xml", StandardCharsets.UTF_8);
+    private static final MediaType ATOM = new MediaType("application", "atom+xml", StandardCharsets.UTF_8);
+    private static final MediaType XML = new MediaType("application", "xml", StandardCharsets.UTF_8);
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final FeedPublisher feedPublisher;
+
+    public FeedController(FeedPublisher feedPublisher) {
+        this.feedPublisher = feedPublisher;
+    }
+
+    @Operation(summary = "Sitemap", description = "Public sitemap; a sitemap index once the site has more URLs "
+            + "than fit in one sitemap file")
+    @ApiResponse(responseCode = "200", description = "Sitemap fetched")
+    @ApiResponse(responseCode = "304", description = "Sitemap not modified since the conditional request")
+    @GetMapping("/sitemap.xml")
+    @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<byte[]> sitemap(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        return serve("sitemap", feedPublisher.sitemap(), XML, acceptEncoding, webRequest);
+    }
+
+    @Operation(summary = "Sitemap file", description = "One file of a split sitemap, numbered from 1")
+    @ApiResponse(responseCode = "200", description = "Sitemap file fetched")
+    @ApiResponse(responseCode = "404", description = "No such sitemap file")
+    @GetMapping("/sitemaps/sitemap-{part:\\d+}.xml")
+    @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<byte[]> sitemapPart(
+            @PathVariable("part") int part,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        return serve("sitemap-" + part, feedPublisher.sitemapPart(part), XML, acceptEncoding, webRequest);
+    }
+
+    @Operation(summary = "RSS feed", description = "RSS 2.0 feed of the newest posts")
+    @ApiResponse(responseCode = "200", description = "Feed fetched")
+    @GetMapping("/feed.rss")
+    @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<byte[]> rss(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        return serve("rss", feedPublisher.rss(), RSS, acceptEncoding, webRequest);
+    }
+
+    @Operation(summary = "Atom feed", description = "Atom feed of the newest posts")
+    @ApiResponse(responseCode = "200", description = "Feed fetched")
+    @GetMapping("/feed.atom")
+    @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<byte[]> atom(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        return serve("atom", feedPublisher.atom(), ATOM, acceptEncoding, webRequest);
+    }
+
+    private ResponseEntity<byte[]> serve(String name, FeedDocument document, MediaType type,
+                                         String acceptEncoding, WebRequest webRequest) {
+        if (document == null) {
+            throw new ResourceNotFoundException("Feed document not found: " + name);
+        }
+        if (webRequest.checkNotModified(document.etag(), document.lastModified())) {
+            log.debug("Feed document not modified [name={}]", name);
+            return null;
+        }
+        var response = ResponseEntity.ok()
+                .eTag(document.etag())
+                .lastModified(document.lastModified())
+                .cacheControl(CACHE_CONTROL)
+                .contentType(type)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (ContentEncodings.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, ContentEncodings.GZIP).body(document.gzip());
+        }
+        return response.body(document.identity());
+    }
+}
@@ -0,0 +1,96 @@
+package com.onenotebe.controller;
+
+import com.onenotebe.api.ApiResult;
+import com.onenotebe.api.ContentEncodings;
+import com.onenotebe.archive.PostExportJob;
+import com.onenotebe.archive.PostImportJob;
+import com.onenotebe.dto.ImportReportDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Admin endpoints moving posts in and out of the blog as NDJSON archives.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/posts")
+@Tag(name = "Admin", description = "Operational endpoints for the blog owner")
+@Slf4j
+public class PostArchiveAdminController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PostImportJob postImportJob;
+    private final PostExportJob postExportJob;
+
+    public PostArchiveAdminController(PostImportJob postImportJob, PostExportJob postExportJob) {
+        this.postImportJob = postImportJob;
+        this.postExportJob = postExportJob;
+    }
+
+    @Operation(summary = "Bulk import posts", description = "Admin-only: stream an NDJSON archive, one post per line. "
+            + "Rows that cannot be imported are reported and skipped.")
+    @ApiResponse(responseCode = "200", description = "Import finished", content = @Content(schema = @Schema(implementation = ApiResult.class)))
+    @ApiResponse(responseCode = "409", description = "An import is already running", content = @Content(schema = @Schema(implementation = ApiResult.class)))
+    @PostMapping(value = "/import", consumes = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResult<ImportReportDto>> importPosts(InputStream archive, Authentication authentication) {
+        log.info("Bulk post import requested [by={}]", authentication.getName());
+        return ResponseEntity.ok(ApiResult.success(postImportJob.run(archive, authentication.getName())));
+    }
+
+    @Operation(summary = "Bulk export posts", description = "Admin-only: stream every post as NDJSON in the import "
+            + "format, from one consistent snapshot. Sent gzip-encoded when the client accepts it.")
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @GetMapping(value = "/export", produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            Authentication authentication) {
+        log.info("Bulk post export requested [by={}]", authentication.getName());
+        var gzip = ContentEncodings.acceptsGzip(acceptEncoding);
+        var filename = "posts-" + LocalDate.now(ZoneOffset.UTC) + ".ndjson";
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, ContentEncodings.GZIP);
+        }
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (var compressed = new GZIPOutputStream(out, BUFFER_SIZE)) {
+                    postExportJob.export(compressed);
+                }
+            } else {
+                var buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+                postExportJob.export(buffered);
+                buffered.flush();
+            }
+        };
+        return response.body(body);
+    }
+}
@@ -1,9 +1,15 @@
 package com.onenotebe.controller;
 
 import com.onenotebe.api.ApiResult;
+import com.onenotebe.api.ContentEncodings;
+import com.onenotebe.cache.PostVersionIndex;
+import com.onenotebe.cache.RenderedPayload;
+import com.onenotebe.cache.RenderedPostStore;
 import com.onenotebe.dto.CreatePostDto;
+import com.onenotebe.dto.CursorPage;
 import com.onenotebe.dto.PostDetailDto;
 import com.onenotebe.dto.PostSummaryDto;
+import com.onenotebe.search.CategoryMatch;
 import com.onenotebe.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,8 +18,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -28,9 +38,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/posts")
@@ -40,7 +53,11 @@ import java.util.List;
 @Tag(name = "Posts", description = "Public blog post endpoints")
 public class PostController {
 
+    private static final String INCLUDE_HTML = "html";
+
     private final PostService postService;
+    private final PostVersionIndex postVersionIndex;
+    private final RenderedPostStore renderedPostStore;
 
     @Operation(
             summary = "List posts",
@@ -64,15 +81,111 @@ public class PostController {
         return ResponseEntity.ok(ApiResult.success(summaries));
     }
 
+    @Operation(
+            summary = "List posts by cursor",
+            description = "Returns post summaries ordered newest first using keyset pagination. "
+                    + "Pass an empty cursor for the first page and the returned nextCursor afterwards.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful response",
+                            content = @Content(schema = @Schema(implementation = ApiResult.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Malformed cursor",
+                            content = @Content(schema = @Schema(implementation = ApiResult.class))
+                    )
+            }
+    )
+    @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
+    @GetMapping(params = {"cursor", "!categories"})
+    public ResponseEntity<ApiResult<CursorPage<PostSummaryDto>>> listPostsByCursor(
+            @RequestParam("cursor") String cursor,
+            @RequestParam(value = "size", required = false) @Min(1) @Max(100) Integer size
+    ) {
+        log.debug("Listing posts by cursor endpoint called [cursor={}, size={}]", cursor, size);
+        var page = postService.listByCursor(cursor, size);
+        return ResponseEntity.ok(ApiResult.success(page));
+    }
+
+    @Operation(
+            summary = "List posts by categories",
+            description = "Returns post summaries in all (match=ALL) or any (match=ANY, default) of the given "
+                    + "category slugs, newest first. Pass the returned nextCursor to fetch the following page.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful response",
+                            content = @Content(schema = @Schema(implementation = ApiResult.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Malformed cursor",
+                            content = @Content(schema = @Schema(implementation = ApiResult.class))
+                    )
+            }
+    )
+    @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
+    @GetMapping(params = "categories")
+    public ResponseEntity<ApiResult<CursorPage<PostSummaryDto>>> listPostsByCategories(
+            @RequestParam("categories") @Size(min = 1, max = 20) Set<String> categories,
+            @RequestParam(value = "match", defaultValue = "ANY") CategoryMatch match,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) @Min(1) @Max(100) Integer size
+    ) {
+        log.debug("Listing posts by categories endpoint called [categories={}, match={}, cursor={}, size={}]",
+                categories, match, cursor, size);
+        var page = postService.listByCategories(categories, match, cursor, size);
+        return ResponseEntity.ok(ApiResult.success(page));
+    }
+
+    @Operation(
+            summary = "Search posts",
+            description = "Full-text search over post titles and content, best match first. "
+                    + "Supports quoted phrases, | between alternatives and - before excluded terms; "
+                    + "all terms are required by default. "
+                    + "Pass the returned nextCursor to fetch the following page.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Successful response",
+                            content = @Content(schema = @Schema(implementation = ApiResult.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Missing query or malformed cursor",
+                            content = @Content(schema = @Schema(implementation = ApiResult.class))
+                    )
+            }
+    )
+    @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResult<CursorPage<PostSummaryDto>>> search(
+            @RequestParam("q") @NotBlank @Size(max = 200) String q,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) @Min(1) @Max(100) Integer size
+    ) {
+        log.debug("Search posts endpoint called [q={}, cursor={}, size={}]", q, cursor, size);
+        var page = postService.search(q, cursor, size);
+        return ResponseEntity.ok(ApiResult.success(page));
+    }
+
     @Operation(
             summary = "Get post by slug",
-            description = "Returns detailed post by slug",
+            description = "Returns detailed post by slug. With include=html the sanitized HTML rendering "
+                    + "of the Markdown content is added. The body is pre-serialized at write time "
+                    + "and sent gzip-encoded when the client accepts it.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Successful response",
                             content = @Content(schema = @Schema(implementation = ApiResult.class))
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified: the If-None-Match ETag is still current"
+                    ),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Post not found",
@@ -82,19 +195,35 @@ public class PostController {
     )
     @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
     @GetMapping("/{slug}")
-    public ResponseEntity<ApiResult<PostDetailDto>> getBySlug(@PathVariable String slug) {
+    public ResponseEntity<byte[]> getBySlug(
+            @PathVariable String slug,
+            @RequestParam(value = "include", required = false) String include,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
         log.debug("Get post by slug [slug={}]", slug);
-        var detail = postService.getBySlug(slug);
-        var etag = buildETag(detail);
-        return ResponseEntity.ok()
-                .eTag(etag)
-                .body(ApiResult.success(detail));
+        // Revalidation shortcut: answer 304 from the in-memory version index without touching cache or DB
+        var version = postVersionIndex.find(slug);
+        if (version != null && webRequest.checkNotModified(version.etag())) {
+            log.debug("Post not modified [slug={}]", slug);
+            return null;
+        }
+        var withHtml = INCLUDE_HTML.equalsIgnoreCase(include);
+        var payload = renderedPostStore.find(slug, withHtml);
+        if (payload == null) {
+            payload = renderedPostStore.renderOnRead(postService.getBySlug(slug), withHtml);
+        }
+        return payloadResponse(payload, acceptEncoding);
     }
 
-    private String buildETag(PostDetailDto detail) {
-        // Weak ETag based on id and updatedAt to assist caching
-        var updated = detail.updatedAt() != null ? detail.updatedAt().toEpochMilli() : 0L;
-        return "W/\"" + detail.id() + "-" + updated + "\"";
+    private ResponseEntity<byte[]> payloadResponse(RenderedPayload payload, String acceptEncoding) {
+        var response = ResponseEntity.ok()
+                .eTag(payload.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (ContentEncodings.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, ContentEncodings.GZIP).body(payload.gzip());
+        }
+        return response.body(payload.identity());
     }
 
     @Operation(
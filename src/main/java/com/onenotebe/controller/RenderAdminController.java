@@ -0,0 +1,42 @@
+package com.onenotebe.controller;
+
+import com.onenotebe.api.ApiResult;
+import com.onenotebe.dto.RenderReportDto;
+import com.onenotebe.render.BulkRenderJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoints for the Markdown rendering pipeline.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/render")
+@Tag(name = "Admin", description = "Operational endpoints for the blog owner")
+@Slf4j
+public class RenderAdminController {
+
+    private final BulkRenderJob bulkRenderJob;
+
+    public RenderAdminController(BulkRenderJob bulkRenderJob) {
+        this.bulkRenderJob = bulkRenderJob;
+    }
+
+    @Operation(summary = "Re-render all posts", description = "Admin-only: re-render every post's Markdown on all cores")
+    @ApiResponse(responseCode = "200", description = "Re-render finished", content = @Content(schema = @Schema(implementation = ApiResult.class)))
+    @ApiResponse(responseCode = "409", description = "A re-render is already running", content = @Content(schema = @Schema(implementation = ApiResult.class)))
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResult<RenderReportDto>> rebuild() {
+        log.info("Bulk re-render requested");
+        return ResponseEntity.ok(ApiResult.success(bulkRenderJob.run()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.onenotebe.controller;
+
+import com.onenotebe.api.ApiResult;
+import com.onenotebe.dto.SuggestionDto;
+import com.onenotebe.search.SuggestionIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Search-box autocomplete over post titles and categories, served from memory.
+ */
+@RestController
+@RequestMapping("/api/v1/suggestions")
+@Validated
+@Tag(name = "Suggestions", description = "Search-box autocomplete")
+@Slf4j
+public class SuggestionController {
+
+    private final SuggestionIndex suggestionIndex;
+
+    public SuggestionController(SuggestionIndex suggestionIndex) {
+        this.suggestionIndex = suggestionIndex;
+    }
+
+    @Operation(summary = "Suggest", description = "Public endpoint returning posts and categories whose title, "
+            + "name or slug has a word starting with the prefix. Categories come first, ranked by post count; "
+            + "posts follow, newest first.")
+    @ApiResponse(responseCode = "200", description = "Suggestions fetched", content = @Content(schema = @Schema(implementation = ApiResult.class)))
+    @GetMapping
+    @PreAuthorize("isAnonymous() or hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<ApiResult<List<SuggestionDto>>> suggest(
+            @RequestParam("q") @Size(max = 100) String q,
+            @RequestParam(value = "limit", defaultValue = "10") @Min(1) @Max(SuggestionIndex.TOP_K) int limit) {
+        log.debug("Suggest endpoint called [q={}, limit={}]", q, limit);
+        return ResponseEntity.ok(ApiResult.success(suggestionIndex.suggest(q, limit)));
+    }
+}
@@ -0,0 +1,13 @@
+package com.onenotebe.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Public display information about a post's author. Deliberately excludes
+ * email and any other personal data held on the User entity.
+ */
+@Schema(name = "Author", description = "Author display information")
+public record AuthorDto(
+        @Schema(description = "User ID", example = "1") Long id,
+        @Schema(description = "Username", example = "admin") String username
+) {}
@@ -0,0 +1,24 @@
+package com.onenotebe.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Point-in-time statistics of a single application cache, used to size
+ * cache limits from production traffic.
+ */
+@Schema(name = "CacheStats", description = "Hit, miss and eviction statistics for one cache")
+public record CacheStatsDto(
+        @Schema(description = "Cache name", example = "postsBySlug") String name,
+        @Schema(description = "L1 hits") long hitCount,
+        @Schema(description = "L1 misses") long missCount,
+        @Schema(description = "L1 hit ratio between 0 and 1", example = "0.97") double hitRate,
+        @Schema(description = "Entries evicted from L1") long evictionCount,
+        @Schema(description = "Total estimated bytes evicted from L1") long evictionWeightBytes,
+        @Schema(description = "Entries written to L1: explicit puts, loads on a miss and L2 promotions") long putCount,
+        @Schema(description = "Approximate number of L1 entries") long size,
+        @Schema(description = "Estimated bytes currently held in L1") long weightedSizeBytes,
+        @Schema(description = "Whether this cache spills to the memory-mapped L2") boolean l2Enabled,
+        @Schema(description = "L2 hits") long l2HitCount,
+        @Schema(description = "L2 misses") long l2MissCount,
+        @Schema(description = "Number of L2 entries for all caches sharing the file") long l2Size
+) {}
@@ -1,5 +1,6 @@
 package com.onenotebe.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
@@ -10,5 +11,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 public record CategoryDto(
         @Schema(description = "Category ID", example = "1") Long id,
         @Schema(description = "Category name", example = "Programming") String name,
-        @Schema(description = "URL-friendly slug", example = "programming") String slug
+        @Schema(description = "URL-friendly slug", example = "programming") String slug,
+        @Schema(description = "Number of posts in the category; omitted where not requested", example = "42")
+        @JsonInclude(JsonInclude.Include.NON_NULL) Integer postCount
 ) {}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.onenotebe.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated listing. Clients pass {@code nextCursor}
+ * back unchanged to fetch the following page; it is null on the last page.
+ */
+@Schema(name = "CursorPage", description = "Cursor-paginated slice of results")
+public record CursorPage<T>(
+        @Schema(description = "Items of this page") List<T> items,
+        @Schema(description = "Opaque cursor for the next page; null when there are no more results",
+                example = "MTcwMDAwMDAwMC4wOjQy") String nextCursor
+) {}
@@ -0,0 +1,25 @@
+package com.onenotebe.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Outcome of a bulk post import. Rows that fail are reported and skipped;
+ * the rest of the import carries on.
+ */
+@Schema(name = "ImportReport", description = "Result of a bulk NDJSON post import")
+public record ImportReportDto(
+        @Schema(description = "Non-blank lines read", example = "50000") long received,
+        @Schema(description = "Posts inserted", example = "49998") long imported,
+        @Schema(description = "Lines rejected", example = "2") long failed,
+        @Schema(description = "Wall-clock duration in milliseconds", example = "4200") long elapsedMs,
+        @Schema(description = "Inserted posts per second", example = "11904.3") double postsPerSecond,
+        @Schema(description = "First rejected lines with the reason; capped") List<RowError> errors
+) {
+
+    @Schema(name = "ImportRowError", description = "Why one archive line was rejected")
+    public record RowError(
+            @Schema(description = "1-based line number in the upload", example = "17") long line,
+            @Schema(description = "Reason", example = "Unknown category: golang") String message
+    ) {}
+}
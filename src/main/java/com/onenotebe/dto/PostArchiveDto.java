@@ -0,0 +1,23 @@
+package com.onenotebe.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One line of the NDJSON post archive written by bulk export and read by bulk
+ * import. Authors and categories are referenced by username and slug so archives
+ * move between installations whose ids differ.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "PostArchiveLine", description = "One post of an NDJSON archive")
+public record PostArchiveDto(
+        @Schema(description = "Post title", example = "My First Post") String title,
+        @Schema(description = "Slug; derived from the title when absent", example = "my-first-post") String slug,
+        @Schema(description = "Markdown content", example = "# Hello World") String content,
+        @Schema(description = "Featured image URL", example = "https://cdn.example.com/img.png") String featuredImageUrl,
+        @Schema(description = "Author username; the importing admin when absent", example = "admin") String author,
+        @Schema(description = "Category slugs", example = "[\"programming\"]") List<String> categories,
+        @Schema(description = "Original creation time; the import time when absent") Instant createdAt
+) {}
@@ -1,7 +1,9 @@
 package com.onenotebe.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.Instant;
+import java.util.List;
 
 @Schema(description = "Detailed view of a blog post")
 public record PostDetailDto(
@@ -11,5 +13,10 @@ public record PostDetailDto(
         @Schema(description = "Markdown content") String content,
         @Schema(description = "Featured image URL") String featuredImageUrl,
         @Schema(description = "Creation timestamp") Instant createdAt,
-        @Schema(description = "Last update timestamp") Instant updatedAt
+        @Schema(description = "Last update timestamp") Instant updatedAt,
+        @Schema(description = "Author of the post") AuthorDto author,
+        @Schema(description = "Categories the post belongs to, ordered by name") List<CategoryDto> categories,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Sanitized HTML rendering of the content; only present when requested with include=html")
+        String html
 ) {}
\ No newline at end of file
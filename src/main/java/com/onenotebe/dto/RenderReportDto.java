@@ -0,0 +1,14 @@
+package com.onenotebe.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Outcome of a bulk Markdown re-render.
+ */
+@Schema(name = "RenderReport", description = "Result of re-rendering every post")
+public record RenderReportDto(
+        @Schema(description = "Number of posts rendered", example = "1200") long rendered,
+        @Schema(description = "Stored post responses with HTML replaced in place", example = "300") long payloadsReplaced,
+        @Schema(description = "Worker threads used", example = "8") int threads,
+        @Schema(description = "Wall-clock duration in milliseconds", example = "850") long elapsedMs
+) {}
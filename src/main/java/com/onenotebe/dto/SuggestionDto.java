@@ -0,0 +1,16 @@
+package com.onenotebe.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "Suggestion", description = "Autocomplete suggestion for the search box")
+public record SuggestionDto(
+        @Schema(description = "Kind of the suggested resource", example = "POST") Type type,
+        @Schema(description = "Text to display", example = "My First Post") String label,
+        @Schema(description = "Slug of the suggested resource", example = "my-first-post") String slug
+) {
+
+    public enum Type {
+        POST,
+        CATEGORY
+    }
+}
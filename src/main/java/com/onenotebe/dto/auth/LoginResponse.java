@@ -4,5 +4,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(name = "LoginResponse", description = "JWT token response")
 public record LoginResponse(
-        @Schema(description = "JWT access token", example = "eyJhbGciOiJIUzI1NiJ9...") String token
-) { }
\ No newline at end of file
+        @Schema(description = "JWT access token", example = "eyJhbGciOiJIUzI1NiJ9...") String token,
+        @Schema(description = "Single-use refresh token; exchange it at /api/v1/auth/refresh for a new pair",
+                example = "q7N3yK4v...") String refreshToken,
+        @Schema(description = "Seconds until the access token expires", example = "900") long expiresIn
+) { }
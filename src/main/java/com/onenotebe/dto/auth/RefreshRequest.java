@@ -0,0 +1,10 @@
+package com.onenotebe.dto.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(name = "RefreshRequest", description = "Refresh token to exchange or revoke")
+public record RefreshRequest(
+        @NotBlank @Size(max = 100) @Schema(description = "Refresh token from the last login or refresh") String refreshToken
+) { }
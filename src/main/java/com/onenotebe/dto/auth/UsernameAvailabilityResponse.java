@@ -0,0 +1,9 @@
+package com.onenotebe.dto.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "UsernameAvailabilityResponse", description = "Whether a username can still be registered")
+public record UsernameAvailabilityResponse(
+        @Schema(description = "Username checked", example = "alice") String username,
+        @Schema(description = "True when no account uses this username yet") boolean available
+) { }
@@ -0,0 +1,33 @@
+package com.onenotebe.event;
+
+import com.onenotebe.dto.CategoryDto;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Published by CategoryService whenever a category is created, updated or deleted.
+ * Like {@link PostChangedEvent}, listeners react after the transaction commits.
+ *
+ * @param type       kind of mutation
+ * @param categoryId identifier of the affected category
+ * @param category   state after the mutation; null for deleted categories
+ * @param postIds    posts embedding the category whose {@code updatedAt} was moved to
+ *                   {@code postsUpdatedAt} in the same transaction; empty if none changed
+ * @param postsUpdatedAt new modification time of those posts; null when {@code postIds} is empty
+ */
+public record CategoryChangedEvent(PostChangedEvent.Type type, Long categoryId, CategoryDto category,
+                                   List<Long> postIds, Instant postsUpdatedAt) {
+
+    public static CategoryChangedEvent created(CategoryDto category) {
+        return new CategoryChangedEvent(PostChangedEvent.Type.CREATED, category.id(), category, List.of(), null);
+    }
+
+    public static CategoryChangedEvent updated(CategoryDto category, List<Long> postIds, Instant postsUpdatedAt) {
+        return new CategoryChangedEvent(PostChangedEvent.Type.UPDATED, category.id(), category, postIds,
+                postsUpdatedAt);
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId, List<Long> postIds, Instant postsUpdatedAt) {
+        return new CategoryChangedEvent(PostChangedEvent.Type.DELETED, categoryId, null, postIds, postsUpdatedAt);
+    }
+}
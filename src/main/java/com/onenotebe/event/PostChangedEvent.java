@@ -0,0 +1,39 @@
+package com.onenotebe.event;
+
+import com.onenotebe.dto.PostDetailDto;
+
+/**
+ * Published by PostService whenever a post is created, updated or deleted.
+ * Listeners react after the surrounding transaction commits so they never
+ * observe data that is later rolled back.
+ *
+ * @param type         kind of mutation
+ * @param postId       identifier of the affected post
+ * @param previousSlug slug before the mutation; null for newly created posts
+ * @param post         state after the mutation; null for deleted posts
+ */
+public record PostChangedEvent(Type type, Long postId, String previousSlug, PostDetailDto post) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static PostChangedEvent created(PostDetailDto post) {
+        return new PostChangedEvent(Type.CREATED, post.id(), null, post);
+    }
+
+    public static PostChangedEvent updated(String previousSlug, PostDetailDto post) {
+        return new PostChangedEvent(Type.UPDATED, post.id(), previousSlug, post);
+    }
+
+    public static PostChangedEvent deleted(Long postId, String previousSlug) {
+        return new PostChangedEvent(Type.DELETED, postId, previousSlug, null);
+    }
+
+    /** True when the slug changed (or disappeared) and the previous one must be forgotten. */
+    public boolean slugMoved() {
+        return previousSlug != null && (post == null || !previousSlug.equals(post.slug()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.onenotebe.event;
+
+/**
+ * Published once a bulk import has committed all of its batches. Imported posts
+ * do not raise individual {@link PostChangedEvent}s; derived indexes resync from
+ * the database instead.
+ *
+ * @param imported number of posts inserted
+ */
+public record PostsImportedEvent(long imported) {
+}
@@ -4,6 +4,7 @@ import com.onenotebe.api.ApiError;
 import com.onenotebe.api.ApiResult;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -12,7 +13,9 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -39,6 +42,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResult.error(error));
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiResult<Void>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        var message = "Invalid value for parameter '" + ex.getName() + "': " + ex.getValue();
+        log.warn("Type mismatch: {}", message);
+        var error = new ApiError("BAD_REQUEST", message);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResult.error(error));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResult<Void>> handleInvalidCursor(InvalidCursorException ex) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+        var error = new ApiError("BAD_REQUEST", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResult.error(error));
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiResult<Void>> handleNotFound(ResourceNotFoundException ex) {
         log.warn("Resource not found: {}", ex.getMessage());
@@ -60,11 +78,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error(error));
     }
 
+    @ExceptionHandler(JobAlreadyRunningException.class)
+    public ResponseEntity<ApiResult<Void>> handleJobAlreadyRunning(JobAlreadyRunningException ex) {
+        log.warn("Job already running: {}", ex.getMessage());
+        var error = new ApiError("CONFLICT", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error(error));
+    }
+
     @ExceptionHandler(RateLimitExceededException.class)
     public ResponseEntity<ApiResult<Void>> handleRateLimit(RateLimitExceededException ex) {
         log.warn("Rate limit exceeded: {}", ex.getMessage());
         var error = new ApiError("TOO_MANY_REQUESTS", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ApiResult.error(error));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(ApiResult.error(error));
+    }
+
+    @ExceptionHandler(LoginUnavailableException.class)
+    public ResponseEntity<ApiResult<Void>> handleLoginUnavailable(LoginUnavailableException ex) {
+        log.warn("Login unavailable: {}", ex.getMessage());
+        var error = new ApiError("SERVICE_UNAVAILABLE", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(ApiResult.error(error));
     }
 
     @ExceptionHandler(AccessDeniedException.class)
@@ -81,6 +117,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error(error));
     }
 
+    // Whole seconds, rounded up so a client retrying on time is not turned away again
+    private String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, retryAfter.plusNanos(999_999_999).toSeconds()));
+    }
+
     private String formatFieldError(FieldError fe) {
         return fe.getField() + ": " + fe.getDefaultMessage();
     }
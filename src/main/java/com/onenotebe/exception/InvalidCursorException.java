@@ -0,0 +1,10 @@
+package com.onenotebe.exception;
+
+/**
+ * Unchecked exception thrown when a pagination cursor cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
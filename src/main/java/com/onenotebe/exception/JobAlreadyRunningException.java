@@ -0,0 +1,10 @@
+package com.onenotebe.exception;
+
+/**
+ * Unchecked exception thrown when an admin job is started while a previous run is still active.
+ */
+public class JobAlreadyRunningException extends RuntimeException {
+    public JobAlreadyRunningException(String message) {
+        super(message);
+    }
+}
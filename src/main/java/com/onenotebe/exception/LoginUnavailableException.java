@@ -0,0 +1,18 @@
+package com.onenotebe.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Unchecked exception for logins shed because password verification is saturated.
+ */
+@Getter
+public class LoginUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LoginUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
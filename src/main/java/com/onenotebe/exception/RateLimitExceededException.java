@@ -1,10 +1,18 @@
 package com.onenotebe.exception;
 
+import java.time.Duration;
+import lombok.Getter;
+
 /**
  * Unchecked exception for signaling rate limit violations.
  */
+@Getter
 public class RateLimitExceededException extends RuntimeException {
-    public RateLimitExceededException(String message) {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
     }
-}
\ No newline at end of file
+}
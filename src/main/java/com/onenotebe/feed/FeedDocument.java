@@ -0,0 +1,49 @@
+package com.onenotebe.feed;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A rendered sitemap or feed document with its encoded variants, built once per
+ * change so requests only copy bytes.
+ *
+ * @param identity     uncompressed XML bytes
+ * @param gzip         gzip-compressed XML bytes
+ * @param etag         strong ETag derived from the content, stable across identical re-renders
+ * @param lastModified newest modification time (epoch millis) of the entries it lists
+ */
+public record FeedDocument(byte[] identity, byte[] gzip, String etag, long lastModified) {
+
+    static FeedDocument of(byte[] xml, long lastModified) {
+        return new FeedDocument(xml, gzip(xml), etag(xml), lastModified);
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        var out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (var gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,356 @@
+package com.onenotebe.feed;
+
+import com.onenotebe.config.FeedProperties;
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.event.PostsImportedEvent;
+import com.onenotebe.render.MarkdownRenderer;
+import com.onenotebe.repository.CategoryRepository;
+import com.onenotebe.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps sitemap.xml and the RSS/Atom feeds pre-rendered and pre-compressed, so
+ * serving them never touches the database.
+ *
+ * <p>Sitemap URLs (posts by id, then categories by id) are cut into files of
+ * {@link FeedProperties#getUrlsPerSitemap()}; with more than one file,
+ * {@code /sitemap.xml} becomes a sitemap index. Changes are queued from post and
+ * category events after commit and applied on a background thread, bursts coalesced
+ * into one pass: an in-place edit re-renders only the file holding that URL, an
+ * insert or delete re-renders the files from its position on. The feeds carry the
+ * newest posts with their rendered HTML and are re-rendered on any post change.
+ */
+@Component
+@Slf4j
+public class FeedPublisher {
+
+    private static final Comparator<Map.Entry<Long, PostEntry>> NEWEST_FIRST =
+            Comparator.<Map.Entry<Long, PostEntry>, Instant>comparing(entry -> entry.getValue().createdAt())
+                    .thenComparing(Map.Entry::getKey)
+                    .reversed();
+
+    private final PostRepository postRepository;
+    private final CategoryRepository categoryRepository;
+    private final MarkdownRenderer markdownRenderer;
+    private final FeedProperties properties;
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("feed-publisher").daemon().factory());
+
+    // Source entries and pending work; only touched on the rebuilder thread
+    private TreeMap<Long, PostEntry> posts = new TreeMap<>();
+    private TreeMap<Long, CategoryEntry> categories = new TreeMap<>();
+    private final List<FeedDocument> sitemapParts = new ArrayList<>();
+    private final BitSet dirtyParts = new BitSet();
+    private long dirtyFrom = Long.MAX_VALUE;
+    private boolean feedsDirty;
+
+    // Published documents
+    private volatile FeedDocument sitemap;
+    private volatile List<FeedDocument> publishedParts = List.of();
+    private volatile FeedDocument rss;
+    private volatile FeedDocument atom;
+
+    public FeedPublisher(PostRepository postRepository, CategoryRepository categoryRepository,
+                         MarkdownRenderer markdownRenderer, FeedProperties properties) {
+        this.postRepository = postRepository;
+        this.categoryRepository = categoryRepository;
+        this.markdownRenderer = markdownRenderer;
+        this.properties = properties;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, PostsImportedEvent.class})
+    @Transactional(readOnly = true)
+    public void load() {
+        var loadedPosts = new TreeMap<Long, PostEntry>();
+        try (var rows = postRepository.streamFeedRows()) {
+            rows.forEach(row -> loadedPosts.put(row.id(),
+                    new PostEntry(row.title(), row.slug(), row.createdAt(),
+                            row.updatedAt() == null ? row.createdAt() : row.updatedAt())));
+        }
+        var loadedCategories = new TreeMap<Long, CategoryEntry>();
+        categoryRepository.findAll().forEach(category -> loadedCategories.put(category.getId(),
+                new CategoryEntry(category.getSlug(), category.getUpdatedAt())));
+        enqueue(new Reset(loadedPosts, loadedCategories));
+        log.info("Feed sources loaded [posts={}, categories={}]", loadedPosts.size(), loadedCategories.size());
+    }
+
+    /** {@code /sitemap.xml}: the only sitemap file, or the index of all of them; null until first rendered. */
+    public FeedDocument sitemap() {
+        return sitemap;
+    }
+
+    /** Sitemap file {@code part} (1-based), or null if there is no such file. */
+    public FeedDocument sitemapPart(int part) {
+        var parts = publishedParts;
+        return part >= 1 && part <= parts.size() ? parts.get(part - 1) : null;
+    }
+
+    public FeedDocument rss() {
+        return rss;
+    }
+
+    public FeedDocument atom() {
+        return atom;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        var post = event.post();
+        enqueue(post == null
+                ? new PostRemoved(event.postId())
+                : new PostUpserted(post.id(), new PostEntry(post.title(), post.slug(), post.createdAt(),
+                        post.updatedAt() == null ? Instant.now() : post.updatedAt())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        var category = event.category();
+        enqueue(category == null
+                ? new CategoryRemoved(event.categoryId())
+                : new CategoryUpserted(category.id(), new CategoryEntry(category.slug(), Instant.now())));
+    }
+
+    /** Blocks until every change queued so far has been applied and published. */
+    void awaitPublished() throws InterruptedException, ExecutionException {
+        // Single-threaded: this no-op runs after any pass already scheduled
+        rebuilder.submit(() -> {
+        }).get();
+    }
+
+    @PreDestroy
+    public void close() {
+        rebuilder.shutdownNow();
+    }
+
+    private void enqueue(Change change) {
+        changes.add(change);
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                // Cleared before draining, so a change racing with this pass schedules another
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void rebuild() {
+        Change change;
+        while ((change = changes.poll()) != null) {
+            apply(change);
+        }
+        if (dirtyFrom == Long.MAX_VALUE && dirtyParts.isEmpty() && !feedsDirty) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            int rendered = renderSitemaps();
+            if (feedsDirty) {
+                renderFeeds();
+                feedsDirty = false;
+            }
+            log.debug("Feeds published [sitemapFiles={}, renderedFiles={}, elapsedMs={}]",
+                    sitemapParts.size(), rendered, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Pending work is kept, so the next change retries it
+            log.error("Feed rendering failed [error={}]", e.getMessage(), e);
+        }
+    }
+
+    private void apply(Change change) {
+        switch (change) {
+            case Reset reset -> {
+                posts = reset.posts();
+                categories = reset.categories();
+                dirtyFrom = 0;
+                feedsDirty = true;
+            }
+            case PostUpserted upsert -> {
+                long position = posts.headMap(upsert.id()).size();
+                if (posts.put(upsert.id(), upsert.entry()) == null) {
+                    dirtyFrom = Math.min(dirtyFrom, position);
+                } else {
+                    dirtyParts.set(partOf(position));
+                }
+                feedsDirty = true;
+            }
+            case PostRemoved removed -> {
+                if (posts.containsKey(removed.id())) {
+                    dirtyFrom = Math.min(dirtyFrom, posts.headMap(removed.id()).size());
+                    posts.remove(removed.id());
+                    feedsDirty = true;
+                }
+            }
+            case CategoryUpserted upsert -> {
+                long position = posts.size() + categories.headMap(upsert.id()).size();
+                if (categories.put(upsert.id(), upsert.entry()) == null) {
+                    dirtyFrom = Math.min(dirtyFrom, position);
+                } else {
+                    dirtyParts.set(partOf(position));
+                }
+            }
+            case CategoryRemoved removed -> {
+                if (categories.containsKey(removed.id())) {
+                    dirtyFrom = Math.min(dirtyFrom, posts.size() + categories.headMap(removed.id()).size());
+                    categories.remove(removed.id());
+                }
+            }
+        }
+    }
+
+    /** Re-renders the dirty sitemap files and, if any changed, the index; returns the number of files rendered. */
+    private int renderSitemaps() {
+        int perFile = properties.getUrlsPerSitemap();
+        int total = posts.size() + categories.size();
+        int partCount = Math.max(1, Math.ceilDiv(total, perFile));
+        var render = new BitSet(partCount);
+        for (int part = 0; part < partCount; part++) {
+            if ((long) (part + 1) * perFile > dirtyFrom || dirtyParts.get(part) || part >= sitemapParts.size()) {
+                render.set(part);
+            }
+        }
+        if (render.isEmpty() && partCount == sitemapParts.size()) {
+            clearSitemapWork();
+            return 0;
+        }
+        var pending = new HashMap<Integer, List<FeedRenderer.Location>>();
+        int position = 0;
+        for (var post : posts.values()) {
+            collect(pending, render, position++ / perFile,
+                    url("/posts/", post.slug()), post.updatedAt());
+        }
+        for (var category : categories.values()) {
+            collect(pending, render, position++ / perFile,
+                    url("/categories/", category.slug()), category.updatedAt());
+        }
+        while (sitemapParts.size() > partCount) {
+            sitemapParts.removeLast();
+        }
+        for (int part = render.nextSetBit(0); part >= 0; part = render.nextSetBit(part + 1)) {
+            var urls = pending.getOrDefault(part, List.of());
+            long lastModified = urls.stream()
+                    .map(FeedRenderer.Location::lastModified)
+                    .filter(instant -> instant != null)
+                    .mapToLong(Instant::toEpochMilli)
+                    .max()
+                    .orElseGet(System::currentTimeMillis);
+            var document = FeedDocument.of(FeedRenderer.urlset(urls), lastModified);
+            if (part < sitemapParts.size()) {
+                sitemapParts.set(part, document);
+            } else {
+                sitemapParts.add(document);
+            }
+        }
+        publishedParts = List.copyOf(sitemapParts);
+        sitemap = partCount == 1 ? sitemapParts.getFirst() : renderIndex();
+        clearSitemapWork();
+        return render.cardinality();
+    }
+
+    private FeedDocument renderIndex() {
+        var files = new ArrayList<FeedRenderer.Location>(sitemapParts.size());
+        long lastModified = 0;
+        for (int part = 0; part < sitemapParts.size(); part++) {
+            long modified = sitemapParts.get(part).lastModified();
+            files.add(new FeedRenderer.Location(
+                    url("/sitemaps/sitemap-", (part + 1) + ".xml"), Instant.ofEpochMilli(modified)));
+            lastModified = Math.max(lastModified, modified);
+        }
+        return FeedDocument.of(FeedRenderer.sitemapIndex(files), lastModified);
+    }
+
+    private void renderFeeds() {
+        var newest = posts.entrySet().stream()
+                .sorted(NEWEST_FIRST)
+                .limit(properties.getEntries())
+                .toList();
+        var contents = newest.isEmpty()
+                ? Map.<Long, String>of()
+                : postRepository.findContents(newest.stream().map(Map.Entry::getKey).toList()).stream()
+                        .collect(Collectors.toMap(PostRepository.ContentRow::id, PostRepository.ContentRow::content));
+        var items = new ArrayList<FeedRenderer.Item>(newest.size());
+        var updated = Instant.EPOCH;
+        for (var entry : newest) {
+            var post = entry.getValue();
+            var content = contents.get(entry.getKey());
+            items.add(new FeedRenderer.Item(post.title(), url("/posts/", post.slug()), post.createdAt(),
+                    post.updatedAt(), content == null ? "" : markdownRenderer.render(content)));
+            updated = post.updatedAt().isAfter(updated) ? post.updatedAt() : updated;
+        }
+        if (items.isEmpty()) {
+            updated = Instant.now();
+        }
+        rss = FeedDocument.of(FeedRenderer.rss(properties, url("/feed.rss", ""), items, updated),
+                updated.toEpochMilli());
+        atom = FeedDocument.of(FeedRenderer.atom(properties, url("/feed.atom", ""), items, updated),
+                updated.toEpochMilli());
+    }
+
+    private static void collect(Map<Integer, List<FeedRenderer.Location>> pending, BitSet render, int part,
+                                String loc, Instant lastModified) {
+        if (render.get(part)) {
+            pending.computeIfAbsent(part, p -> new ArrayList<>()).add(new FeedRenderer.Location(loc, lastModified));
+        }
+    }
+
+    private void clearSitemapWork() {
+        dirtyFrom = Long.MAX_VALUE;
+        dirtyParts.clear();
+    }
+
+    private int partOf(long position) {
+        return (int) (position / properties.getUrlsPerSitemap());
+    }
+
+    private String url(String path, String suffix) {
+        var base = properties.getBaseUrl();
+        return (base.endsWith("/") ? base.substring(0, base.length() - 1) : base) + path + suffix;
+    }
+
+    private record PostEntry(String title, String slug, Instant createdAt, Instant updatedAt) {
+    }
+
+    private record CategoryEntry(String slug, Instant updatedAt) {
+    }
+
+    private sealed interface Change permits Reset, PostUpserted, PostRemoved, CategoryUpserted, CategoryRemoved {
+    }
+
+    private record Reset(TreeMap<Long, PostEntry> posts, TreeMap<Long, CategoryEntry> categories) implements Change {
+    }
+
+    private record PostUpserted(Long id, PostEntry entry) implements Change {
+    }
+
+    private record PostRemoved(Long id) implements Change {
+    }
+
+    private record CategoryUpserted(Long id, CategoryEntry entry) implements Change {
+    }
+
+    private record CategoryRemoved(Long id) implements Change {
+    }
+}
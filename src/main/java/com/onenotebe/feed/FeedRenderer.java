@@ -0,0 +1,164 @@
+package com.onenotebe.feed;
+
+import com.onenotebe.config.FeedProperties;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Streams sitemap, sitemap index, RSS 2.0 and Atom documents to UTF-8 bytes.
+ */
+final class FeedRenderer {
+
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private FeedRenderer() {
+    }
+
+    /** One {@code <url>} of a sitemap or {@code <sitemap>} of a sitemap index. */
+    record Location(String loc, Instant lastModified) {
+    }
+
+    /** One post as an RSS item / Atom entry; {@code html} is the rendered content. */
+    record Item(String title, String link, Instant published, Instant updated, String html) {
+    }
+
+    static byte[] urlset(List<Location> urls) {
+        return write(xml -> {
+            xml.writeStartElement("urlset");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+            for (var url : urls) {
+                xml.writeStartElement("url");
+                element(xml, "loc", url.loc());
+                if (url.lastModified() != null) {
+                    element(xml, "lastmod", w3c(url.lastModified()));
+                }
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    static byte[] sitemapIndex(List<Location> sitemaps) {
+        return write(xml -> {
+            xml.writeStartElement("sitemapindex");
+            xml.writeDefaultNamespace(SITEMAP_NS);
+            for (var sitemap : sitemaps) {
+                xml.writeStartElement("sitemap");
+                element(xml, "loc", sitemap.loc());
+                element(xml, "lastmod", w3c(sitemap.lastModified()));
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    static byte[] rss(FeedProperties properties, String selfLink, List<Item> items, Instant updated) {
+        return write(xml -> {
+            xml.writeStartElement("rss");
+            xml.writeAttribute("version", "2.0");
+            xml.writeNamespace("atom", ATOM_NS);
+            xml.writeStartElement("channel");
+            element(xml, "title", properties.getTitle());
+            element(xml, "link", properties.getBaseUrl());
+            element(xml, "description", properties.getDescription());
+            element(xml, "lastBuildDate", rfc1123(updated));
+            xml.writeEmptyElement("atom", "link", ATOM_NS);
+            xml.writeAttribute("href", selfLink);
+            xml.writeAttribute("rel", "self");
+            xml.writeAttribute("type", "application/rss+xml");
+            for (var item : items) {
+                xml.writeStartElement("item");
+                element(xml, "title", item.title());
+                element(xml, "link", item.link());
+                xml.writeStartElement("guid");
+                xml.writeAttribute("isPermaLink", "true");
+                xml.writeCharacters(item.link());
+                xml.writeEndElement();
+                element(xml, "pubDate", rfc1123(item.published()));
+                element(xml, "description", item.html());
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndElement();
+        });
+    }
+
+    static byte[] atom(FeedProperties properties, String selfLink, List<Item> items, Instant updated) {
+        return write(xml -> {
+            xml.writeStartElement("feed");
+            xml.writeDefaultNamespace(ATOM_NS);
+            element(xml, "id", selfLink);
+            element(xml, "title", properties.getTitle());
+            element(xml, "subtitle", properties.getDescription());
+            element(xml, "updated", w3c(updated));
+            link(xml, selfLink, "self");
+            link(xml, properties.getBaseUrl(), "alternate");
+            xml.writeStartElement("author");
+            element(xml, "name", properties.getTitle());
+            xml.writeEndElement();
+            for (var item : items) {
+                xml.writeStartElement("entry");
+                element(xml, "id", item.link());
+                element(xml, "title", item.title());
+                link(xml, item.link(), "alternate");
+                element(xml, "published", w3c(item.published()));
+                element(xml, "updated", w3c(item.updated()));
+                xml.writeStartElement("content");
+                xml.writeAttribute("type", "html");
+                xml.writeCharacters(item.html());
+                xml.writeEndElement();
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        });
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text == null ? "" : text);
+        xml.writeEndElement();
+    }
+
+    private static void link(XMLStreamWriter xml, String href, String rel) throws XMLStreamException {
+        xml.writeEmptyElement("link");
+        xml.writeAttribute("href", href);
+        xml.writeAttribute("rel", rel);
+    }
+
+    private static String w3c(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.SECONDS).toString();
+    }
+
+    private static String rfc1123(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    private static byte[] write(Body body) {
+        var out = new ByteArrayOutputStream(8 * 1024);
+        try {
+            var xml = OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            body.write(xml);
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to render feed document", e);
+        }
+        return out.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+}
@@ -16,27 +16,13 @@ public interface CategoryMapper {
     /**
      * Convert Category entity to CategoryDto.
      */
+    @Mapping(target = "postCount", ignore = true)
     CategoryDto toDto(Category category);
 
     /**
-     * Convert CreateCategoryDto to Category entity. Slug is generated from name.
+     * Convert CreateCategoryDto to Category entity. The slug is assigned by the
+     * service, which resolves collisions against existing categories.
      */
-    @Mapping(target = "slug", expression = "java(slugify(dto.name()))")
+    @Mapping(target = "slug", ignore = true)
     Category toEntity(CreateCategoryDto dto);
-
-    /**
-     * Generate a URL-friendly slug from a category name.
-     * Uses lowercase and replaces whitespace with hyphens.
-     */
-    default String slugify(String name) {
-        if (name == null || name.isBlank()) {
-            return "";
-        }
-        var normalized = name.trim().toLowerCase();
-        // replace all non-alphanumeric sequences with a single hyphen
-        normalized = normalized.replaceAll("[^a-z0-9]+", "-");
-        // trim hyphens from start/end
-        normalized = normalized.replaceAll("(^-+)|(-+$)", "");
-        return normalized;
-    }
-}
\ No newline at end of file
+}
@@ -1,21 +1,24 @@
 package com.onenotebe.mapper;
 
+import com.onenotebe.dto.AuthorDto;
+import com.onenotebe.dto.CategoryDto;
 import com.onenotebe.dto.PostDetailDto;
-import com.onenotebe.dto.PostSummaryDto;
+import com.onenotebe.model.Category;
 import com.onenotebe.model.Post;
+import com.onenotebe.model.User;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+/**
+ * MapStruct mapper for Post entities. Summaries are not mapped here: they are
+ * projected directly by PostRepository so listings never load post content.
+ */
 @Mapper(componentModel = "spring")
 public interface PostMapper {
 
-    @Mapping(target = "id", source = "id")
-    @Mapping(target = "title", source = "title")
-    @Mapping(target = "slug", source = "slug")
-    @Mapping(target = "createdAt", source = "createdAt")
-    @Mapping(target = "featuredImageUrl", source = "featuredImageUrl")
-    PostSummaryDto toSummaryDto(Post post);
-
     @Mapping(target = "id", source = "id")
     @Mapping(target = "title", source = "title")
     @Mapping(target = "slug", source = "slug")
@@ -23,5 +26,26 @@ public interface PostMapper {
     @Mapping(target = "featuredImageUrl", source = "featuredImageUrl")
     @Mapping(target = "createdAt", source = "createdAt")
     @Mapping(target = "updatedAt", source = "updatedAt")
+    @Mapping(target = "author", source = "author")
+    @Mapping(target = "categories", source = "categories")
+    @Mapping(target = "html", ignore = true)
     PostDetailDto toDetailDto(Post post);
-}
\ No newline at end of file
+
+    AuthorDto toAuthorDto(User user);
+
+    @Mapping(target = "postCount", ignore = true)
+    CategoryDto toCategoryDto(Category category);
+
+    /**
+     * Categories are a Set on the entity; sort them so the payload (and its ETag) is stable.
+     */
+    default List<CategoryDto> toCategoryDtos(Set<Category> categories) {
+        if (categories == null) {
+            return List.of();
+        }
+        return categories.stream()
+                .map(this::toCategoryDto)
+                .sorted(Comparator.comparing(CategoryDto::name))
+                .toList();
+    }
+}
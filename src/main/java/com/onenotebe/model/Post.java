@@ -4,6 +4,7 @@ import com.onenotebe.model.base.BaseEntity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -22,9 +23,14 @@ import java.util.Set;
 /**
  * Blog Post entity representing published content.
  * Extends BaseEntity for ID and auditing timestamps.
+ * The composite (created_at, id) index backs keyset pagination of the listing.
  */
 @Entity
-@Table(name = "posts")
+@Table(name = "posts",
+        indexes = {
+                @Index(name = "idx_post_created_at_id", columnList = "created_at DESC, id DESC")
+        }
+)
 @Getter
 @Setter
 @Builder
@@ -0,0 +1,32 @@
+package com.onenotebe.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Rate limit bucket shared by all nodes, keyed by policy name and client. Holds
+ * the theoretical arrival time of the next request in epoch microseconds; a row
+ * whose time has passed is a full bucket and can be deleted. Read and written
+ * with plain JDBC by the JDBC rate limit store.
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 200)
+    private String bucketKey;
+
+    @Column(name = "next_arrival", nullable = false)
+    private long nextArrival;
+}
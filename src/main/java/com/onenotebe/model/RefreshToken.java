@@ -0,0 +1,61 @@
+package com.onenotebe.model;
+
+import com.onenotebe.model.base.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Refresh token, stored only as the SHA-256 of its value. Every refresh rotates the
+ * token: the presented one is marked revoked and a successor is issued in the same
+ * family, so presenting a revoked token again reveals a replay and revokes the family.
+ */
+@Entity
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_token_user", columnList = "user_id")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /** Shared by all tokens descending from one login. */
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /** Set when the token is rotated or revoked; null while usable. */
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    /** jti of the access token issued together with this token, revoked along with the family. */
+    @Column(name = "access_token_id", length = 36)
+    private String accessTokenId;
+
+    @Column(name = "access_expires_at")
+    private Instant accessExpiresAt;
+}
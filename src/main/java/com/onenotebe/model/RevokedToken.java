@@ -0,0 +1,37 @@
+package com.onenotebe.model;
+
+import com.onenotebe.model.base.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Access token (by jti) revoked before its expiry. Rows are only needed until the
+ * token would have expired anyway and are purged after that.
+ */
+@Entity
+@Table(name = "revoked_tokens",
+        indexes = {
+                @Index(name = "idx_revoked_token_created_at", columnList = "created_at")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken extends BaseEntity {
+
+    @Column(name = "token_id", nullable = false, unique = true, length = 36)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
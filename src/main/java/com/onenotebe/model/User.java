@@ -7,18 +7,27 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * User entity storing credentials and role.
  * Note: Password is stored hashed; never log or expose it.
  */
 @Entity
-@Table(name = "users", indexes = {
-        @Index(name = "idx_user_username", columnList = "username"),
-        @Index(name = "idx_user_email", columnList = "email")
-})
+@Table(name = "users",
+        indexes = {
+                @Index(name = "idx_user_username", columnList = "username"),
+                @Index(name = "idx_user_email", columnList = "email"),
+                @Index(name = "idx_user_created_at", columnList = "created_at")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+                @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,8 +35,12 @@ import lombok.*;
 @Builder
 public class User extends BaseEntity {
 
+    /** Unique constraint names that registration translates into duplicate errors. */
+    public static final String USERNAME_CONSTRAINT = "uk_user_username";
+    public static final String EMAIL_CONSTRAINT = "uk_user_email";
+
     @NotBlank
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
     @NotBlank
@@ -36,10 +49,15 @@ public class User extends BaseEntity {
     private String password;
 
     @NotBlank
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Role role;
+
+    /** Embedded in every issued JWT; incrementing it revokes all tokens issued so far. */
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
 }
\ No newline at end of file
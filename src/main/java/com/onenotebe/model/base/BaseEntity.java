@@ -6,6 +6,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
 import java.time.Instant;
 
 import lombok.*;
@@ -38,12 +39,19 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Setter
 public abstract class BaseEntity {
 
+    /** Sequence shared by all entities for primary keys. */
+    public static final String ID_SEQUENCE = "entity_id_seq";
+    /** Ids reserved per sequence call; must match the sequence increment. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
-     * Primary key using identity strategy for PostgresSQL. The database
-     * generates the identifier on insert.
+     * Primary key drawn from {@link #ID_SEQUENCE}. Each sequence value reserves a
+     * block of {@link #ID_ALLOCATION_SIZE} ids starting at that value (pooled-lo),
+     * so Hibernate can batch inserts and bulk loaders can reserve ids the same way.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     protected Long id;
 
     /**
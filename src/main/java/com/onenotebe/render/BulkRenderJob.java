@@ -0,0 +1,116 @@
+package com.onenotebe.render;
+
+import com.onenotebe.cache.RenderedPostStore;
+import com.onenotebe.dto.RenderReportDto;
+import com.onenotebe.exception.JobAlreadyRunningException;
+import com.onenotebe.repository.PostRepository;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Re-renders the Markdown of every post on all cores, used after the renderer
+ * configuration changed. Posts are streamed from the database on the calling
+ * thread and handed to a fixed pool with a bounded number of in-flight tasks,
+ * so memory stays flat however large the archive is. Once the render cache is
+ * refreshed, the stored post responses that embed HTML are replaced in place, so
+ * reads keep being served from the store throughout.
+ */
+@Component
+@Slf4j
+public class BulkRenderJob {
+
+    private final PostRepository postRepository;
+    private final MarkdownRenderer markdownRenderer;
+    private final RenderedPostStore renderedPostStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BulkRenderJob(PostRepository postRepository,
+                         MarkdownRenderer markdownRenderer,
+                         RenderedPostStore renderedPostStore,
+                         TransactionTemplate transactionTemplate) {
+        this.postRepository = postRepository;
+        this.markdownRenderer = markdownRenderer;
+        this.renderedPostStore = renderedPostStore;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public RenderReportDto run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new JobAlreadyRunningException("A re-render job is already running");
+        }
+        try {
+            return renderAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RenderReportDto renderAll() {
+        var threads = Runtime.getRuntime().availableProcessors();
+        var permits = threads * 4;
+        var inFlight = new Semaphore(permits);
+        var rendered = new LongAdder();
+        var replaced = new LongAdder();
+        var started = System.nanoTime();
+        log.info("Bulk re-render started [threads={}]", threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (var rows = postRepository.streamContents()) {
+                    rows.forEach(content -> submit(pool, inFlight, () -> {
+                        markdownRenderer.rerender(content);
+                        rendered.increment();
+                    }));
+                }
+            });
+            // Every Markdown task has finished once all permits are back
+            inFlight.acquireUninterruptibly(permits);
+            inFlight.release(permits);
+            for (var slug : renderedPostStore.slugsWithHtml()) {
+                submit(pool, inFlight, () -> {
+                    if (renderedPostStore.rerenderHtml(slug)) {
+                        replaced.increment();
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+            awaitQuietly(pool);
+        }
+        var elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Bulk re-render finished [rendered={}, payloadsReplaced={}, elapsedMs={}]",
+                rendered.sum(), replaced.sum(), elapsedMs);
+        return new RenderReportDto(rendered.sum(), replaced.sum(), threads, elapsedMs);
+    }
+
+    private static void submit(ExecutorService pool, Semaphore inFlight, Runnable task) {
+        inFlight.acquireUninterruptibly();
+        pool.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private static void awaitQuietly(ExecutorService pool) {
+        try {
+            if (!pool.awaitTermination(1, TimeUnit.HOURS)) {
+                log.warn("Bulk re-render did not finish within an hour");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for bulk re-render", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.onenotebe.render;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onenotebe.config.RenderProperties;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.DefaultUrlSanitizer;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts post Markdown to sanitized HTML. Raw HTML in the source is escaped and
+ * link/image URLs with a scheme other than {@code http}, {@code https} or {@code mailto}
+ * (e.g. {@code javascript:} or {@code data:}) are dropped, so the output can be inserted
+ * into a page as-is.
+ *
+ * <p>Results are cached by the SHA-256 of the Markdown source: a post whose content did
+ * not change is never re-rendered, whatever else (categories, image) was edited.
+ */
+@Component
+@Slf4j
+public class MarkdownRenderer {
+
+    private static final List<String> SAFE_URL_SCHEMES = List.of("http", "https", "mailto");
+
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+    private final Cache<String, String> htmlByContentHash;
+
+    public MarkdownRenderer(RenderProperties properties) {
+        List<Extension> extensions = properties.isGfmExtensions()
+                ? List.of(TablesExtension.create(), StrikethroughExtension.create())
+                : List.of();
+        this.parser = Parser.builder().extensions(extensions).build();
+        this.renderer = HtmlRenderer.builder()
+                .extensions(extensions)
+                .escapeHtml(true)
+                .sanitizeUrls(true)
+                .urlSanitizer(new DefaultUrlSanitizer(SAFE_URL_SCHEMES))
+                .build();
+        this.htmlByContentHash = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxWeightBytes())
+                .weigher((String hash, String html) -> 2 * (hash.length() + html.length()))
+                .recordStats()
+                .build();
+    }
+
+    /** HTML for the given Markdown, served from the render cache when the content is unchanged. */
+    public String render(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        return htmlByContentHash.get(contentHash(markdown), hash -> renderUncached(markdown));
+    }
+
+    /** Renders and replaces the cached HTML, used when the renderer configuration changed. */
+    public void rerender(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return;
+        }
+        htmlByContentHash.put(contentHash(markdown), renderUncached(markdown));
+    }
+
+    private String renderUncached(String markdown) {
+        log.debug("Rendering markdown [chars={}]", markdown.length());
+        return renderer.render(parser.parse(markdown));
+    }
+
+    private static String contentHash(String markdown) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(markdown.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
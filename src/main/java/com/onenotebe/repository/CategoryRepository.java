@@ -1,6 +1,8 @@
 package com.onenotebe.repository;
 
 import com.onenotebe.model.Category;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -24,4 +26,15 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * Fetch a set of categories by their IDs. Returns a Set to avoid duplicates.
      */
     Set<Category> findByIdIn(Set<Long> ids);
+
+    /**
+     * Fetch the categories with any of the given slugs in one query.
+     */
+    List<Category> findBySlugIn(Collection<String> slugs);
+
+    /**
+     * The slug and every taken {@code slug-<suffix>} form of it, for collision resolution in one query.
+     */
+    @Query("select c.slug from Category c where c.slug = :slug or c.slug like concat(:slug, '-%')")
+    Set<String> findSlugFamily(String slug);
 }
\ No newline at end of file
@@ -1,11 +1,241 @@
 package com.onenotebe.repository;
 
+import com.onenotebe.dto.PostSummaryDto;
 import com.onenotebe.model.Post;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Repository for Post data access. Listing queries project straight into
+ * {@link PostSummaryDto} so the TEXT content column is never selected and no
+ * managed entities (or dirty-checking snapshots) are created for summaries.
+ */
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    /**
+     * Detail lookup by slug. The entity graph fetch-joins author and categories
+     * so building a PostDetailDto takes exactly one SQL statement.
+     */
+    @EntityGraph(attributePaths = {"author", "categories"})
     Optional<Post> findBySlug(String slug);
-}
\ No newline at end of file
+
+    /**
+     * Detail lookup by id with author and categories fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = {"author", "categories"})
+    Optional<Post> findDetailById(Long id);
+
+    /**
+     * Offset page of summaries ordered newest first. Returning a List instead of
+     * a Page means Spring Data skips the count query.
+     */
+    @Query("""
+            select new com.onenotebe.dto.PostSummaryDto(p.id, p.title, p.slug, p.createdAt, p.featuredImageUrl)
+            from Post p
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostSummaryDto> findSummaries(Pageable pageable);
+
+    /**
+     * First page of the keyset listing ordered by (createdAt desc, id desc).
+     * No count query is issued.
+     */
+    @Query("""
+            select new com.onenotebe.dto.PostSummaryDto(p.id, p.title, p.slug, p.createdAt, p.featuredImageUrl)
+            from Post p
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostSummaryDto> findFirstSummaryPage(Limit limit);
+
+    /**
+     * Page following the given keyset position. The redundant {@code createdAt <= :createdAt}
+     * bound lets the (created_at, id) index start its scan at the cursor instead of
+     * filtering every newer row, so deep pages cost the same as the first one.
+     */
+    @Query("""
+            select new com.onenotebe.dto.PostSummaryDto(p.id, p.title, p.slug, p.createdAt, p.featuredImageUrl)
+            from Post p
+            where p.createdAt <= :createdAt
+              and (p.createdAt < :createdAt or p.id < :id)
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostSummaryDto> findSummaryPageAfter(Instant createdAt, Long id, Limit limit);
+
+    /**
+     * Summaries for a set of ids in one keyed lookup; callers restore the order they need.
+     */
+    @Query("""
+            select new com.onenotebe.dto.PostSummaryDto(p.id, p.title, p.slug, p.createdAt, p.featuredImageUrl)
+            from Post p
+            where p.id in :ids
+            """)
+    List<PostSummaryDto> findSummariesByIdIn(Collection<Long> ids);
+
+    /**
+     * Which of the given slugs are already taken, in one query.
+     */
+    @Query("select p.slug from Post p where p.slug in :slugs")
+    List<String> findExistingSlugs(Collection<String> slugs);
+
+    /**
+     * The slug and every taken {@code slug-<suffix>} form of it, for collision resolution in one query.
+     */
+    @Query("select p.slug from Post p where p.slug = :slug or p.slug like concat(:slug, '-%')")
+    Set<String> findSlugFamily(String slug);
+
+    /**
+     * Latest modification time of any post, or {@code null} when there are none.
+     */
+    @Query("select max(p.updatedAt) from Post p")
+    Instant findMaxUpdatedAt();
+
+    /**
+     * Ids of the posts assigned to the category.
+     */
+    @Query("select p.id from Post p join p.categories c where c.id = :categoryId")
+    List<Long> findIdsByCategoryId(Long categoryId);
+
+    /**
+     * Marks the category's posts as modified, for changes that alter their
+     * representation without touching their rows, such as a category rename.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Post p set p.updatedAt = :now"
+            + " where p.id in (select q.id from Post q join q.categories c where c.id = :categoryId)")
+    int touchByCategoryId(Long categoryId, Instant now);
+
+    /**
+     * Slug, id and last modification time of every post, streamed so the
+     * version index can be built without materializing entities.
+     */
+    @Query("select new com.onenotebe.repository.PostRepository$VersionRow(p.id, p.slug, p.updatedAt) from Post p")
+    Stream<VersionRow> streamVersions();
+
+    /**
+     * Markdown content of every post, streamed for bulk re-rendering.
+     */
+    @Query("select p.content from Post p")
+    Stream<String> streamContents();
+
+    /**
+     * Everything the full-text index stores about a post, streamed for a rebuild.
+     */
+    @Query("""
+            select new com.onenotebe.repository.PostRepository$SearchRow(
+                p.id, p.title, p.slug, p.content, p.createdAt, p.featuredImageUrl)
+            from Post p
+            """)
+    Stream<SearchRow> streamSearchRows();
+
+    /**
+     * Title and recency of every post, streamed to build the autocomplete index.
+     */
+    @Query("""
+            select new com.onenotebe.repository.PostRepository$TitleRow(p.id, p.title, p.slug, p.createdAt)
+            from Post p
+            """)
+    Stream<TitleRow> streamTitles();
+
+    /**
+     * What the sitemap and feeds know about every post, streamed at startup.
+     */
+    @Query("""
+            select new com.onenotebe.repository.PostRepository$FeedRow(p.id, p.title, p.slug, p.createdAt, p.updatedAt)
+            from Post p
+            """)
+    Stream<FeedRow> streamFeedRows();
+
+    /**
+     * Markdown content of a handful of posts in one keyed lookup.
+     */
+    @Query("""
+            select new com.onenotebe.repository.PostRepository$ContentRow(p.id, p.content)
+            from Post p
+            where p.id in :ids
+            """)
+    List<ContentRow> findContents(Collection<Long> ids);
+
+    /**
+     * Every (post, category) pair of the post_categories join table.
+     */
+    @Query("""
+            select new com.onenotebe.repository.PostRepository$CategoryLinkRow(p.id, c.id)
+            from Post p join p.categories c
+            """)
+    Stream<CategoryLinkRow> streamCategoryLinks();
+
+    /**
+     * (id, createdAt) of every post: the sort key shared by all post listings.
+     */
+    @Query("select new com.onenotebe.repository.PostRepository$ListingKeyRow(p.id, p.createdAt) from Post p")
+    Stream<ListingKeyRow> streamListingKeys();
+
+    /**
+     * Every post with its author's username in id order, streamed forward-only for
+     * the NDJSON export. Rows are projections, so nothing accumulates in the
+     * persistence context however many posts are read.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.onenotebe.repository.PostRepository$ExportRow(
+                p.id, p.title, p.slug, p.content, p.featuredImageUrl, a.username, p.createdAt)
+            from Post p left join p.author a
+            order by p.id
+            """)
+    Stream<ExportRow> streamExportRows();
+
+    /**
+     * Category slugs of a chunk of posts, in one query.
+     */
+    @Query("""
+            select new com.onenotebe.repository.PostRepository$CategorySlugRow(p.id, c.slug)
+            from Post p join p.categories c
+            where p.id in :postIds
+            """)
+    List<CategorySlugRow> findCategorySlugs(Collection<Long> postIds);
+
+    record VersionRow(Long id, String slug, Instant updatedAt) {
+    }
+
+    record SearchRow(Long id, String title, String slug, String content, Instant createdAt, String featuredImageUrl) {
+    }
+
+    record TitleRow(Long id, String title, String slug, Instant createdAt) {
+    }
+
+    record FeedRow(Long id, String title, String slug, Instant createdAt, Instant updatedAt) {
+    }
+
+    record ContentRow(Long id, String content) {
+    }
+
+    record CategoryLinkRow(Long postId, Long categoryId) {
+    }
+
+    record ListingKeyRow(Long id, Instant createdAt) {
+    }
+
+    record ExportRow(Long id, String title, String slug, String content, String featuredImageUrl,
+                     String author, Instant createdAt) {
+    }
+
+    record CategorySlugRow(Long postId, String slug) {
+    }
+}
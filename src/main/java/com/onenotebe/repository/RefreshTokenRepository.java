@@ -0,0 +1,43 @@
+package com.onenotebe.repository;
+
+import com.onenotebe.model.RefreshToken;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Token by value hash with its user fetched in the same statement.
+     */
+    @EntityGraph(attributePaths = "user")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    List<RefreshToken> findByFamilyId(String familyId);
+
+    /**
+     * Revokes the token only if it is still usable, so of two concurrent refreshes
+     * with the same token exactly one sees 1.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("update RefreshToken t set t.revokedAt = :now where t.id = :id and t.revokedAt is null")
+    int claim(Long id, Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update RefreshToken t set t.revokedAt = :now where t.user.id = :userId and t.revokedAt is null")
+    int revokeAllForUser(Long userId, Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshToken t where t.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
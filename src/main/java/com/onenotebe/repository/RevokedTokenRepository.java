@@ -0,0 +1,34 @@
+package com.onenotebe.repository;
+
+import com.onenotebe.model.RevokedToken;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    /**
+     * Revocations recorded since {@code since} that are still in force.
+     */
+    @Query("""
+            select new com.onenotebe.repository.RevokedTokenRepository$RevocationRow(t.tokenId, t.expiresAt)
+            from RevokedToken t
+            where t.createdAt >= :since and t.expiresAt > :now
+            """)
+    List<RevocationRow> findActiveSince(Instant since, Instant now);
+
+    boolean existsByTokenId(String tokenId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(Instant now);
+
+    record RevocationRow(String tokenId, Instant expiresAt) {
+    }
+}
@@ -1,14 +1,40 @@
 package com.onenotebe.repository;
 
 import com.onenotebe.model.User;
+import java.util.Collection;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+    List<User> findByUsernameIn(Collection<String> usernames);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("select u.username from User u")
+    List<String> findAllUsernames();
+
+    @Query("select u.username from User u where u.createdAt >= :since")
+    List<String> findUsernamesCreatedSince(Instant since);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(Long id);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(Long id);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(String username, String password);
 }
\ No newline at end of file
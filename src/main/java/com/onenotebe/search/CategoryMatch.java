@@ -0,0 +1,11 @@
+package com.onenotebe.search;
+
+/**
+ * How a multi-category filter combines its categories.
+ */
+public enum CategoryMatch {
+    /** Posts in every listed category (intersection). */
+    ALL,
+    /** Posts in at least one listed category (union). */
+    ANY
+}
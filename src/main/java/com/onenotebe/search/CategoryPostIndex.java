@@ -0,0 +1,299 @@
+package com.onenotebe.search;
+
+import com.onenotebe.dto.CategoryDto;
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.event.PostsImportedEvent;
+import com.onenotebe.repository.CategoryRepository;
+import com.onenotebe.repository.PostRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Compressed bitmap of post ids per category, so category listings and AND/OR
+ * filters never join {@code post_categories}. Pages follow the main listing order,
+ * {@code (createdAt desc, id desc)}: a sorted {@link ListingOrder} of every post is
+ * scanned from the cursor and filtered through the (combined) bitmap, so posts
+ * imported with historical dates land where they do in the main listing. When the
+ * members are too sparse for the scan to fill a page quickly, the members' listing
+ * positions are looked up and sorted instead, so no page costs more than about
+ * {@code O(members log posts)}. Only the ids of one page go to the database.
+ *
+ * <p>Bitmaps are copy-on-write: a post change clones and swaps only the bitmaps
+ * whose membership changed, so readers never lock and never see a half-applied
+ * update. Built at startup and maintained from post and category events after commit.
+ * The cardinality of each bitmap doubles as the materialized post count of its
+ * category; {@link #reconcile()} periodically repairs any drift from the database.
+ */
+@Component
+@Slf4j
+public class CategoryPostIndex {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+    /** Listing steps scanned per category member before switching to ordering the members. */
+    private static final int SCAN_STEPS_PER_MEMBER = 32;
+
+    private final PostRepository postRepository;
+    private final CategoryRepository categoryRepository;
+    private final Map<Long, RoaringBitmap> postsByCategory = new ConcurrentHashMap<>();
+    private final Map<String, Long> categoryIdsBySlug = new ConcurrentHashMap<>();
+    // Write sequence stamped on every category a post change touches, so reconciliation
+    // can tell which categories changed while it was reading the database
+    private final Map<Long, Long> lastWrite = new ConcurrentHashMap<>();
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile ListingOrder listing = ListingOrder.EMPTY;
+
+    public CategoryPostIndex(PostRepository postRepository, CategoryRepository categoryRepository) {
+        this.postRepository = postRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        var bitmaps = new HashMap<Long, RoaringBitmap>();
+        categoryRepository.findAll().forEach(category -> {
+            categoryIdsBySlug.put(category.getSlug(), category.getId());
+            bitmaps.put(category.getId(), new RoaringBitmap());
+        });
+        try (var rows = postRepository.streamCategoryLinks()) {
+            rows.forEach(row -> bitmaps.computeIfAbsent(row.categoryId(), id -> new RoaringBitmap())
+                    .add(toInt(row.postId())));
+        }
+        bitmaps.values().forEach(RoaringBitmap::runOptimize);
+        postsByCategory.putAll(bitmaps);
+        listing = readListing();
+        log.info("Category post index loaded [categories={}, posts={}, bytes={}]", bitmaps.size(), listing.size(),
+                bitmaps.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum());
+    }
+
+    /** Id of the category with this slug, or null if unknown. */
+    public Long categoryId(String slug) {
+        return categoryIdsBySlug.get(slug);
+    }
+
+    /** Number of posts in the category; 0 when unknown. */
+    public int postCount(Long categoryId) {
+        return postsByCategory.getOrDefault(categoryId, EMPTY).getCardinality();
+    }
+
+    /**
+     * Rebuilds the bitmaps and the listing order from the database and swaps in those
+     * that drifted; also picks up bulk imports, which bypass post events. The
+     * database is read without holding the write lock, so listings and writes proceed
+     * meanwhile; categories written during the read are left alone until the next run,
+     * and the listing order is read again under the lock if any post changed.
+     *
+     * @return number of categories whose bitmap was corrected
+     */
+    @EventListener(PostsImportedEvent.class)
+    @Scheduled(fixedDelayString = "${app.categories.reconcile-interval:PT15M}",
+            initialDelayString = "${app.categories.reconcile-interval:PT15M}")
+    @Transactional(readOnly = true)
+    public int reconcile() {
+        long started = writeSequence.get();
+        var fresh = new HashMap<Long, RoaringBitmap>();
+        categoryRepository.findAll().forEach(category -> fresh.put(category.getId(), new RoaringBitmap()));
+        try (var rows = postRepository.streamCategoryLinks()) {
+            rows.forEach(row -> {
+                var bitmap = fresh.get(row.categoryId());
+                if (bitmap != null) {
+                    bitmap.add(toInt(row.postId()));
+                }
+            });
+        }
+        var freshListing = readListing();
+        int corrected = 0;
+        writeLock.lock();
+        try {
+            // Every post is listed, so a stale order would hide posts; re-read the few times writes interleave
+            listing = writeSequence.get() == started ? freshListing : readListing();
+            for (var entry : fresh.entrySet()) {
+                var categoryId = entry.getKey();
+                if (lastWrite.getOrDefault(categoryId, 0L) > started) {
+                    continue;
+                }
+                var current = postsByCategory.get(categoryId);
+                if (current == null || !current.equals(entry.getValue())) {
+                    log.info("Category post index resynced [categoryId={}, indexed={}, stored={}]",
+                            categoryId, current == null ? 0 : current.getCardinality(),
+                            entry.getValue().getCardinality());
+                    entry.getValue().runOptimize();
+                    postsByCategory.put(categoryId, entry.getValue());
+                    corrected++;
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Category post index reconciled [categories={}, corrected={}]", fresh.size(), corrected);
+        return corrected;
+    }
+
+    /**
+     * Up to {@code limit} posts listed after {@code after} (from the newest when
+     * null), newest first, in all ({@link CategoryMatch#ALL}) or any
+     * ({@link CategoryMatch#ANY}) of the categories. Unknown category ids count as empty.
+     */
+    public List<Position> page(List<Long> categoryIds, CategoryMatch match, Position after, int limit) {
+        var bitmap = combine(categoryIds, match);
+        if (bitmap.isEmpty()) {
+            return List.of();
+        }
+        var order = listing;
+        int start = after == null ? 0 : order.indexAfter(after.createdAt(), after.id());
+        // A scan finds a member every size/cardinality steps; past what ordering the members costs, order them
+        long budget = (long) bitmap.getCardinality() * SCAN_STEPS_PER_MEMBER;
+        int end = (int) Math.min(order.size(), start + budget);
+        var page = new ArrayList<Position>(limit);
+        int i = start;
+        for (; i < end && page.size() < limit; i++) {
+            if (bitmap.contains(order.id(i))) {
+                page.add(new Position(order.createdAt(i), order.id(i)));
+            }
+        }
+        if (page.size() == limit || i == order.size()) {
+            return page;
+        }
+        return pageOfMembers(bitmap, order, start, limit);
+    }
+
+    // Sparse categories: look up each member's listing position instead of walking the whole listing
+    private static List<Position> pageOfMembers(RoaringBitmap bitmap, ListingOrder order, int start, int limit) {
+        var positions = new int[bitmap.getCardinality()];
+        int count = 0;
+        for (var it = bitmap.getIntIterator(); it.hasNext(); ) {
+            int position = order.positionOf(it.next());
+            if (position >= start) {
+                positions[count++] = position;
+            }
+        }
+        Arrays.sort(positions, 0, count);
+        var page = new ArrayList<Position>(Math.min(limit, count));
+        for (int i = 0; i < count && page.size() < limit; i++) {
+            page.add(new Position(order.createdAt(positions[i]), order.id(positions[i])));
+        }
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        int postId = toInt(event.postId());
+        Set<Long> wanted = event.post() == null || event.post().categories() == null
+                ? Set.of()
+                : event.post().categories().stream().map(CategoryDto::id).collect(Collectors.toSet());
+        writeLock.lock();
+        try {
+            var post = event.post();
+            if (post == null) {
+                listing = listing.without(postId);
+            } else if (post.createdAt() != null) {
+                listing = listing.with(postId, post.createdAt());
+            }
+            var changed = new ArrayList<Long>();
+            postsByCategory.forEach((categoryId, bitmap) -> {
+                if (bitmap.contains(postId) != wanted.contains(categoryId)) {
+                    changed.add(categoryId);
+                }
+            });
+            wanted.stream().filter(id -> !postsByCategory.containsKey(id)).forEach(changed::add);
+            long sequence = writeSequence.incrementAndGet();
+            for (var categoryId : changed) {
+                var copy = postsByCategory.getOrDefault(categoryId, EMPTY).clone();
+                if (wanted.contains(categoryId)) {
+                    copy.add(postId);
+                } else {
+                    copy.remove(postId);
+                }
+                postsByCategory.put(categoryId, copy);
+                lastWrite.put(categoryId, sequence);
+            }
+            log.debug("Category post index updated [type={}, id={}, changedCategories={}]",
+                    event.type(), event.postId(), changed.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        writeLock.lock();
+        try {
+            categoryIdsBySlug.values().remove(event.categoryId());
+            var category = event.category();
+            if (category == null) {
+                postsByCategory.remove(event.categoryId());
+                lastWrite.remove(event.categoryId());
+            } else {
+                categoryIdsBySlug.put(category.slug(), category.id());
+                postsByCategory.putIfAbsent(category.id(), new RoaringBitmap());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private RoaringBitmap combine(List<Long> categoryIds, CategoryMatch match) {
+        if (categoryIds.size() == 1) {
+            return postsByCategory.getOrDefault(categoryIds.get(0), EMPTY);
+        }
+        var bitmaps = new ArrayList<RoaringBitmap>(categoryIds.size());
+        for (var categoryId : categoryIds) {
+            var bitmap = postsByCategory.get(categoryId);
+            if (bitmap == null && match == CategoryMatch.ALL) {
+                return EMPTY;
+            }
+            if (bitmap != null) {
+                bitmaps.add(bitmap);
+            }
+        }
+        if (bitmaps.isEmpty()) {
+            return EMPTY;
+        }
+        return match == CategoryMatch.ALL
+                ? FastAggregation.and(bitmaps.iterator())
+                : FastAggregation.or(bitmaps.iterator());
+    }
+
+    private ListingOrder readListing() {
+        List<PostRepository.ListingKeyRow> rows;
+        try (var stream = postRepository.streamListingKeys()) {
+            rows = stream.toList();
+        }
+        var createdAt = new long[rows.size()];
+        var ids = new int[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            createdAt[i] = ListingOrder.toEpochNanos(rows.get(i).createdAt());
+            ids[i] = toInt(rows.get(i).id());
+        }
+        return ListingOrder.of(createdAt, ids);
+    }
+
+    /** A post's place in the listing order; also the keyset cursor of category pages. */
+    public record Position(Instant createdAt, long id) {
+    }
+
+    // Post ids come from a database sequence and stay far below 2^31 for a blog
+    private static int toInt(Long postId) {
+        return Math.toIntExact(postId);
+    }
+}
@@ -0,0 +1,176 @@
+package com.onenotebe.search;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Every post id sorted by {@code (createdAt desc, id desc)}, the order of the main
+ * post listing, in two parallel primitive arrays, plus the ids in ascending order
+ * with their position in the listing (20 bytes per post in all). The second pair
+ * turns a post id into its listing position with a binary search, so a small set of
+ * posts can be ordered without scanning the listing. Immutable: {@link #with} and
+ * {@link #without} return a copy, so readers scan a stable snapshot without locking
+ * while post writes, which are rare, pay for the copy.
+ */
+final class ListingOrder {
+
+    static final ListingOrder EMPTY = new ListingOrder(new long[0], new int[0], new int[0], new int[0]);
+
+    private final long[] createdAt;
+    private final int[] ids;
+    private final int[] ascendingIds;
+    private final int[] positions;
+
+    private ListingOrder(long[] createdAt, int[] ids, int[] ascendingIds, int[] positions) {
+        this.createdAt = createdAt;
+        this.ids = ids;
+        this.ascendingIds = ascendingIds;
+        this.positions = positions;
+    }
+
+    /**
+     * Sorts the given keys; {@code createdAt[i]} (epoch nanoseconds) belongs to {@code ids[i]}.
+     */
+    static ListingOrder of(long[] createdAt, int[] ids) {
+        var order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(createdAt[b], ids[b], createdAt[a], ids[a]));
+        var sortedCreatedAt = new long[ids.length];
+        var sortedIds = new int[ids.length];
+        // Ids are non-negative, so (id, position) pairs packed into longs sort by id
+        var byId = new long[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedCreatedAt[i] = createdAt[order[i]];
+            sortedIds[i] = ids[order[i]];
+            byId[i] = (long) sortedIds[i] << 32 | i;
+        }
+        Arrays.sort(byId);
+        var ascendingIds = new int[ids.length];
+        var positions = new int[ids.length];
+        for (int i = 0; i < byId.length; i++) {
+            ascendingIds[i] = (int) (byId[i] >>> 32);
+            positions[i] = (int) byId[i];
+        }
+        return new ListingOrder(sortedCreatedAt, sortedIds, ascendingIds, positions);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    int id(int index) {
+        return ids[index];
+    }
+
+    Instant createdAt(int index) {
+        return fromEpochNanos(createdAt[index]);
+    }
+
+    /** Listing position of the post, or -1 if it is not listed. */
+    int positionOf(int id) {
+        int slot = Arrays.binarySearch(ascendingIds, id);
+        return slot < 0 ? -1 : positions[slot];
+    }
+
+    /** Index of the first post listed after the given position. */
+    int indexAfter(Instant afterCreatedAt, long afterId) {
+        long nanos = toEpochNanos(afterCreatedAt);
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(createdAt[mid], ids[mid], nanos, afterId) >= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** This order with the post added; unchanged if it is already listed at that position. */
+    ListingOrder with(int id, Instant postCreatedAt) {
+        long nanos = toEpochNanos(postCreatedAt);
+        int current = positionOf(id);
+        if (current >= 0 && createdAt[current] == nanos) {
+            return this;
+        }
+        var base = current >= 0 ? without(id) : this;
+        int index = base.indexAfter(postCreatedAt, id);
+        int length = base.ids.length;
+        var newCreatedAt = new long[length + 1];
+        var newIds = new int[length + 1];
+        System.arraycopy(base.createdAt, 0, newCreatedAt, 0, index);
+        System.arraycopy(base.ids, 0, newIds, 0, index);
+        newCreatedAt[index] = nanos;
+        newIds[index] = id;
+        System.arraycopy(base.createdAt, index, newCreatedAt, index + 1, length - index);
+        System.arraycopy(base.ids, index, newIds, index + 1, length - index);
+
+        int slot = -Arrays.binarySearch(base.ascendingIds, id) - 1;
+        var newAscendingIds = new int[length + 1];
+        var newPositions = new int[length + 1];
+        System.arraycopy(base.ascendingIds, 0, newAscendingIds, 0, slot);
+        newAscendingIds[slot] = id;
+        System.arraycopy(base.ascendingIds, slot, newAscendingIds, slot + 1, length - slot);
+        for (int i = 0, j = 0; i <= length; i++) {
+            if (i == slot) {
+                newPositions[i] = index;
+                continue;
+            }
+            int position = base.positions[j++];
+            newPositions[i] = position >= index ? position + 1 : position;
+        }
+        return new ListingOrder(newCreatedAt, newIds, newAscendingIds, newPositions);
+    }
+
+    /** This order without the post; unchanged if it is not listed. */
+    ListingOrder without(int id) {
+        int slot = Arrays.binarySearch(ascendingIds, id);
+        if (slot < 0) {
+            return this;
+        }
+        int index = positions[slot];
+        int length = ids.length - 1;
+        var newCreatedAt = new long[length];
+        var newIds = new int[length];
+        System.arraycopy(createdAt, 0, newCreatedAt, 0, index);
+        System.arraycopy(ids, 0, newIds, 0, index);
+        System.arraycopy(createdAt, index + 1, newCreatedAt, index, length - index);
+        System.arraycopy(ids, index + 1, newIds, index, length - index);
+
+        var newAscendingIds = new int[length];
+        var newPositions = new int[length];
+        System.arraycopy(ascendingIds, 0, newAscendingIds, 0, slot);
+        System.arraycopy(ascendingIds, slot + 1, newAscendingIds, slot, length - slot);
+        for (int i = 0, j = 0; j <= length; j++) {
+            if (j == slot) {
+                continue;
+            }
+            int position = positions[j];
+            newPositions[i++] = position > index ? position - 1 : position;
+        }
+        return new ListingOrder(newCreatedAt, newIds, newAscendingIds, newPositions);
+    }
+
+    boolean contains(int id) {
+        return Arrays.binarySearch(ascendingIds, id) >= 0;
+    }
+
+    /** Positive when (createdAt1, id1) is newer than (createdAt2, id2). */
+    private static int compare(long createdAt1, long id1, long createdAt2, long id2) {
+        int byTime = Long.compare(createdAt1, createdAt2);
+        return byTime != 0 ? byTime : Long.compare(id1, id2);
+    }
+
+    // Full precision, so category pages order ties exactly like the database listing
+    static long toEpochNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+
+    private static Instant fromEpochNanos(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+}
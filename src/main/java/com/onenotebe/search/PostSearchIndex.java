@@ -0,0 +1,327 @@
+package com.onenotebe.search;
+
+import com.onenotebe.config.SearchProperties;
+import com.onenotebe.dto.CursorPage;
+import com.onenotebe.dto.PostSummaryDto;
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.event.PostsImportedEvent;
+import com.onenotebe.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Embedded full-text index over post titles and content, backed by Lucene.
+ * Text is analyzed once at write time into an inverted index; queries are
+ * scored with BM25 and walked with a (score, id) cursor, so search never scans
+ * the posts table. The index is maintained from post mutation events after commit and
+ * records the latest post modification time it has seen in its commit data. At startup,
+ * after bulk imports and on a schedule it is rebuilt when its document count or that
+ * watermark is behind the database, which repairs edits made on other nodes, or when
+ * an incremental update failed.
+ */
+@Component
+@Slf4j
+public class PostSearchIndex {
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_ID_SORT = "id_sort";
+    static final String FIELD_TITLE = "title";
+    static final String FIELD_CONTENT = "content";
+    static final String FIELD_SLUG = "slug";
+    static final String FIELD_CREATED_AT = "createdAt";
+    static final String FIELD_FEATURED_IMAGE_URL = "featuredImageUrl";
+    static final String COMMIT_WATERMARK = "maxUpdatedAtMicros";
+
+    /**
+     * Operators anonymous callers may use. Wildcards, fuzzy terms, regular expressions
+     * and field prefixes stay off: they expand into huge automata or clause lists and
+     * would make a single request arbitrarily expensive.
+     */
+    private static final int QUERY_OPERATORS = SimpleQueryParser.PHRASE_OPERATOR
+            | SimpleQueryParser.AND_OPERATOR
+            | SimpleQueryParser.OR_OPERATOR
+            | SimpleQueryParser.NOT_OPERATOR
+            | SimpleQueryParser.WHITESPACE_OPERATOR;
+
+    private static final Sort RELEVANCE = new Sort(
+            SortField.FIELD_SCORE, new SortField(FIELD_ID_SORT, SortField.Type.LONG, true));
+
+    private final PostRepository postRepository;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Map<String, Float> boosts;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    // Serializes rebuilds with incremental updates, which would otherwise re-add deleted documents
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private long watermark;
+    private volatile boolean dirty;
+
+    public PostSearchIndex(PostRepository postRepository, SearchProperties properties) throws IOException {
+        this.postRepository = postRepository;
+        this.boosts = Map.of(FIELD_TITLE, properties.getTitleBoost(), FIELD_CONTENT, 1.0f);
+        if (properties.isInMemory()) {
+            this.directory = new ByteBuffersDirectory();
+        } else {
+            Files.createDirectories(properties.getIndexDirectory());
+            this.directory = FSDirectory.open(properties.getIndexDirectory());
+        }
+        var config = new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+        var commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (var entry : commitData) {
+                if (COMMIT_WATERMARK.equals(entry.getKey())) {
+                    this.watermark = Long.parseLong(entry.getValue());
+                }
+            }
+        }
+        log.info("Search index opened [directory={}, documents={}, watermark={}]",
+                directory, writer.getDocStats().numDocs, watermark);
+    }
+
+    /**
+     * Rebuilds the index from the database when an update failed, when the document
+     * count differs, or when a post was modified after the latest change the index saw.
+     */
+    @EventListener({ApplicationReadyEvent.class, PostsImportedEvent.class})
+    @Scheduled(fixedDelayString = "${app.search.reconcile-interval:PT5M}",
+            initialDelayString = "${app.search.reconcile-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void rebuildIfStale() throws IOException {
+        writeLock.lock();
+        try {
+            long indexed = writer.getDocStats().numDocs;
+            long stored = postRepository.count();
+            long latest = toEpochMicros(postRepository.findMaxUpdatedAt());
+            // Databases may round timestamps to the microsecond, so allow one microsecond of drift
+            if (!dirty && indexed == stored && latest <= watermark + 1) {
+                log.debug("Search index is current [documents={}, watermark={}]", indexed, watermark);
+                return;
+            }
+            log.info("Rebuilding search index [indexed={}, stored={}, watermark={}, latest={}, dirty={}]",
+                    indexed, stored, watermark, latest, dirty);
+            dirty = false;
+            writer.deleteAll();
+            try (var rows = postRepository.streamSearchRows()) {
+                for (var row : (Iterable<PostRepository.SearchRow>) rows::iterator) {
+                    writer.addDocument(toDocument(row.id(), row.title(), row.slug(), row.content(),
+                            row.createdAt(), row.featuredImageUrl()));
+                }
+            }
+            watermark = latest;
+            publish();
+            log.info("Search index rebuilt [documents={}]", writer.getDocStats().numDocs);
+        } catch (IOException | RuntimeException e) {
+            dirty = true;
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        var post = event.post();
+        writeLock.lock();
+        try {
+            var idTerm = new Term(FIELD_ID, Long.toString(event.postId()));
+            if (post == null) {
+                writer.deleteDocuments(idTerm);
+            } else {
+                writer.updateDocument(idTerm, toDocument(post.id(), post.title(), post.slug(), post.content(),
+                        post.createdAt(), post.featuredImageUrl()));
+                advanceWatermark(post.updatedAt());
+            }
+            publish();
+        } catch (IOException | RuntimeException e) {
+            // The index is derived data: a failed update must not fail the write that triggered it.
+            // The next reconciliation rebuilds it.
+            dirty = true;
+            log.warn("Unable to update search index, scheduling a rebuild [type={}, id={}]",
+                    event.type(), event.postId(), e);
+            return;
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Search index updated [type={}, id={}]", event.type(), event.postId());
+    }
+
+    /**
+     * Category names are not indexed, but renames and deletes touch their posts, which
+     * would otherwise look like edits the index has missed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.postIds().isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            advanceWatermark(event.postsUpdatedAt());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Whether an update failed and the index awaits a rebuild. */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Returns posts matching the query, best match first. The query supports quoted
+     * phrases, {@code |} for either term and {@code -} to exclude a term; any other
+     * character is searched literally. All terms are required by default.
+     */
+    public CursorPage<PostSummaryDto> search(String text, String cursor, int size) {
+        var query = parse(text);
+        var after = cursor == null || cursor.isBlank() ? null : toFieldDoc(SearchCursor.decode(cursor));
+        IndexSearcher searcher;
+        try {
+            searcher = searcherManager.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open search index", e);
+        }
+        try {
+            var top = searcher.searchAfter(after, query, size + 1, RELEVANCE, true);
+            var hits = top.scoreDocs;
+            var hasNext = hits.length > size;
+            var count = hasNext ? size : hits.length;
+            var storedFields = searcher.storedFields();
+            var items = new ArrayList<PostSummaryDto>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(toSummary(storedFields.document(hits[i].doc)));
+            }
+            String nextCursor = null;
+            if (hasNext) {
+                var last = (FieldDoc) hits[count - 1];
+                nextCursor = new SearchCursor((Float) last.fields[0], (Long) last.fields[1]).encode();
+            }
+            log.debug("Search executed [query={}, hits={}, totalHits={}]", query, items.size(), top.totalHits);
+            return new CursorPage<>(items, nextCursor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to search index", e);
+        } finally {
+            release(searcher);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    private Query parse(String text) {
+        var parser = new SimpleQueryParser(analyzer, boosts, QUERY_OPERATORS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        var query = parser.parse(text);
+        // Input made only of operators or stop words parses to nothing
+        return query == null ? new MatchNoDocsQuery() : query;
+    }
+
+    private void advanceWatermark(Instant updatedAt) {
+        watermark = Math.max(watermark, toEpochMicros(updatedAt));
+    }
+
+    private void publish() throws IOException {
+        writer.setLiveCommitData(Map.of(COMMIT_WATERMARK, Long.toString(watermark)).entrySet());
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private void release(IndexSearcher searcher) {
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Unable to release index searcher", e);
+        }
+    }
+
+    private static FieldDoc toFieldDoc(SearchCursor cursor) {
+        // Ties on (score, id) cannot occur, so the doc id component of the cursor is irrelevant
+        return new FieldDoc(Integer.MAX_VALUE, cursor.score(), new Object[]{cursor.score(), cursor.postId()});
+    }
+
+    private static Document toDocument(Long id, String title, String slug, String content,
+                                       Instant createdAt, String featuredImageUrl) {
+        var document = new Document();
+        document.add(new StringField(FIELD_ID, Long.toString(id), Field.Store.YES));
+        document.add(new NumericDocValuesField(FIELD_ID_SORT, id));
+        document.add(new TextField(FIELD_TITLE, title, Field.Store.YES));
+        document.add(new TextField(FIELD_CONTENT, content == null ? "" : content, Field.Store.NO));
+        document.add(new StoredField(FIELD_SLUG, slug));
+        if (createdAt != null) {
+            document.add(new StoredField(FIELD_CREATED_AT, toEpochNanos(createdAt)));
+        }
+        if (featuredImageUrl != null) {
+            document.add(new StoredField(FIELD_FEATURED_IMAGE_URL, featuredImageUrl));
+        }
+        return document;
+    }
+
+    private static PostSummaryDto toSummary(Document document) {
+        var createdAt = document.getField(FIELD_CREATED_AT);
+        return new PostSummaryDto(
+                Long.valueOf(document.get(FIELD_ID)),
+                document.get(FIELD_TITLE),
+                document.get(FIELD_SLUG),
+                createdAt == null ? null : fromEpochNanos(createdAt.numericValue().longValue()),
+                document.get(FIELD_FEATURED_IMAGE_URL));
+    }
+
+    // Stored at full precision so search results match the listing endpoints exactly
+    private static long toEpochNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+    }
+
+    private static long toEpochMicros(Instant instant) {
+        return instant == null ? 0 : Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L),
+                instant.getNano() / 1_000);
+    }
+
+    private static Instant fromEpochNanos(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L), Math.floorMod(nanos, 1_000_000_000L));
+    }
+}
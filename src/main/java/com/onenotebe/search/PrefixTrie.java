@@ -0,0 +1,287 @@
+package com.onenotebe.search;
+
+import com.onenotebe.dto.SuggestionDto;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix index answering "best k suggestions starting with this prefix".
+ *
+ * <p>Every label is indexed from its start and from the start of each later word,
+ * so "spring" finds "Getting started with Spring". Keys are lower-cased and runs of
+ * non-alphanumeric characters collapse to one space. The best {@code topK} results
+ * of every node are ranked once at build time, so a lookup is a walk of at most
+ * {@code maxDepth} nodes followed by returning a view over a precomputed slice;
+ * characters past {@code maxDepth} are ignored.
+ *
+ * <p>Nodes are laid out breadth-first in parallel primitive arrays with the
+ * children of a node stored contiguously and sorted by character, so each step
+ * is a binary search and the structure holds no per-node objects. The ranks of the
+ * ranked suggestions are kept alongside, so results of several tries can be merged.
+ */
+public final class PrefixTrie {
+
+    private static final char SEPARATOR = ' ';
+
+    private final char[] labels;
+    private final int[] childStart;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final byte[] topCount;
+    private final SuggestionDto[] top;
+    private final long[] topRanks;
+    private final int maxDepth;
+
+    private PrefixTrie(char[] labels, int[] childStart, int[] childCount, int[] topStart, byte[] topCount,
+                       SuggestionDto[] top, long[] topRanks, int maxDepth) {
+        this.labels = labels;
+        this.childStart = childStart;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topCount = topCount;
+        this.top = top;
+        this.topRanks = topRanks;
+        this.maxDepth = maxDepth;
+    }
+
+    public static Builder builder(int topK, int maxDepth) {
+        return new Builder(topK, maxDepth);
+    }
+
+    public static PrefixTrie empty() {
+        return builder(1, 1).build();
+    }
+
+    /**
+     * Best suggestions for the prefix, highest rank first. The returned list is a
+     * read-only view over the trie and is the only allocation of a lookup.
+     */
+    public List<SuggestionDto> lookup(CharSequence prefix, int limit) {
+        int node = find(prefix);
+        return node < 0 ? List.of() : new Slice(top, topStart[node], Math.min(topCount[node], limit));
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    /** Node the prefix leads to, or -1 when the prefix is blank or nothing is indexed under it. */
+    int find(CharSequence prefix) {
+        int node = 0;
+        int depth = 0;
+        boolean pendingSeparator = false;
+        for (int i = 0; i < prefix.length() && depth < maxDepth; i++) {
+            char c = normalize(prefix.charAt(i));
+            if (c == SEPARATOR) {
+                // Only walk a separator once a word follows it, so "spring " still matches "Spring"
+                pendingSeparator = depth > 0;
+                continue;
+            }
+            if (pendingSeparator) {
+                node = child(node, SEPARATOR);
+                if (node < 0 || ++depth == maxDepth) {
+                    break;
+                }
+                pendingSeparator = false;
+            }
+            node = child(node, c);
+            if (node < 0) {
+                return -1;
+            }
+            depth++;
+        }
+        return node < 0 || depth == 0 ? -1 : node;
+    }
+
+    /** Number of ranked suggestions of the node, highest rank first; 0 for -1. */
+    int rankedCount(int node) {
+        return node < 0 ? 0 : topCount[node];
+    }
+
+    SuggestionDto suggestion(int node, int index) {
+        return top[topStart[node] + index];
+    }
+
+    long rank(int node, int index) {
+        return topRanks[topStart[node] + index];
+    }
+
+    private int child(int node, char c) {
+        int low = childStart[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    static char normalize(char c) {
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : SEPARATOR;
+    }
+
+    /**
+     * Collects ranked suggestions into a mutable trie and freezes it. Not thread-safe;
+     * build a fresh instance for every snapshot.
+     */
+    public static final class Builder {
+
+        private final int topK;
+        private final int maxDepth;
+        private final Node root = new Node(SEPARATOR);
+        private int nodes = 1;
+
+        private Builder(int topK, int maxDepth) {
+            if (topK < 1 || topK > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("topK must be between 1 and " + Byte.MAX_VALUE);
+            }
+            this.topK = topK;
+            this.maxDepth = maxDepth;
+        }
+
+        /** Indexes a suggestion under every word start of each label; higher rank wins. */
+        public Builder add(SuggestionDto suggestion, long rank, String... labels) {
+            var candidate = new Candidate(suggestion, rank);
+            for (var label : labels) {
+                if (label == null) {
+                    continue;
+                }
+                var key = normalizeKey(label);
+                for (int start = 0; start < key.length(); start++) {
+                    if (start == 0 || key.charAt(start - 1) == SEPARATOR) {
+                        insert(key, start, candidate);
+                    }
+                }
+            }
+            return this;
+        }
+
+        public PrefixTrie build() {
+            var labels = new char[nodes];
+            var childStart = new int[nodes];
+            var childCount = new int[nodes];
+            var topStart = new int[nodes];
+            var topCount = new byte[nodes];
+            var top = new ArrayList<Candidate>();
+            var queue = new ArrayDeque<Node>();
+            queue.add(root);
+            int index = 0;
+            int next = 1;
+            while (!queue.isEmpty()) {
+                var node = queue.poll();
+                labels[index] = node.label;
+                childStart[index] = next;
+                childCount[index] = node.children.size();
+                topStart[index] = top.size();
+                topCount[index] = (byte) node.best.size();
+                top.addAll(node.best);
+                // TreeMap iteration keeps siblings sorted, which the binary search in lookup relies on
+                queue.addAll(node.children.values());
+                next += node.children.size();
+                index++;
+            }
+            var suggestions = new SuggestionDto[top.size()];
+            var ranks = new long[top.size()];
+            for (int i = 0; i < suggestions.length; i++) {
+                suggestions[i] = top.get(i).suggestion();
+                ranks[i] = top.get(i).rank();
+            }
+            return new PrefixTrie(labels, childStart, childCount, topStart, topCount, suggestions, ranks, maxDepth);
+        }
+
+        private void insert(String key, int start, Candidate candidate) {
+            var node = root;
+            int end = Math.min(key.length(), start + maxDepth);
+            for (int i = start; i < end; i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), this::newNode);
+                node.offer(candidate, topK);
+            }
+        }
+
+        private Node newNode(char label) {
+            nodes++;
+            return new Node(label);
+        }
+
+        private static String normalizeKey(String label) {
+            var key = new StringBuilder(label.length());
+            for (int i = 0; i < label.length(); i++) {
+                char c = normalize(label.charAt(i));
+                if (c != SEPARATOR || (!key.isEmpty() && key.charAt(key.length() - 1) != SEPARATOR)) {
+                    key.append(c);
+                }
+            }
+            int length = key.length();
+            if (length > 0 && key.charAt(length - 1) == SEPARATOR) {
+                key.setLength(length - 1);
+            }
+            return key.toString();
+        }
+    }
+
+    private static final class Node {
+        private final char label;
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final List<Candidate> best = new ArrayList<>(2);
+
+        private Node(char label) {
+            this.label = label;
+        }
+
+        /** Keeps the k best distinct suggestions ordered by rank, highest first. */
+        private void offer(Candidate candidate, int k) {
+            if (best.contains(candidate)) {
+                return;
+            }
+            int position = best.size();
+            while (position > 0 && best.get(position - 1).rank() < candidate.rank()) {
+                position--;
+            }
+            if (position < k) {
+                best.add(position, candidate);
+                if (best.size() > k) {
+                    best.remove(k);
+                }
+            }
+        }
+    }
+
+    private record Candidate(SuggestionDto suggestion, long rank) {
+    }
+
+    private static final class Slice extends AbstractList<SuggestionDto> implements RandomAccess {
+        private final SuggestionDto[] items;
+        private final int offset;
+        private final int size;
+
+        private Slice(SuggestionDto[] items, int offset, int size) {
+            this.items = items;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public SuggestionDto get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return items[offset + index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
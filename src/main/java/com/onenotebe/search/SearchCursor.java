@@ -0,0 +1,37 @@
+package com.onenotebe.search;
+
+import com.onenotebe.exception.InvalidCursorException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Position in a search result list ordered by (score desc, post id desc).
+ * The score is carried as its exact float bits so paging never skips or repeats hits.
+ */
+record SearchCursor(float score, long postId) {
+
+    private static final int BYTES = Integer.BYTES + Long.BYTES;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    String encode() {
+        var buffer = ByteBuffer.allocate(BYTES)
+                .putInt(Float.floatToIntBits(score))
+                .putLong(postId);
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    static SearchCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (bytes.length != BYTES) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        var buffer = ByteBuffer.wrap(bytes);
+        return new SearchCursor(Float.intBitsToFloat(buffer.getInt()), buffer.getLong());
+    }
+}
@@ -0,0 +1,270 @@
+package com.onenotebe.search;
+
+import com.onenotebe.dto.CategoryDto;
+import com.onenotebe.dto.SuggestionDto;
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.event.PostsImportedEvent;
+import com.onenotebe.repository.CategoryRepository;
+import com.onenotebe.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Autocomplete over post titles and category names/slugs, served from immutable
+ * {@link PrefixTrie} snapshots. Posts rank by recency; categories rank above posts
+ * and among themselves by number of posts.
+ *
+ * <p>The source entries are loaded at startup and after bulk imports, and maintained
+ * from post and category events after commit on a background thread, bursts of
+ * changes coalesced into one pass. Building the post trie is linear in the corpus
+ * (about 0.8s for 10,000 and 10s for 100,000 titles on one core, see
+ * {@code SuggestionRebuildBenchmark}), so a post write does not rebuild it: changed
+ * posts go into a small trie of recent changes, merged by rank at lookup, and the
+ * entries they replace in the main trie are hidden. Main trie nodes rank
+ * {@value #SPARE} suggestions beyond {@link #TOP_K}, so results stay exact while at
+ * most that many entries are hidden; past that, or once {@value #MAX_RECENT} posts
+ * changed, the main trie is rebuilt. Categories are few and live in their own trie,
+ * rebuilt on every pass. Readers keep the previous snapshot until the next is published.
+ */
+@Component
+@Slf4j
+public class SuggestionIndex {
+
+    public static final int TOP_K = 10;
+    static final int SPARE = 16;
+    static final int MAX_RECENT = 256;
+    private static final int MAX_DEPTH = 32;
+
+    private final PostRepository postRepository;
+    private final CategoryRepository categoryRepository;
+    private final Map<Long, PostEntry> posts = new ConcurrentHashMap<>();
+    private final Map<Long, CategoryDto> categories = new ConcurrentHashMap<>();
+    private final Queue<Long> changedPosts = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("suggestion-index").daemon().factory());
+
+    // What the main post trie was built from and the changes since; guarded by this
+    private Map<Long, PostEntry> indexedPosts = Map.of();
+    private final Map<Long, PostEntry> recentPosts = new HashMap<>();
+    private final Set<SuggestionDto> hiddenPosts = new HashSet<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public SuggestionIndex(PostRepository postRepository, CategoryRepository categoryRepository) {
+        this.postRepository = postRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, PostsImportedEvent.class})
+    @Transactional(readOnly = true)
+    public void load() {
+        var links = new HashMap<Long, List<Long>>();
+        try (var rows = postRepository.streamCategoryLinks()) {
+            rows.forEach(row -> links.computeIfAbsent(row.postId(), id -> new ArrayList<>())
+                    .add(row.categoryId()));
+        }
+        try (var rows = postRepository.streamTitles()) {
+            rows.forEach(row -> posts.put(row.id(), PostEntry.of(row.title(), row.slug(), row.createdAt(),
+                    links.getOrDefault(row.id(), List.of()))));
+        }
+        categoryRepository.findAll().forEach(category -> categories.put(category.getId(),
+                new CategoryDto(category.getId(), category.getName(), category.getSlug(), null)));
+        synchronized (this) {
+            changedPosts.clear();
+            rebuildPosts();
+            publish();
+        }
+        log.info("Suggestion index loaded [posts={}, categories={}, nodes={}]",
+                posts.size(), categories.size(), snapshot.posts().nodeCount());
+    }
+
+    /** Best suggestions for what the user typed so far; empty for a blank prefix. */
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        var current = snapshot;
+        int capped = Math.min(limit, TOP_K);
+        var categoryHits = current.categories().lookup(prefix, capped);
+        if (categoryHits.isEmpty() && current.recentPosts() == null) {
+            return current.posts().lookup(prefix, capped);
+        }
+        if (categoryHits.size() == capped) {
+            return categoryHits;
+        }
+        // Categories outrank every post, so they come first
+        var results = new ArrayList<SuggestionDto>(capped);
+        results.addAll(categoryHits);
+        mergePosts(current, prefix, capped, results);
+        return results;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        var post = event.post();
+        if (post == null) {
+            posts.remove(event.postId());
+        } else {
+            var categoryIds = post.categories() == null
+                    ? List.<Long>of()
+                    : post.categories().stream().map(CategoryDto::id).toList();
+            posts.put(post.id(), PostEntry.of(post.title(), post.slug(), post.createdAt(), categoryIds));
+        }
+        changedPosts.add(event.postId());
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        var category = event.category();
+        if (category == null) {
+            categories.remove(event.categoryId());
+        } else {
+            categories.put(category.id(), category);
+        }
+        scheduleRebuild();
+    }
+
+    /** Blocks until every change received so far is published. */
+    void awaitPublished() throws InterruptedException, ExecutionException {
+        // Single-threaded: this no-op runs after any pass already scheduled
+        rebuilder.submit(() -> {
+        }).get();
+    }
+
+    @PreDestroy
+    public void close() {
+        rebuilder.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                // Cleared before draining, so a change racing with this pass schedules another
+                rebuildPending.set(false);
+                applyChanges();
+            });
+        }
+    }
+
+    private synchronized void applyChanges() {
+        long started = System.nanoTime();
+        Long id;
+        while ((id = changedPosts.poll()) != null) {
+            var current = posts.get(id);
+            var indexed = indexedPosts.get(id);
+            if (sameRanking(current, indexed)) {
+                recentPosts.remove(id);
+                if (indexed != null) {
+                    hiddenPosts.remove(indexed.suggestion());
+                }
+                continue;
+            }
+            if (indexed != null) {
+                hiddenPosts.add(indexed.suggestion());
+            }
+            if (current == null) {
+                recentPosts.remove(id);
+            } else {
+                recentPosts.put(id, current);
+            }
+        }
+        if (hiddenPosts.size() > SPARE || recentPosts.size() > MAX_RECENT) {
+            rebuildPosts();
+        }
+        publish();
+        log.debug("Suggestion index updated [recentPosts={}, hiddenPosts={}, elapsedMs={}]",
+                recentPosts.size(), hiddenPosts.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void rebuildPosts() {
+        long started = System.nanoTime();
+        var entries = Map.copyOf(posts);
+        var builder = PrefixTrie.builder(TOP_K + SPARE, MAX_DEPTH);
+        entries.values().forEach(post -> builder.add(post.suggestion(), post.rank(), post.suggestion().label()));
+        snapshot = new Snapshot(snapshot.categories(), builder.build(), null, Set.of());
+        indexedPosts = entries;
+        recentPosts.clear();
+        hiddenPosts.clear();
+        log.debug("Suggestion post trie rebuilt [nodes={}, elapsedMs={}]",
+                snapshot.posts().nodeCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void publish() {
+        var postCounts = new HashMap<Long, Integer>();
+        posts.values().forEach(post -> post.categoryIds().forEach(id -> postCounts.merge(id, 1, Integer::sum)));
+        var categoryTrie = PrefixTrie.builder(TOP_K, MAX_DEPTH);
+        categories.values().forEach(category -> categoryTrie.add(
+                new SuggestionDto(SuggestionDto.Type.CATEGORY, category.name(), category.slug()),
+                postCounts.getOrDefault(category.id(), 0), category.name(), category.slug()));
+        PrefixTrie recent = null;
+        if (!recentPosts.isEmpty() || !hiddenPosts.isEmpty()) {
+            var builder = PrefixTrie.builder(TOP_K, MAX_DEPTH);
+            recentPosts.values().forEach(post -> builder.add(post.suggestion(), post.rank(), post.suggestion().label()));
+            recent = builder.build();
+        }
+        snapshot = new Snapshot(categoryTrie.build(), snapshot.posts(), recent, Set.copyOf(hiddenPosts));
+    }
+
+    // Category links only feed the category counts, which are recomputed on every pass
+    private static boolean sameRanking(PostEntry a, PostEntry b) {
+        return a == null ? b == null : b != null && a.suggestion().equals(b.suggestion()) && a.rank() == b.rank();
+    }
+
+    /** Appends posts from the main and recent tries, highest rank first, skipping hidden entries. */
+    private static void mergePosts(Snapshot current, String prefix, int limit, List<SuggestionDto> results) {
+        var main = current.posts();
+        var recent = current.recentPosts() == null ? PrefixTrie.empty() : current.recentPosts();
+        int mainNode = main.find(prefix);
+        int recentNode = recent.find(prefix);
+        int mainCount = main.rankedCount(mainNode);
+        int recentCount = recent.rankedCount(recentNode);
+        int i = 0;
+        int j = 0;
+        while (results.size() < limit && (i < mainCount || j < recentCount)) {
+            if (i < mainCount && current.hiddenPosts().contains(main.suggestion(mainNode, i))) {
+                i++;
+            } else if (j < recentCount && (i == mainCount || recent.rank(recentNode, j) > main.rank(mainNode, i))) {
+                results.add(recent.suggestion(recentNode, j++));
+            } else {
+                results.add(main.suggestion(mainNode, i++));
+            }
+        }
+    }
+
+    /**
+     * Published state: categories, the main post trie and, while posts changed since it
+     * was built, the trie of changed posts plus the main trie entries they hide.
+     */
+    private record Snapshot(PrefixTrie categories, PrefixTrie posts, PrefixTrie recentPosts,
+                            Set<SuggestionDto> hiddenPosts) {
+
+        static final Snapshot EMPTY = new Snapshot(PrefixTrie.empty(), PrefixTrie.empty(), null, Set.of());
+    }
+
+    private record PostEntry(SuggestionDto suggestion, long rank, List<Long> categoryIds) {
+
+        static PostEntry of(String title, String slug, Instant createdAt, List<Long> categoryIds) {
+            return new PostEntry(new SuggestionDto(SuggestionDto.Type.POST, title, slug),
+                    createdAt == null ? 0 : createdAt.toEpochMilli(), categoryIds);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.onenotebe.security;
+
+import java.util.Collection;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * UserDetails loaded for password authentication, carrying the user id and token
+ * version so a JWT can be issued right after login without another lookup.
+ */
+@Getter
+public class AccountDetails extends User {
+
+    private final Long id;
+    private final int tokenVersion;
+
+    public AccountDetails(Long id, String username, String password, int tokenVersion,
+                          Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+        this.tokenVersion = tokenVersion;
+    }
+}
@@ -0,0 +1,83 @@
+package com.onenotebe.security;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder whose cost is either fixed or calibrated on the running host so
+ * one verification takes about a target time. A stored hash with a lower cost than
+ * the current one reports {@link #upgradeEncoding}, so the authentication provider
+ * rehashes it on the user's next successful login. Hashes with a higher cost are
+ * kept: a node that calibrated low on a busy host must not weaken them, and nodes
+ * with different calibrations must not rewrite the same hash back and forth. Pin
+ * {@code app.login.bcrypt-cost} when several nodes share the user table.
+ */
+@Slf4j
+public final class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+    private static final int MIN_COST = 4;
+    private static final int MAX_COST = 31;
+    private static final int SAMPLES = 3;
+
+    private final BCryptPasswordEncoder delegate;
+    private final int cost;
+
+    public AdaptiveBCryptPasswordEncoder(int cost) {
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.cost = cost;
+    }
+
+    /**
+     * Encoder using the highest cost in {@code [minCost, maxCost]} whose estimated
+     * verification time stays within {@code target}. Hashing time doubles with each
+     * cost step, so only {@code minCost} is measured (best of a few runs after a warm-up).
+     */
+    public static AdaptiveBCryptPasswordEncoder calibrated(Duration target, int minCost, int maxCost) {
+        int low = Math.max(MIN_COST, minCost);
+        int high = Math.max(low, Math.min(MAX_COST, maxCost));
+        var probe = new BCryptPasswordEncoder(low);
+        var hash = probe.encode("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            probe.matches("calibration", hash);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        int chosen = low;
+        long estimate = best;
+        while (chosen < high && estimate * 2 <= target.toNanos()) {
+            chosen++;
+            estimate *= 2;
+        }
+        log.info("BCrypt cost calibrated [cost={}, estimatedVerifyMs={}, targetMs={}]",
+                chosen, estimate / 1_000_000, target.toMillis());
+        return new AdaptiveBCryptPasswordEncoder(chosen);
+    }
+
+    public int cost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        var matcher = BCRYPT.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) < cost;
+    }
+}
@@ -0,0 +1,31 @@
+package com.onenotebe.security;
+
+import java.util.List;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Principal of a JWT-authenticated request, built from the token's claims alone.
+ *
+ * @param id       user id ({@code uid} claim), used for auditing
+ * @param username token subject
+ * @param role     granted role ({@code role} claim)
+ * @param token    the verified access token, kept so the request can revoke it (logout)
+ */
+public record AuthenticatedUser(Long id, String username, String role, VerifiedToken token)
+        implements AuthenticatedPrincipal {
+
+    public static AuthenticatedUser of(VerifiedToken token) {
+        return new AuthenticatedUser(token.userId(), token.username(), token.role(), token);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+}
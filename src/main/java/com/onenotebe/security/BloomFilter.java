@@ -0,0 +1,93 @@
+package com.onenotebe.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings: {@link #mightContain} never returns false
+ * for a value that was {@link #put}, and returns true for an absent value with about
+ * the configured false-positive rate while under the expected number of insertions.
+ *
+ * <p>Each value is hashed once to 64 bits; the probe positions are derived from the
+ * two halves by double hashing. Bits live in an {@link AtomicLongArray}, so
+ * concurrent puts and lookups need no lock.
+ */
+public final class BloomFilter {
+
+    // Probe positions are non-negative ints, so more bits than this would never be set
+    private static final long MAX_WORDS = 1L << 25;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int expectedInsertions;
+
+    private BloomFilter(long bitCount, int hashCount, int expectedInsertions) {
+        this.words = new AtomicLongArray((int) (bitCount >>> 6));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    /**
+     * Filter sized for {@code expectedInsertions} values at {@code falsePositiveRate}.
+     */
+    public static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double bits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long words = Math.max(1, Math.min((long) Math.ceil(bits / 64), MAX_WORDS));
+        long bitCount = words * 64;
+        int hashCount = (int) Math.max(1, Math.round((double) bitCount / n * Math.log(2)));
+        return new BloomFilter(bitCount, hashCount, n);
+    }
+
+    public int expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public void put(CharSequence value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.weakCompareAndSetVolatile(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(CharSequence value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    // FNV-1a over the chars, finished with the MurmurHash3 fmix64 avalanche
+    private static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -6,13 +6,18 @@ import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+/**
+ * Loads accounts for password login and stores the rehashed password when the
+ * authentication provider finds the stored hash was made with another BCrypt cost.
+ */
 @Service
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -26,14 +31,16 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         var authorities = List.of(new SimpleGrantedAuthority(user.getRole().name()));
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .authorities(authorities)
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .disabled(false)
-                .build();
+        return new AccountDetails(user.getId(), user.getUsername(), user.getPassword(), user.getTokenVersion(),
+                authorities);
     }
-}
\ No newline at end of file
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        log.info("Password rehashed with the current cost [username={}]", user.getUsername());
+        var account = (AccountDetails) user;
+        return new AccountDetails(account.getId(), account.getUsername(), newPassword, account.getTokenVersion(),
+                account.getAuthorities());
+    }
+}
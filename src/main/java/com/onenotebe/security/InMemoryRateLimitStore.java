@@ -0,0 +1,19 @@
+package com.onenotebe.security;
+
+import java.time.Duration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default store: buckets live in this node's heap, so each node enforces the
+ * limits on its own.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    @Override
+    public RateLimiter limiter(String name, int capacity, Duration period, int maxKeys) {
+        return new TokenBucketRateLimiter(capacity, period, maxKeys);
+    }
+}
@@ -0,0 +1,13 @@
+package com.onenotebe.security;
+
+import java.time.Instant;
+
+/**
+ * A freshly signed access token.
+ *
+ * @param value     compact JWT
+ * @param tokenId   its {@code jti}
+ * @param expiresAt its expiry
+ */
+public record IssuedToken(String value, String tokenId, Instant expiresAt) {
+}
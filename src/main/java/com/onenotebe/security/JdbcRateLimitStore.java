@@ -0,0 +1,207 @@
+package com.onenotebe.security;
+
+import com.onenotebe.config.RateLimitProperties;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Store sharing every bucket between nodes through the {@code rate_limit_buckets}
+ * table, so a limit holds for the whole cluster instead of per node.
+ *
+ * <p>The shared bucket is the same GCRA arrival time as in memory, in epoch
+ * microseconds (node clocks are assumed NTP-synced). A node leases a batch of
+ * tokens in one row-locked transaction and spends them locally without further
+ * round trips. A refusal is remembered until the next token is due. Leased tokens
+ * left unused expire after the time the batch takes to refill, so a node cannot
+ * hoard them into a burst above the limit. Unused tokens are lost rather than
+ * returned, which makes the cluster-wide limit conservative.
+ *
+ * <p>If the database cannot be reached, the node grants itself a batch and logs a
+ * warning. Rate limiting fails open rather than taking the site down with it. For
+ * {@code app.rate-limit.jdbc.failure-backoff} after a failure every renewal is granted
+ * locally, so requests neither retry the database nor wait for a connection each time,
+ * and the local batches still hold each node to the configured rate.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "jdbc")
+@Slf4j
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double leaseFraction;
+    private final int maxLease;
+    private final long failureBackoff;
+    private final long origin = System.nanoTime();
+    private volatile long unavailableUntil = Long.MIN_VALUE;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              RateLimitProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseFraction = properties.getJdbc().getLeaseFraction();
+        this.maxLease = properties.getJdbc().getMaxLease();
+        this.failureBackoff = properties.getJdbc().getFailureBackoff().toNanos();
+    }
+
+    @Override
+    public RateLimiter limiter(String name, int capacity, Duration period, int maxKeys) {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+        int batch = (int) Math.max(1, Math.min(maxLease, Math.floor(capacity * leaseFraction)));
+        return new LeasingRateLimiter(name, capacity, period, batch, maxKeys);
+    }
+
+    /**
+     * Deletes buckets that are full again; they are recreated on the next request.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.jdbc.purge-interval:PT10M}",
+            initialDelayString = "${app.rate-limit.jdbc.purge-interval:PT10M}")
+    public void purge() {
+        int deleted = jdbcTemplate.update("delete from rate_limit_buckets where next_arrival < ?", nowMicros());
+        log.debug("Rate limit buckets purged [deleted={}]", deleted);
+    }
+
+    private static long nowMicros() {
+        return TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    }
+
+    private record Grant(int tokens, long waitNanos) {
+    }
+
+    private static final class Lease {
+        final AtomicInteger tokens = new AtomicInteger();
+        final ReentrantLock lock = new ReentrantLock();
+        volatile long expiresAt;
+        volatile long deniedUntil;
+
+        boolean take(long now) {
+            if (now >= expiresAt) {
+                return false;
+            }
+            int left;
+            do {
+                left = tokens.get();
+                if (left <= 0) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(left, left - 1));
+            return true;
+        }
+    }
+
+    private final class LeasingRateLimiter implements RateLimiter {
+
+        private final String name;
+        private final int batch;
+        private final long intervalMicros;
+        private final long burstMicros;
+        private final long leaseTtl;
+        private final KeyTable<Lease> leases;
+
+        LeasingRateLimiter(String name, int capacity, Duration period, int batch, int maxKeys) {
+            this.name = name;
+            this.batch = batch;
+            this.intervalMicros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(period.toNanos()) / capacity);
+            this.burstMicros = intervalMicros * capacity;
+            this.leaseTtl = TimeUnit.MICROSECONDS.toNanos(intervalMicros * batch);
+            this.leases = new KeyTable<>(maxKeys, period.toNanos(), Lease::new,
+                    (lease, now) -> now >= lease.expiresAt && now >= lease.deniedUntil);
+        }
+
+        @Override
+        public long tryAcquire(String key) {
+            long now = System.nanoTime() - origin;
+            var lease = leases.get(key, now);
+            if (lease.take(now)) {
+                return 0;
+            }
+            if (now < lease.deniedUntil) {
+                return lease.deniedUntil - now;
+            }
+            lease.lock.lock();
+            try {
+                // Another request may have renewed the lease while this one waited for the lock
+                now = System.nanoTime() - origin;
+                if (lease.take(now)) {
+                    return 0;
+                }
+                if (now < lease.deniedUntil) {
+                    return lease.deniedUntil - now;
+                }
+                var grant = renew(name + ':' + key);
+                now = System.nanoTime() - origin;
+                if (grant.tokens() == 0) {
+                    lease.deniedUntil = now + grant.waitNanos();
+                    return grant.waitNanos();
+                }
+                lease.tokens.set(grant.tokens() - 1);
+                lease.expiresAt = now + leaseTtl;
+                return 0;
+            } finally {
+                lease.lock.unlock();
+            }
+        }
+
+        private Grant renew(String bucketKey) {
+            if (System.nanoTime() - origin < unavailableUntil) {
+                return new Grant(batch, 0);
+            }
+            try {
+                long now = nowMicros();
+                var grant = transactionTemplate.execute(status -> take(bucketKey, now));
+                if (grant == null) {
+                    insertFull(bucketKey, now);
+                    grant = transactionTemplate.execute(status -> take(bucketKey, now));
+                }
+                return grant == null ? new Grant(batch, 0) : grant;
+            } catch (DataAccessException | TransactionException e) {
+                // No connection surfaces as CannotCreateTransactionException, not as a DataAccessException
+                unavailableUntil = System.nanoTime() - origin + failureBackoff;
+                log.warn("Rate limit store unavailable, granting local batches [bucket={}, backoffMs={}, error={}]",
+                        bucketKey, TimeUnit.NANOSECONDS.toMillis(failureBackoff), e.getMessage());
+                return new Grant(batch, 0);
+            }
+        }
+
+        private Grant take(String bucketKey, long now) {
+            var arrivals = jdbcTemplate.queryForList(
+                    "select next_arrival from rate_limit_buckets where bucket_key = ? for update",
+                    Long.class, bucketKey);
+            if (arrivals.isEmpty()) {
+                return null;
+            }
+            long base = Math.max(arrivals.get(0), now);
+            long available = (burstMicros - (base - now)) / intervalMicros;
+            int granted = (int) Math.min(batch, available);
+            if (granted <= 0) {
+                return new Grant(0, TimeUnit.MICROSECONDS.toNanos(base + intervalMicros - now - burstMicros));
+            }
+            jdbcTemplate.update("update rate_limit_buckets set next_arrival = ? where bucket_key = ?",
+                    base + granted * intervalMicros, bucketKey);
+            return new Grant(granted, 0);
+        }
+
+        private void insertFull(String bucketKey, long now) {
+            try {
+                jdbcTemplate.update("insert into rate_limit_buckets (bucket_key, next_arrival) values (?, ?)",
+                        bucketKey, now);
+            } catch (DuplicateKeyException e) {
+                // Another node created the bucket first
+            }
+        }
+    }
+}
@@ -10,13 +10,17 @@ import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.lang.NonNull;
 
+/**
+ * Authenticates requests carrying a bearer JWT. The principal is built from the
+ * token's claims ({@link AuthenticatedUser}). Revoked tokens are rejected from the
+ * in-memory {@link TokenRevocationList}; the only database access is the cached
+ * token-version check behind logout-everywhere.
+ */
 @Component
 @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
@@ -24,11 +28,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersionCache;
+    private final TokenRevocationList revocationList;
 
-    public JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtService jwtService, TokenVersionCache tokenVersionCache,
+                         TokenRevocationList revocationList) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.tokenVersionCache = tokenVersionCache;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -38,14 +45,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
             var token = authHeader.substring(BEARER_PREFIX.length());
             try {
-                var username = jwtService.extractUsername(token);
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    if (jwtService.isTokenValid(token, userDetails.getUsername())) {
+                // Signature and expiry are checked once per token; later requests hit the verified cache
+                var verified = jwtService.verify(token);
+                if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    if (!revocationList.isRevoked(verified.tokenId())
+                            && tokenVersionCache.isCurrent(verified.userId(), verified.tokenVersion())) {
+                        var principal = AuthenticatedUser.of(verified);
                         var authToken = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
+                                principal, null, principal.authorities());
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
+                    } else {
+                        log.debug("Revoked JWT presented [userId={}, jti={}, version={}]",
+                                verified.userId(), verified.tokenId(), verified.tokenVersion());
                     }
                 }
             } catch (Exception e) {
@@ -54,4 +66,4 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
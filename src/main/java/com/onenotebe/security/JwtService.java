@@ -1,12 +1,22 @@
 package com.onenotebe.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.onenotebe.config.JwtProperties;
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -14,58 +24,95 @@ import javax.crypto.SecretKey;
 
 /**
  * Service for generating and validating JWT tokens.
+ *
+ * <p>Tokens are parsed with a single reusable parser, and the claims of every token
+ * that passes verification are cached under a SHA-256 digest of the token until the
+ * token expires, so a client presenting the same token on each request pays for the
+ * signature check once. Tokens that fail verification are never cached. Revocation
+ * is checked separately, per request, against {@link TokenRevocationList}.
  */
 @Service
 @Slf4j
 public class JwtService {
 
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String VERSION_CLAIM = "ver";
+
     private final JwtProperties properties;
     private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<TokenDigest, VerifiedToken> verified;
 
     public JwtService(JwtProperties properties) {
         this.properties = properties;
         this.key = Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.getVerifiedCacheSize())
+                .expireAfter(Expiry.creating((TokenDigest digest, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .build();
     }
 
-    public String generateToken(String username, String role) {
+    public IssuedToken generateToken(Long userId, String username, String role, int tokenVersion) {
         var now = new Date();
         var exp = new Date(now.getTime() + properties.getExpirationMs());
+        var tokenId = UUID.randomUUID().toString();
         log.debug("Generating JWT for user {} with role {}", username, role);
-        return Jwts.builder()
+        var token = Jwts.builder()
+                .setId(tokenId)
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(exp)
                 .claim("role", role)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(VERSION_CLAIM, tokenVersion)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
+        return new IssuedToken(token, tokenId, exp.toInstant());
     }
 
-    public boolean isTokenValid(String token, String expectedUsername) {
+    /**
+     * Claims of the token if its signature is valid and it has not expired, otherwise null.
+     */
+    public VerifiedToken verify(String token) {
+        var digest = TokenDigest.of(token);
+        var cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            return cached.expiresAt().isAfter(Instant.now()) ? cached : null;
+        }
         try {
-            var username = extractUsername(token);
-            var claims = extractAllClaims(token);
-            return username.equals(expectedUsername) && claims.getExpiration().after(new Date());
-        } catch (Exception e) {
+            var claims = parser.parseClaimsJws(token).getBody();
+            var userId = claims.get(USER_ID_CLAIM, Long.class);
+            var version = claims.get(VERSION_CLAIM, Integer.class);
+            // Tokens issued before ids were embedded are rejected; clients log in again
+            if (claims.getId() == null || claims.getSubject() == null || claims.getExpiration() == null
+                    || userId == null || version == null) {
+                return null;
+            }
+            var role = claims.get("role", String.class);
+            var result = new VerifiedToken(claims.getId(), userId, claims.getSubject(), role != null ? role : DEFAULT_ROLE,
+                    version, claims.getExpiration().toInstant());
+            verified.put(digest, result);
+            return result;
+        } catch (JwtException | IllegalArgumentException e) {
             log.debug("JWT validation failed: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    public String extractRole(String token) {
-        var claims = extractAllClaims(token);
-        var role = claims.get("role", String.class);
-        return role != null ? role : "ROLE_USER";
-    }
+    /** First 128 bits of the token's SHA-256, so the cache never holds bearer tokens themselves. */
+    private record TokenDigest(long high, long low) {
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        static TokenDigest of(String token) {
+            try {
+                var hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII)));
+                return new TokenDigest(hash.getLong(), hash.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.onenotebe.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded per-key state of a rate limiter. Lookups of known keys are a lock-free
+ * map read. Only new keys trigger a sweep of idle entries, at most once per sweep
+ * interval or when the table is full. Keys arriving while every slot is in use
+ * share one overflow entry, so memory stays bounded and those clients are still
+ * limited together.
+ */
+final class KeyTable<V> {
+
+    /** Whether an entry holds no state worth keeping at time {@code now}. */
+    @FunctionalInterface
+    interface IdleCheck<V> {
+        boolean isIdle(V value, long now);
+    }
+
+    private final Map<String, V> entries = new ConcurrentHashMap<>();
+    private final Supplier<V> factory;
+    private final IdleCheck<V> idleCheck;
+    private final int maxKeys;
+    private final long sweepInterval;
+    private final V overflow;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private volatile long lastSweep;
+
+    KeyTable(int maxKeys, long sweepInterval, Supplier<V> factory, IdleCheck<V> idleCheck) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive key count");
+        }
+        this.maxKeys = maxKeys;
+        this.sweepInterval = sweepInterval;
+        this.factory = factory;
+        this.idleCheck = idleCheck;
+        this.overflow = factory.get();
+    }
+
+    V get(String key, long now) {
+        var value = entries.get(key);
+        return value != null ? value : register(key, now);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private V register(String key, long now) {
+        if (now - lastSweep >= sweepInterval || entries.size() >= maxKeys) {
+            sweep(now);
+        }
+        if (entries.size() >= maxKeys) {
+            return overflow;
+        }
+        var value = factory.get();
+        var existing = entries.putIfAbsent(key, value);
+        return existing == null ? value : existing;
+    }
+
+    // A request racing with the removal of its idle entry can at worst be granted one token twice
+    private void sweep(long now) {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            entries.values().removeIf(value -> idleCheck.isIdle(value, now));
+            lastSweep = now;
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+}
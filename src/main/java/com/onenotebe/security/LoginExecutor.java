@@ -0,0 +1,121 @@
+package com.onenotebe.security;
+
+import com.onenotebe.config.LoginProperties;
+import com.onenotebe.exception.LoginUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs password authentication on a small fixed pool with a bounded queue, so a
+ * credential-stuffing burst can occupy at most {@code app.login.threads} cores with
+ * BCrypt while post reads keep the rest. A login that finds the queue full, or
+ * waits longer than {@code app.login.timeout}, fails fast with
+ * {@link LoginUnavailableException} (503) instead of piling up.
+ *
+ * <p>Publishes {@code auth.login} (latency including queueing, by outcome),
+ * {@code auth.login.rejected}, {@code auth.login.queue.size} and {@code auth.login.active}.
+ */
+@Component
+@Slf4j
+public class LoginExecutor {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Duration retryAfter;
+    private final Timer succeeded;
+    private final Timer failed;
+    private final Counter rejected;
+
+    public LoginExecutor(AuthenticationManager authenticationManager, LoginProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.timeout = properties.getTimeout();
+        this.retryAfter = properties.getRetryAfter();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("login-", 1).daemon().factory(), new ThreadPoolExecutor.AbortPolicy());
+        this.succeeded = loginTimer(meterRegistry, "success");
+        this.failed = loginTimer(meterRegistry, "failure");
+        this.rejected = Counter.builder("auth.login.rejected")
+                .description("Logins shed because password verification was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Logins waiting for a verification thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Logins being verified right now")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Authenticates the credentials on the login pool and waits for the outcome.
+     *
+     * @throws AuthenticationException when the credentials are rejected
+     * @throws LoginUnavailableException when the pool is saturated or the wait times out
+     */
+    public Authentication authenticate(Authentication credentials) {
+        long started = System.nanoTime();
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> authenticationManager.authenticate(credentials));
+        } catch (RejectedExecutionException e) {
+            throw reject(credentials, "queue full");
+        }
+        try {
+            var authentication = result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            succeeded.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return authentication;
+        } catch (ExecutionException e) {
+            failed.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Login failed", e.getCause());
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw reject(credentials, "timed out");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw reject(credentials, "interrupted");
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private LoginUnavailableException reject(Authentication credentials, String reason) {
+        rejected.increment();
+        log.warn("Login shed [username={}, reason={}, queued={}]",
+                credentials.getName(), reason, executor.getQueue().size());
+        return new LoginUnavailableException("Too many login attempts in progress. Please try again shortly.",
+                retryAfter);
+    }
+
+    private static Timer loginTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.login")
+                .description("Password login latency, including time queued for a verification thread")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
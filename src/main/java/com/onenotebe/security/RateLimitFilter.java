@@ -0,0 +1,108 @@
+package com.onenotebe.security;
+
+import com.onenotebe.config.RateLimitProperties;
+import com.onenotebe.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Rate limits every request per client address, with a separate limiter per
+ * route: login, registration, other auth calls, reads and writes. Buckets live in
+ * the configured {@link RateLimitStore}. Runs ahead of
+ * JWT verification so floods are turned away before any token work. Rejections go
+ * through the MVC exception handlers as {@link RateLimitExceededException} (429
+ * with Retry-After) and count towards {@code rate.limit.rejected}, tagged by policy.
+ *
+ * <p>The client address is the servlet remote address. Proxy headers are applied
+ * by the container only when they come from a trusted proxy
+ * ({@code server.forward-headers-strategy}), so a spoofed {@code X-Forwarded-For}
+ * cannot mint new keys.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PREFIX = "/api/v1/auth/";
+
+    private final boolean enabled;
+    private final Policy login;
+    private final Policy register;
+    private final Policy auth;
+    private final Policy read;
+    private final Policy write;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitStore store, MeterRegistry meterRegistry,
+                           @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        this.enabled = properties.isEnabled();
+        this.login = policy(store, meterRegistry, "login", properties.getLogin(), properties.getMaxKeys());
+        this.register = policy(store, meterRegistry, "register", properties.getRegister(), properties.getMaxKeys());
+        this.auth = policy(store, meterRegistry, "auth", properties.getAuth(), properties.getMaxKeys());
+        this.read = policy(store, meterRegistry, "read", properties.getRead(), properties.getMaxKeys());
+        this.write = policy(store, meterRegistry, "write", properties.getWrite(), properties.getMaxKeys());
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        var client = request.getRemoteAddr();
+        var policy = policyFor(request);
+        long waitNanos = policy.limiter().tryAcquire(client);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        policy.rejected().increment();
+        log.debug("Rate limited [client={}, method={}, uri={}]", client, request.getMethod(), request.getRequestURI());
+        var retryAfter = Duration.ofNanos(waitNanos);
+        exceptionResolver.resolveException(request, response, null,
+                new RateLimitExceededException("Too many requests. Please try again later.", retryAfter));
+    }
+
+    private Policy policyFor(HttpServletRequest request) {
+        var method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return read;
+        }
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(AUTH_PREFIX)) {
+            return write;
+        }
+        return switch (path.substring(AUTH_PREFIX.length())) {
+            case "login" -> login;
+            case "register" -> register;
+            default -> auth;
+        };
+    }
+
+    private static Policy policy(RateLimitStore store, MeterRegistry meterRegistry, String name,
+                                 RateLimitProperties.Limit limit, int maxKeys) {
+        var rejected = Counter.builder("rate.limit.rejected")
+                .description("Requests turned away with 429 by the per-client rate limit")
+                .tag("policy", name)
+                .register(meterRegistry);
+        return new Policy(store.limiter(name, limit.getCapacity(), limit.getPeriod(), maxKeys), rejected);
+    }
+
+    private record Policy(RateLimiter limiter, Counter rejected) {
+    }
+}
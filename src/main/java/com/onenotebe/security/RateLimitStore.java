@@ -0,0 +1,19 @@
+package com.onenotebe.security;
+
+import java.time.Duration;
+
+/**
+ * Where rate limit state lives. The in-memory store keeps each node's buckets to
+ * itself; a shared store makes a limit hold across every node behind the load
+ * balancer. Chosen with {@code app.rate-limit.store}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Limiter allowing each key {@code capacity} requests, refilled evenly over
+     * {@code period}, tracking at most {@code maxKeys} keys on this node.
+     *
+     * @param name policy name, unique per store, that keeps shared buckets of different policies apart
+     */
+    RateLimiter limiter(String name, int capacity, Duration period, int maxKeys);
+}
@@ -0,0 +1,62 @@
+package com.onenotebe.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token bucket holding {@code capacity} tokens per key that refill evenly
+ * over {@code period}. Each bucket is a single {@code long} in the GCRA form of the
+ * algorithm: the theoretical arrival time of the next request on a monotonic
+ * nanosecond clock. Deciding a known key is a lock-free map read and one
+ * compare-and-set, with no allocation.
+ *
+ * <p>A bucket untouched for {@code period} is full again and carries no state, so
+ * the bounded {@link KeyTable} drops it when it sweeps.
+ */
+public final class TokenBucketRateLimiter implements RateLimiter {
+
+    private final long interval;
+    private final long burst;
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final KeyTable<AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(int capacity, Duration period, int maxKeys) {
+        this(capacity, period, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration period, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.interval = Math.max(1, period.toNanos() / capacity);
+        this.burst = interval * capacity;
+        this.buckets = new KeyTable<>(maxKeys, period.toNanos(), AtomicLong::new,
+                (bucket, now) -> bucket.get() <= now);
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong() - origin;
+        var bucket = buckets.get(key, now);
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + interval;
+            long excess = next - now - burst;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Number of keys currently tracked. */
+    public int trackedKeys() {
+        return buckets.size();
+    }
+}
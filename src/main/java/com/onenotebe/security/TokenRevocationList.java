@@ -0,0 +1,107 @@
+package com.onenotebe.security;
+
+import com.onenotebe.config.JwtProperties;
+import com.onenotebe.model.RevokedToken;
+import com.onenotebe.repository.RevokedTokenRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Access tokens (by jti) revoked before they expire, checked on every authenticated
+ * request without touching the database.
+ *
+ * <p>Revocations are persisted in {@code revoked_tokens} and mirrored in memory as a
+ * Bloom filter in front of an exact map of jti to expiry: almost every token misses
+ * the filter and is accepted after a few bit probes; only filter hits consult the
+ * map. Because access tokens are short-lived, the map stays small. Each instance
+ * pulls revocations recorded elsewhere on {@code app.jwt.revocation-sync-interval}
+ * and drops expired ones, rebuilding the filter since Bloom filters cannot delete.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Re-read this far behind the last sync so rows committed late by other instances are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository repository;
+    private final int expectedRevocations;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile Instant syncedAt = Instant.EPOCH;
+
+    public TokenRevocationList(RevokedTokenRepository repository, JwtProperties properties) {
+        this.repository = repository;
+        this.expectedRevocations = properties.getExpectedRevocations();
+        this.filter = BloomFilter.create(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Records the revocation and applies it locally at once; other instances pick it
+     * up on their next sync.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(Instant.now()) || revoked.containsKey(tokenId)) {
+            return;
+        }
+        if (!repository.existsByTokenId(tokenId)) {
+            repository.save(RevokedToken.builder().tokenId(tokenId).expiresAt(expiresAt).build());
+        }
+        add(tokenId, expiresAt);
+        log.info("Access token revoked [jti={}]", tokenId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-interval:PT10S}",
+            initialDelayString = "${app.jwt.revocation-sync-interval:PT10S}")
+    public void sync() {
+        var now = Instant.now();
+        var rows = repository.findActiveSince(syncedAt.minus(SYNC_OVERLAP), now);
+        rows.forEach(row -> {
+            if (!revoked.containsKey(row.tokenId())) {
+                add(row.tokenId(), row.expiresAt());
+            }
+        });
+        syncedAt = now;
+        if (revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now))) {
+            rebuildFilter();
+        }
+        log.debug("Token revocations synced [fetched={}, active={}]", rows.size(), revoked.size());
+    }
+
+    /** Deletes revocations of tokens that have expired by now anyway. */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-purge-interval:PT1H}",
+            initialDelayString = "${app.jwt.revocation-purge-interval:PT1H}")
+    public void purge() {
+        int deleted = repository.deleteExpired(Instant.now());
+        log.info("Expired token revocations purged [deleted={}]", deleted);
+    }
+
+    // Serialized with rebuildFilter so no revocation lands in a filter that is being replaced
+    private synchronized void add(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        if (revoked.size() > filter.expectedInsertions()) {
+            rebuildFilter();
+        } else {
+            filter.put(tokenId);
+        }
+    }
+
+    private synchronized void rebuildFilter() {
+        var rebuilt = BloomFilter.create(Math.max(expectedRevocations, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
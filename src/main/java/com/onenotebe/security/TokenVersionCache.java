@@ -0,0 +1,41 @@
+package com.onenotebe.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.onenotebe.config.JwtProperties;
+import com.onenotebe.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Current token version per user, read through a small cache so revocation checks
+ * cost one primary-key lookup per user per {@code app.jwt.token-version-ttl} rather
+ * than one per request. Revocations on this instance invalidate the entry at once;
+ * other instances notice within the TTL.
+ */
+@Component
+@Slf4j
+public class TokenVersionCache {
+
+    // Cached for deleted users, so their tokens keep failing without a lookup each time
+    private static final int NO_USER = -1;
+
+    private final LoadingCache<Long, Integer> versions;
+
+    public TokenVersionCache(UserRepository userRepository, JwtProperties properties) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(properties.getTokenVersionCacheSize())
+                .expireAfterWrite(properties.getTokenVersionTtl())
+                .build(userId -> userRepository.findTokenVersionById(userId).orElse(NO_USER));
+    }
+
+    /** True if tokens issued at {@code tokenVersion} are still valid for the user. */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return userId != null && versions.get(userId) == tokenVersion;
+    }
+
+    public void invalidate(Long userId) {
+        versions.invalidate(userId);
+        log.debug("Token version evicted [userId={}]", userId);
+    }
+}
@@ -0,0 +1,16 @@
+package com.onenotebe.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked.
+ *
+ * @param tokenId      unique token id ({@code jti} claim), the handle for revocation
+ * @param userId       user id ({@code uid} claim)
+ * @param username     subject of the token
+ * @param role         role claim, defaulting to {@code ROLE_USER}
+ * @param tokenVersion user's token version when the token was issued ({@code ver} claim)
+ * @param expiresAt    expiry of the token
+ */
+public record VerifiedToken(String tokenId, Long userId, String username, String role, int tokenVersion, Instant expiresAt) {
+}
@@ -4,11 +4,18 @@ import com.onenotebe.dto.auth.RegisterRequest;
 import com.onenotebe.dto.auth.RegisterResponse;
 import com.onenotebe.exception.DuplicateEmailException;
 import com.onenotebe.exception.DuplicateUsernameException;
+import com.onenotebe.exception.ResourceNotFoundException;
 import com.onenotebe.model.Role;
 import com.onenotebe.model.User;
+import com.onenotebe.repository.RefreshTokenRepository;
 import com.onenotebe.repository.UserRepository;
+import com.onenotebe.security.TokenVersionCache;
+import java.time.Instant;
+import java.util.Locale;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -22,23 +29,20 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionCache tokenVersionCache;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UsernameIndex usernameIndex;
 
     /**
      * Registers a new user with ROLE_USER.
-     * Uses input sanitization and enforces username/email uniqueness.
+     * Uses input sanitization; uniqueness is enforced by the users table constraints,
+     * so registration is a single INSERT and concurrent signups cannot both win.
      */
     public RegisterResponse register(RegisterRequest request) {
         var username = sanitizeUsername(request.username());
         var email = sanitizeEmail(request.email());
         var passwordRaw = request.password();
 
-        if (userRepository.existsByUsername(username)) {
-            throw new DuplicateUsernameException("Username already exists");
-        }
-        if (userRepository.existsByEmail(email)) {
-            throw new DuplicateEmailException("Email already exists");
-        }
-
         var hashed = passwordEncoder.encode(passwordRaw);
         var user = new User();
         user.setUsername(username);
@@ -46,11 +50,57 @@ public class AuthService {
         user.setPassword(hashed);
         user.setRole(Role.ROLE_USER);
 
-        var saved = userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(e, username, email);
+        }
+        usernameIndex.add(saved.getUsername());
         log.info("User registered [username={}]", saved.getUsername());
         return new RegisterResponse(saved.getId(), saved.getUsername(), saved.getEmail());
     }
 
+    /**
+     * Revokes every token issued to the user so far: access tokens by bumping the
+     * token version, refresh tokens by marking them revoked.
+     * The cached version is evicted only after the update has committed.
+     */
+    public void revokeTokens(Long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new ResourceNotFoundException("User not found: " + userId);
+        }
+        refreshTokenRepository.revokeAllForUser(userId, Instant.now());
+        tokenVersionCache.invalidate(userId);
+        log.info("User tokens revoked [userId={}]", userId);
+    }
+
+    /** Whether the username is still free; usually answered from memory. */
+    public boolean isUsernameAvailable(String username) {
+        return usernameIndex.isAvailable(sanitizeUsername(username));
+    }
+
+    private RuntimeException duplicateOf(DataIntegrityViolationException e, String username, String email) {
+        var constraint = e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName().toLowerCase(Locale.ROOT)
+                : "";
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            return new DuplicateUsernameException("Username already exists");
+        }
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateEmailException("Email already exists");
+        }
+        // Schemas created before the constraints were named: look up which value clashed
+        if (userRepository.existsByUsername(username)) {
+            return new DuplicateUsernameException("Username already exists");
+        }
+        if (userRepository.existsByEmail(email)) {
+            return new DuplicateEmailException("Email already exists");
+        }
+        return e;
+    }
+
     private String sanitizeUsername(String input) {
         if (input == null) {
             return "";
@@ -3,15 +3,20 @@ package com.onenotebe.service;
 import com.onenotebe.dto.CategoryDto;
 import com.onenotebe.dto.CreateCategoryDto;
 import com.onenotebe.dto.UpdateCategoryDto;
+import com.onenotebe.event.CategoryChangedEvent;
 import com.onenotebe.exception.ResourceNotFoundException;
 import com.onenotebe.mapper.CategoryMapper;
 import com.onenotebe.model.Category;
 import com.onenotebe.repository.CategoryRepository;
+import com.onenotebe.repository.PostRepository;
+import com.onenotebe.search.CategoryPostIndex;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,11 +30,21 @@ public class CategoryServiceImpl implements CategoryService {
     private static final String CATEGORY_NOT_FOUND = "Category not found for id= ";
 
     private final CategoryRepository categoryRepository;
+    private final PostRepository postRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryPostIndex categoryPostIndex;
+    private final Slugifier slugifier;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, PostRepository postRepository,
+                               CategoryMapper categoryMapper, ApplicationEventPublisher eventPublisher,
+                               CategoryPostIndex categoryPostIndex, Slugifier slugifier) {
         this.categoryRepository = categoryRepository;
+        this.postRepository = postRepository;
         this.categoryMapper = categoryMapper;
+        this.eventPublisher = eventPublisher;
+        this.categoryPostIndex = categoryPostIndex;
+        this.slugifier = slugifier;
     }
 
     @Override
@@ -37,9 +52,12 @@ public class CategoryServiceImpl implements CategoryService {
     public CategoryDto create(CreateCategoryDto dto) {
         log.info("Creating category [name={}]", dto.name());
         Category category = categoryMapper.toEntity(dto);
+        category.setSlug(slugifier.uniqueSlug(dto.name(), "category", null, categoryRepository::findSlugFamily));
         Category saved = categoryRepository.save(category);
         log.info("Category created [id={}, slug={}]", saved.getId(), saved.getSlug());
-        return categoryMapper.toDto(saved);
+        var result = toDto(saved);
+        eventPublisher.publishEvent(CategoryChangedEvent.created(result));
+        return result;
     }
 
     @Override
@@ -48,7 +66,7 @@ public class CategoryServiceImpl implements CategoryService {
         var pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1));
         return categoryRepository.findAll(pageable)
                 .stream()
-                .map(categoryMapper::toDto)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -57,7 +75,7 @@ public class CategoryServiceImpl implements CategoryService {
         log.debug("Finding category by id [id={}]", id);
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND + id));
-        return categoryMapper.toDto(category);
+        return toDto(category);
     }
 
     @Override
@@ -65,7 +83,7 @@ public class CategoryServiceImpl implements CategoryService {
         log.debug("Finding category by slug [slug={}]", slug);
         Category category = categoryRepository.findBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND + slug));
-        return categoryMapper.toDto(category);
+        return toDto(category);
     }
 
     @Override
@@ -76,17 +94,24 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND + id));
 
         var newName = dto.name();
+        List<Long> touchedPosts = List.of();
+        Instant touchedAt = null;
         if (newName != null && !newName.isBlank() && !newName.equals(category.getName())) {
             category.setName(newName);
-            // regenerate slug using same logic as mapper.
-            var newSlug = categoryMapper.slugify(newName);
+            var newSlug = slugifier.uniqueSlug(newName, "category", category.getSlug(),
+                    categoryRepository::findSlugFamily);
             category.setSlug(newSlug);
             log.debug("Regenerated slug for category [id={}, slug={}]", id, newSlug);
+            touchedAt = Instant.now();
+            touchedPosts = touchPosts(id, touchedAt);
         }
 
         Category updated = categoryRepository.save(category);
-        log.info("Category updated [id={}, slug={}]", updated.getId(), updated.getSlug());
-        return categoryMapper.toDto(updated);
+        log.info("Category updated [id={}, slug={}, touchedPosts={}]", updated.getId(), updated.getSlug(),
+                touchedPosts.size());
+        var result = toDto(updated);
+        eventPublisher.publishEvent(CategoryChangedEvent.updated(result, touchedPosts, touchedAt));
+        return result;
     }
 
     @Override
@@ -95,7 +120,29 @@ public class CategoryServiceImpl implements CategoryService {
         log.info("Deleting category [id={}]", id);
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(CATEGORY_NOT_FOUND + id));
+        var touchedAt = Instant.now();
+        var touchedPosts = touchPosts(id, touchedAt);
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(id, touchedPosts, touchedAt));
         log.info("Category deleted [id={}]", id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Post bodies embed their categories, so a rename or delete is a modification of
+     * every post in the category: moving their updatedAt changes their ETags and lets
+     * the post caches tell the new state from the old.
+     */
+    private List<Long> touchPosts(Long categoryId, Instant now) {
+        var postIds = postRepository.findIdsByCategoryId(categoryId);
+        if (!postIds.isEmpty()) {
+            postRepository.touchByCategoryId(categoryId, now);
+        }
+        return postIds;
+    }
+
+    // Post counts come from the in-memory category index, never from count(*) per request
+    private CategoryDto toDto(Category category) {
+        var dto = categoryMapper.toDto(category);
+        return new CategoryDto(dto.id(), dto.name(), dto.slug(), categoryPostIndex.postCount(dto.id()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.onenotebe.service;
+
+import com.onenotebe.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the post listing ordered by {@code (createdAt desc, id desc)}.
+ * Encoded as an opaque URL-safe token so clients cannot depend on its layout.
+ */
+public record PostCursor(Instant createdAt, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        var raw = createdAt.getEpochSecond() + "." + createdAt.getNano() + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static PostCursor decode(String token) {
+        try {
+            var raw = new String(DECODER.decode(token), StandardCharsets.US_ASCII);
+            var colon = raw.indexOf(':');
+            var dot = raw.indexOf('.');
+            if (dot < 0 || colon < dot) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            var createdAt = Instant.ofEpochSecond(
+                    Long.parseLong(raw, 0, dot, 10),
+                    Long.parseLong(raw, dot + 1, colon, 10));
+            return new PostCursor(createdAt, Long.parseLong(raw, colon + 1, raw.length(), 10));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.onenotebe.service;
 
+import com.onenotebe.cache.CacheNames;
 import com.onenotebe.dto.CreatePostDto;
+import com.onenotebe.dto.CursorPage;
 import com.onenotebe.dto.PostDetailDto;
 import com.onenotebe.dto.PostSummaryDto;
+import com.onenotebe.event.PostChangedEvent;
 import com.onenotebe.exception.ResourceNotFoundException;
 import com.onenotebe.mapper.PostMapper;
 import com.onenotebe.model.Post;
@@ -10,17 +13,24 @@ import com.onenotebe.model.Category;
 import com.onenotebe.repository.PostRepository;
 import com.onenotebe.repository.CategoryRepository;
 import com.onenotebe.repository.UserRepository;
+import com.onenotebe.search.CategoryMatch;
+import com.onenotebe.search.CategoryPostIndex;
+import com.onenotebe.search.PostSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,13 +38,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PostService {
     private static final String POST_NOT_FOUND = "Post not found for id: ";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final PostRepository postRepository;
     private final PostMapper postMapper;
+    private final PostSearchIndex postSearchIndex;
+    private final CategoryPostIndex categoryPostIndex;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Slugifier slugifier;
 
-    @Cacheable(cacheNames = "postsBySlug", key = "#slug")
+    @Cacheable(cacheNames = CacheNames.POSTS_BY_SLUG, key = "#slug", sync = true)
     public PostDetailDto getBySlug(@NonNull String slug) {
         log.debug("Retrieving post by slug [{}]", slug);
         var post = postRepository.findBySlug(slug)
@@ -43,24 +59,96 @@ public class PostService {
         return postMapper.toDetailDto(post);
     }
 
-    @Cacheable(cacheNames = "postsById", key = "#id")
+    @Cacheable(cacheNames = CacheNames.POSTS_BY_ID, key = "#id", sync = true)
     public PostDetailDto getById(@NonNull Long id) {
         log.debug("Retrieving post by id [{}]", id);
-        var post = postRepository.findById(id)
+        var post = postRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(POST_NOT_FOUND + id));
         log.info("Post retrieved by id [id={}, slug={}]", id, post.getSlug());
         return postMapper.toDetailDto(post);
     }
 
     public List<PostSummaryDto> listAll(Integer page, Integer size) {
-        Pageable pageable = PageRequest.of(page == null ? 0 : page, size == null ? 20 : Math.min(size, 100));
+        Pageable pageable = PageRequest.of(page == null ? 0 : page, pageSize(size));
         log.debug("Listing posts [page={}, size={}]", pageable.getPageNumber(), pageable.getPageSize());
-        Page<Post> posts = postRepository.findAll(pageable);
-        var result = posts.map(postMapper::toSummaryDto).getContent();
+        var result = postRepository.findSummaries(pageable);
         log.info("Listed posts [count={}]", result.size());
         return result;
     }
 
+    /**
+     * Keyset listing ordered by (createdAt desc, id desc). An empty or null cursor
+     * starts from the newest post. One extra row is fetched to detect whether a
+     * next page exists, so no count query is needed.
+     */
+    public CursorPage<PostSummaryDto> listByCursor(String cursor, Integer size) {
+        var pageSize = pageSize(size);
+        var limit = Limit.of(pageSize + 1);
+        log.debug("Listing posts by cursor [cursor={}, size={}]", cursor, pageSize);
+        List<PostSummaryDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = postRepository.findFirstSummaryPage(limit);
+        } else {
+            var position = PostCursor.decode(cursor);
+            rows = postRepository.findSummaryPageAfter(position.createdAt(), position.id(), limit);
+        }
+        var hasNext = rows.size() > pageSize;
+        var items = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            var last = items.get(items.size() - 1);
+            nextCursor = new PostCursor(last.createdAt(), last.id()).encode();
+        }
+        log.info("Listed posts by cursor [count={}, hasNext={}]", items.size(), hasNext);
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Posts in one category, newest first. Served from the category bitmap index;
+     * the database only resolves the ids of the requested page.
+     */
+    public CursorPage<PostSummaryDto> listByCategory(String categorySlug, String cursor, Integer size) {
+        var categoryId = categoryPostIndex.categoryId(categorySlug);
+        if (categoryId == null) {
+            throw new ResourceNotFoundException("Category not found for slug: " + categorySlug);
+        }
+        log.debug("Listing posts by category [slug={}, cursor={}, size={}]", categorySlug, cursor, size);
+        return pageByCategories(List.of(categoryId), CategoryMatch.ANY, cursor, size);
+    }
+
+    /**
+     * Posts in all or any of the given categories, newest first. Unknown slugs
+     * match nothing, so they empty an ALL filter and are ignored by an ANY filter.
+     */
+    public CursorPage<PostSummaryDto> listByCategories(Set<String> categorySlugs, CategoryMatch match,
+                                                       String cursor, Integer size) {
+        log.debug("Listing posts by categories [slugs={}, match={}, cursor={}, size={}]",
+                categorySlugs, match, cursor, size);
+        var categoryIds = categorySlugs.stream()
+                .map(categoryPostIndex::categoryId)
+                .toList();
+        if (categoryIds.contains(null)) {
+            if (match == CategoryMatch.ALL) {
+                return new CursorPage<>(List.of(), null);
+            }
+            categoryIds = categoryIds.stream().filter(Objects::nonNull).toList();
+        }
+        return pageByCategories(categoryIds, match, cursor, size);
+    }
+
+    /**
+     * Full-text search over titles and content, best match first. Served from the
+     * search index alone; the database is not queried.
+     */
+    public CursorPage<PostSummaryDto> search(String query, String cursor, Integer size) {
+        var pageSize = pageSize(size);
+        log.debug("Searching posts [query={}, cursor={}, size={}]", query, cursor, pageSize);
+        var page = postSearchIndex.search(query, cursor, pageSize);
+        log.info("Searched posts [count={}, hasNext={}]", page.items().size(), page.nextCursor() != null);
+        return page;
+    }
+
+    @Transactional
     public PostDetailDto create(@NonNull CreatePostDto dto, @NonNull String authorUsername) {
         log.info("Creating post [title={}]", dto.title());
         var author = userRepository.findByUsername(authorUsername)
@@ -68,7 +156,7 @@ public class PostService {
         var categories = resolveCategories(dto.categoryIds());
         var post = Post.builder()
                 .title(dto.title())
-                .slug(slugify(dto.title()))
+                .slug(slugifier.uniqueSlug(dto.title(), "post", null, postRepository::findSlugFamily))
                 .content(dto.content())
                 .featuredImageUrl(dto.featuredImageUrl())
                 .author(author)
@@ -76,31 +164,72 @@ public class PostService {
                 .build();
         Post saved = postRepository.save(post);
         log.info("Post created [id={}, slug={}]", saved.getId(), saved.getSlug());
-        return postMapper.toDetailDto(saved);
+        var detail = postMapper.toDetailDto(saved);
+        eventPublisher.publishEvent(PostChangedEvent.created(detail));
+        return detail;
     }
 
+    @Transactional
     public PostDetailDto update(@NonNull Long id, @NonNull CreatePostDto dto) {
         log.info("Updating post [id={}, title={}]", id, dto.title());
-        var post = postRepository.findById(id)
+        var post = postRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(POST_NOT_FOUND + id));
+        var previousSlug = post.getSlug();
         post.setTitle(dto.title());
-        post.setSlug(slugify(dto.title()));
+        post.setSlug(slugifier.uniqueSlug(dto.title(), "post", previousSlug, postRepository::findSlugFamily));
         post.setContent(dto.content());
         post.setFeaturedImageUrl(dto.featuredImageUrl());
         post.setCategories(resolveCategories(dto.categoryIds()));
-        var saved = postRepository.save(post);
+        // Flush so auditing stamps updatedAt before the DTO is written through to the caches
+        var saved = postRepository.saveAndFlush(post);
         log.info("Post updated [id={}, slug={}]", saved.getId(), saved.getSlug());
-        return postMapper.toDetailDto(saved);
+        var detail = postMapper.toDetailDto(saved);
+        eventPublisher.publishEvent(PostChangedEvent.updated(previousSlug, detail));
+        return detail;
     }
 
+    @Transactional
     public void delete(@NonNull Long id) {
         log.info("Deleting post [id={}]", id);
         var post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(POST_NOT_FOUND + id));
         postRepository.delete(post);
+        eventPublisher.publishEvent(PostChangedEvent.deleted(id, post.getSlug()));
         log.info("Post deleted [id={}]", id);
     }
 
+    private CursorPage<PostSummaryDto> pageByCategories(List<Long> categoryIds, CategoryMatch match,
+                                                        String cursor, Integer size) {
+        var pageSize = pageSize(size);
+        CategoryPostIndex.Position after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            var position = PostCursor.decode(cursor);
+            after = new CategoryPostIndex.Position(position.createdAt(), position.id());
+        }
+        var positions = categoryPostIndex.page(categoryIds, match, after, pageSize + 1);
+        var hasNext = positions.size() > pageSize;
+        var pagePositions = hasNext ? positions.subList(0, pageSize) : positions;
+        var pageIds = pagePositions.stream().map(CategoryPostIndex.Position::id).toList();
+        List<PostSummaryDto> items = List.of();
+        if (!pageIds.isEmpty()) {
+            var byId = postRepository.findSummariesByIdIn(pageIds).stream()
+                    .collect(Collectors.toMap(PostSummaryDto::id, Function.identity()));
+            // Ids deleted since the index was read are simply skipped
+            items = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            var last = pagePositions.get(pagePositions.size() - 1);
+            nextCursor = new PostCursor(last.createdAt(), last.id()).encode();
+        }
+        log.info("Listed posts by categories [count={}, hasNext={}]", items.size(), hasNext);
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
     private Set<Category> resolveCategories(Set<Long> categoryIds) {
         if (categoryIds == null || categoryIds.isEmpty()) {
             return Set.of();
@@ -114,14 +243,4 @@ public class PostService {
         }
         return categories;
     }
-
-    private String slugify(String input) {
-        if (input == null || input.isBlank()) {
-            return "";
-        }
-        return input.toLowerCase()
-                .replaceAll("[^a-z0-9]+", "-")
-                .replaceAll("-+", "-")
-                .replaceAll("(^-)|-($)", "");
-    }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.onenotebe.service;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns titles and names into URL slugs: lowercase ASCII letters and digits (other
+ * scripts are kept as lowercase letters) joined by single hyphens.
+ *
+ * <p>Accented Latin letters, including the Vietnamese ranges, fold to their base
+ * letters through a table built once from NFD decomposition, so a slug is produced in
+ * one pass over the input without regexes or an intermediate normalized copy;
+ * already-decomposed input drops its combining marks instead.
+ */
+@Component
+public class Slugifier {
+
+    /** Longest slug produced, leaving room for a collision suffix in a 255-character column. */
+    public static final int MAX_LENGTH = 200;
+
+    private static final Range LATIN = new Range('À', 'ɏ');
+    private static final Range LATIN_ADDITIONAL = new Range('Ḁ', 'ỿ');
+
+    /**
+     * Slug for the text; empty when it holds no letters or digits.
+     */
+    public String slugify(CharSequence text) {
+        if (text == null) {
+            return "";
+        }
+        int length = text.length();
+        var slug = new StringBuilder(Math.min(length, MAX_LENGTH) + 4);
+        boolean separate = false;
+        for (int i = 0; i < length && slug.length() < MAX_LENGTH; ) {
+            int c = Character.codePointAt(text, i);
+            i += Character.charCount(c);
+            if (c < 0x80) {
+                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                    separate = append(slug, separate, (char) c);
+                } else if (c >= 'A' && c <= 'Z') {
+                    separate = append(slug, separate, (char) (c + ('a' - 'A')));
+                } else {
+                    separate = true;
+                }
+                continue;
+            }
+            var folded = fold(c);
+            if (folded != null) {
+                if (separate && !slug.isEmpty()) {
+                    slug.append('-');
+                }
+                slug.append(folded);
+                separate = false;
+            } else if (isMark(c)) {
+                // Combining accent of decomposed input: belongs to the previous letter
+            } else if (Character.isLetterOrDigit(c)) {
+                if (separate && !slug.isEmpty()) {
+                    slug.append('-');
+                }
+                slug.appendCodePoint(Character.toLowerCase(c));
+                separate = false;
+            } else {
+                separate = true;
+            }
+        }
+        if (slug.length() > MAX_LENGTH) {
+            slug.setLength(MAX_LENGTH);
+        }
+        while (!slug.isEmpty() && slug.charAt(slug.length() - 1) == '-') {
+            slug.setLength(slug.length() - 1);
+        }
+        return slug.toString();
+    }
+
+    /**
+     * Free slug for the text: its slug, or {@code fallback} when it has none, suffixed
+     * against the taken slugs {@code family} returns for that base and its
+     * {@code base-<suffix>} forms, typically one query. {@code currentSlug} is the slug
+     * of the entity being renamed, which stays usable; null for a new entity.
+     */
+    public String uniqueSlug(CharSequence text, String fallback, String currentSlug,
+                             Function<String, ? extends Collection<String>> family) {
+        var base = slugify(text);
+        if (base.isEmpty()) {
+            base = fallback;
+        }
+        var taken = family.apply(base);
+        return unique(base, slug -> taken.contains(slug) && !slug.equals(currentSlug));
+    }
+
+    /**
+     * {@code base} when it is free, otherwise the first free of {@code base-2},
+     * {@code base-3}, ... The predicate is evaluated in memory, typically over the
+     * slugs fetched for {@code base} and its suffixed forms in a single query.
+     */
+    public String unique(String base, Predicate<String> taken) {
+        if (!taken.test(base)) {
+            return base;
+        }
+        for (int suffix = 2; ; suffix++) {
+            var candidate = base + '-' + suffix;
+            if (!taken.test(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static boolean append(StringBuilder slug, boolean separate, char c) {
+        if (separate && !slug.isEmpty()) {
+            slug.append('-');
+        }
+        slug.append(c);
+        return false;
+    }
+
+    private static String fold(int c) {
+        if (LATIN.contains(c)) {
+            return LATIN.folded[c - LATIN.first];
+        }
+        if (LATIN_ADDITIONAL.contains(c)) {
+            return LATIN_ADDITIONAL.folded[c - LATIN_ADDITIONAL.first];
+        }
+        return null;
+    }
+
+    private static boolean isMark(int c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK
+                || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    /** Lowercase ASCII folding of every letter in a contiguous block; null where none exists. */
+    private static final class Range {
+        final int first;
+        final String[] folded;
+
+        Range(char first, char last) {
+            this.first = first;
+            this.folded = new String[last - first + 1];
+            for (int c = first; c <= last; c++) {
+                folded[c - first] = foldLetter((char) c);
+            }
+        }
+
+        boolean contains(int c) {
+            return c >= first && c < first + folded.length;
+        }
+
+        private static String foldLetter(char c) {
+            var special = switch (Character.toLowerCase(c)) {
+                case 'đ', 'ð' -> "d";
+                case 'ø' -> "o";
+                case 'ł', 'ŀ' -> "l";
+                case 'ħ' -> "h";
+                case 'ŧ' -> "t";
+                case 'ı' -> "i";
+                case 'ß' -> "ss";
+                case 'æ' -> "ae";
+                case 'œ' -> "oe";
+                case 'þ' -> "th";
+                default -> null;
+            };
+            if (special != null) {
+                return special;
+            }
+            var base = new StringBuilder();
+            Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).codePoints()
+                    .filter(cp -> cp < 0x80 && Character.isLetterOrDigit(cp))
+                    .forEach(cp -> base.append((char) Character.toLowerCase(cp)));
+            return base.isEmpty() ? null : base.toString().intern();
+        }
+    }
+}
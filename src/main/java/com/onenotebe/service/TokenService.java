@@ -0,0 +1,159 @@
+package com.onenotebe.service;
+
+import com.onenotebe.config.JwtProperties;
+import com.onenotebe.dto.auth.LoginResponse;
+import com.onenotebe.model.RefreshToken;
+import com.onenotebe.model.User;
+import com.onenotebe.repository.RefreshTokenRepository;
+import com.onenotebe.repository.UserRepository;
+import com.onenotebe.security.AuthenticatedUser;
+import com.onenotebe.security.JwtService;
+import com.onenotebe.security.TokenRevocationList;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Issues access/refresh token pairs, rotates refresh tokens and revokes them.
+ *
+ * <p>Refresh tokens are 256-bit random values stored only as their SHA-256. Each
+ * refresh revokes the presented token and issues its successor in the same family;
+ * presenting an already-rotated token means it was copied, so the whole family and
+ * the access tokens issued with it are revoked. The presented token is claimed with a
+ * conditional update, so two concurrent refreshes with one token cannot both succeed.
+ */
+@Service
+@Slf4j
+public class TokenService {
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final JwtService jwtService;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationList revocationList;
+    private final Duration refreshTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    public TokenService(JwtService jwtService, RefreshTokenRepository refreshTokenRepository,
+                        UserRepository userRepository, TokenRevocationList revocationList,
+                        JwtProperties properties) {
+        this.jwtService = jwtService;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.revocationList = revocationList;
+        this.refreshTtl = properties.getRefreshTtl();
+    }
+
+    /**
+     * Token pair for a user who just authenticated with a password, starting a new family.
+     */
+    @Transactional
+    public LoginResponse issue(Long userId, String username, String role, int tokenVersion) {
+        return issue(userRepository.getReferenceById(userId), username, role, tokenVersion,
+                UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair. Failed exchanges leave their revocations committed.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public LoginResponse refresh(String rawToken) {
+        var stored = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        var now = Instant.now();
+        if (stored.getRevokedAt() != null) {
+            throw reuse(stored, now);
+        }
+        if (!stored.getExpiresAt().isAfter(now)) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        if (refreshTokenRepository.claim(stored.getId(), now) == 0) {
+            // A concurrent refresh rotated the same token first
+            throw reuse(stored, now);
+        }
+        var user = stored.getUser();
+        log.info("Refresh token rotated [userId={}, family={}]", user.getId(), stored.getFamilyId());
+        return issue(user, user.getUsername(), user.getRole().name(), user.getTokenVersion(), stored.getFamilyId());
+    }
+
+    /**
+     * Revokes the caller's access token and, when given, the family of their refresh token.
+     */
+    @Transactional
+    public void logout(AuthenticatedUser user, String rawRefreshToken) {
+        revocationList.revoke(user.token().tokenId(), user.token().expiresAt());
+        if (rawRefreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                    .filter(token -> token.getUser().getId().equals(user.id()))
+                    .ifPresent(token -> revokeFamily(token.getFamilyId(), Instant.now()));
+        }
+        log.info("User logged out [userId={}]", user.id());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-purge-interval:PT1H}",
+            initialDelayString = "${app.jwt.revocation-purge-interval:PT1H}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        log.info("Expired refresh tokens purged [deleted={}]", deleted);
+    }
+
+    private LoginResponse issue(User user, String username, String role, int tokenVersion, String familyId) {
+        var access = jwtService.generateToken(user.getId(), username, role, tokenVersion);
+        var raw = newRawToken();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(raw))
+                .familyId(familyId)
+                .expiresAt(Instant.now().plus(refreshTtl))
+                .accessTokenId(access.tokenId())
+                .accessExpiresAt(access.expiresAt())
+                .build());
+        var expiresIn = Math.max(0, Duration.between(Instant.now(), access.expiresAt()).toSeconds());
+        return new LoginResponse(access.value(), raw, expiresIn);
+    }
+
+    private BadCredentialsException reuse(RefreshToken stored, Instant now) {
+        log.warn("Refresh token reuse detected, revoking family [userId={}, family={}]",
+                stored.getUser().getId(), stored.getFamilyId());
+        revokeFamily(stored.getFamilyId(), now);
+        return new BadCredentialsException("Invalid refresh token");
+    }
+
+    private void revokeFamily(String familyId, Instant now) {
+        for (var token : refreshTokenRepository.findByFamilyId(familyId)) {
+            if (token.getRevokedAt() == null) {
+                token.setRevokedAt(now);
+            }
+            if (token.getAccessTokenId() != null && token.getAccessExpiresAt().isAfter(now)) {
+                revocationList.revoke(token.getAccessTokenId(), token.getAccessExpiresAt());
+            }
+        }
+    }
+
+    private String newRawToken() {
+        var bytes = new byte[REFRESH_TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
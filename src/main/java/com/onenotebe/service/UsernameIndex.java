@@ -0,0 +1,106 @@
+package com.onenotebe.service;
+
+import com.onenotebe.repository.UserRepository;
+import com.onenotebe.security.BloomFilter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bloom filter of taken usernames, so an availability check for a free name, the
+ * common case while someone types, is answered without the database. A filter hit
+ * may be a false positive and is confirmed with a keyed lookup.
+ *
+ * <p>Loaded at startup and fed by registrations on this node. Names registered on
+ * other nodes are pulled every {@code app.users.username-sync-interval}, so a
+ * freshly taken name may read as available on another node until the next sync.
+ * Users are never renamed or deleted, so the filter only grows; once it holds more
+ * names than it was sized for, it is rebuilt from the database at twice the size.
+ * The hint is advisory: the unique constraint on insert stays the authority on
+ * duplicates.
+ */
+@Component
+@Slf4j
+public class UsernameIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_EXPECTED_USERS = 10_000;
+    // Re-read this far behind the last sync so rows committed late by other instances are not missed
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private volatile BloomFilter filter = BloomFilter.create(MIN_EXPECTED_USERS, FALSE_POSITIVE_RATE);
+    private volatile boolean loaded;
+    private volatile Instant syncedAt = Instant.EPOCH;
+    // Not a monitor: load() queries the database, which would pin a virtual thread inside synchronized
+    private final ReentrantLock lock = new ReentrantLock();
+    private int size;
+
+    public UsernameIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.lock();
+        try {
+            var started = Instant.now();
+            var usernames = userRepository.findAllUsernames();
+            var rebuilt = BloomFilter.create(Math.max(MIN_EXPECTED_USERS, usernames.size() * 2), FALSE_POSITIVE_RATE);
+            usernames.forEach(rebuilt::put);
+            filter = rebuilt;
+            size = usernames.size();
+            syncedAt = started;
+            loaded = true;
+            log.info("Username index loaded [users={}, capacity={}]", size, rebuilt.expectedInsertions());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Adds the usernames registered on any node since the last sync. */
+    @Scheduled(fixedDelayString = "${app.users.username-sync-interval:PT10S}",
+            initialDelayString = "${app.users.username-sync-interval:PT10S}")
+    public void sync() {
+        if (!loaded) {
+            return;
+        }
+        var now = Instant.now();
+        var usernames = userRepository.findUsernamesCreatedSince(syncedAt.minus(SYNC_OVERLAP));
+        usernames.forEach(this::add);
+        syncedAt = now;
+        log.debug("Username index synced [fetched={}]", usernames.size());
+    }
+
+    /** Whether nobody has registered this username yet. */
+    public boolean isAvailable(String username) {
+        if (loaded && !filter.mightContain(username)) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
+    }
+
+    /** Records a username that has just been taken. */
+    public void add(String username) {
+        lock.lock();
+        try {
+            // Sync windows overlap, so most names it fetches are already in the filter
+            if (filter.mightContain(username)) {
+                return;
+            }
+            size++;
+            if (size > filter.expectedInsertions()) {
+                load();
+            } else {
+                filter.put(username);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.onenotebe.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.onenotebe.model.Role;
+import com.onenotebe.model.User;
+import com.onenotebe.repository.PostRepository;
+import com.onenotebe.repository.UserRepository;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class PostImportJobTest {
+
+    @Autowired
+    private PostImportJob importJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private String importer;
+    private String title;
+
+    @BeforeEach
+    void setUp() {
+        var suffix = UUID.randomUUID().toString().substring(0, 8);
+        importer = "importer-" + suffix;
+        title = "Imported " + suffix;
+        userRepository.save(User.builder()
+                .username(importer)
+                .email(importer + "@example.com")
+                .password("hashed")
+                .role(Role.ROLE_ADMIN)
+                .build());
+    }
+
+    @Test
+    void rejectedRowsDoNotClaimTheirSlug() {
+        var archive = """
+                {"title":"%1$s","content":"ghost","author":"ghost-%2$s"}
+                {"title":"%1$s","content":"uncategorized","categories":["missing-%2$s"]}
+                {"title":"%1$s","content":"kept"}
+                """.formatted(title, importer);
+
+        var report = importJob.run(new ByteArrayInputStream(archive.getBytes(StandardCharsets.UTF_8)), importer);
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(2);
+        var slug = title.toLowerCase().replace(' ', '-');
+        assertThat(postRepository.findBySlug(slug)).hasValueSatisfying(post ->
+                assertThat(post.getContent()).isEqualTo("kept"));
+    }
+
+    @Test
+    void suffixesDuplicateTitlesAgainstTakenSlugsAndTheBatch() {
+        var archive = """
+                {"title":"%1$s","content":"first"}
+                {"title":"%1$s","content":"second"}
+                """.formatted(title);
+        importJob.run(new ByteArrayInputStream(archive.getBytes(StandardCharsets.UTF_8)), importer);
+        var more = """
+                {"title":"%1$s","content":"third"}
+                {"title":"%1$s","content":"fourth"}
+                """.formatted(title);
+
+        var report = importJob.run(new ByteArrayInputStream(more.getBytes(StandardCharsets.UTF_8)), importer);
+
+        assertThat(report.imported()).isEqualTo(2);
+        var slug = title.toLowerCase().replace(' ', '-');
+        assertThat(postRepository.findBySlug(slug + "-3")).hasValueSatisfying(post ->
+                assertThat(post.getContent()).isEqualTo("third"));
+        assertThat(postRepository.findBySlug(slug + "-4")).hasValueSatisfying(post ->
+                assertThat(post.getContent()).isEqualTo("fourth"));
+    }
+
+    @Test
+    void rejectsExplicitSlugsThatAreNotNormalized() {
+        var slug = title.toLowerCase().replace(' ', '-');
+        var archive = """
+                {"title":"%1$s","content":"spaces","slug":"%1$s"}
+                {"title":"%1$s","content":"too long","slug":"%2$s"}
+                {"title":"%1$s","content":"kept","slug":" %3$s "}
+                """.formatted(title, slug + "-x".repeat(150), slug);
+
+        var report = importJob.run(new ByteArrayInputStream(archive.getBytes(StandardCharsets.UTF_8)), importer);
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(2);
+        assertThat(report.errors()).allSatisfy(error -> assertThat(error.message()).startsWith("Invalid slug"));
+        assertThat(postRepository.findBySlug(slug)).hasValueSatisfying(post ->
+                assertThat(post.getContent()).isEqualTo("kept"));
+    }
+}
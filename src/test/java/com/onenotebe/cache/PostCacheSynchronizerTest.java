@@ -0,0 +1,74 @@
+package com.onenotebe.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.onenotebe.dto.PostDetailDto;
+import com.onenotebe.event.PostChangedEvent;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class PostCacheSynchronizerTest {
+
+    private static final Instant CREATED = Instant.parse("2024-06-01T10:00:00Z");
+
+    private final ConcurrentMapCacheManager cacheManager =
+            new ConcurrentMapCacheManager(CacheNames.POSTS_BY_ID, CacheNames.POSTS_BY_SLUG);
+    private final PostCacheSynchronizer synchronizer = new PostCacheSynchronizer(cacheManager);
+
+    @Test
+    void writesThroughALaterVersion() {
+        synchronizer.onPostChanged(PostChangedEvent.created(post("hello", CREATED)));
+        var edited = post("hello", CREATED.plusSeconds(60));
+
+        synchronizer.onPostChanged(PostChangedEvent.updated("hello", edited));
+
+        assertThat(byId()).isEqualTo(edited);
+        assertThat(bySlug("hello")).isEqualTo(edited);
+    }
+
+    @Test
+    void dropsAnUpdateOlderThanTheCachedVersion() {
+        var later = post("hello", CREATED.plusSeconds(120));
+        synchronizer.onPostChanged(PostChangedEvent.updated("hello", later));
+
+        synchronizer.onPostChanged(PostChangedEvent.updated("hello", post("hello", CREATED.plusSeconds(60))));
+
+        assertThat(byId()).isEqualTo(later);
+        assertThat(bySlug("hello")).isEqualTo(later);
+    }
+
+    @Test
+    void doesNotRestoreASlugMovedAwayByALaterUpdate() {
+        synchronizer.onPostChanged(PostChangedEvent.updated("second", post("third", CREATED.plusSeconds(120))));
+
+        // The rename to the second slug committed first, but its listener runs last
+        synchronizer.onPostChanged(PostChangedEvent.updated("first", post("second", CREATED.plusSeconds(60))));
+
+        assertThat(byId().slug()).isEqualTo("third");
+        assertThat(bySlug("second")).isNull();
+    }
+
+    @Test
+    void evictsADeletedPost() {
+        synchronizer.onPostChanged(PostChangedEvent.created(post("hello", CREATED)));
+
+        synchronizer.onPostChanged(PostChangedEvent.deleted(1L, "hello"));
+
+        assertThat(byId()).isNull();
+        assertThat(bySlug("hello")).isNull();
+    }
+
+    private PostDetailDto byId() {
+        return cacheManager.getCache(CacheNames.POSTS_BY_ID).get(1L, PostDetailDto.class);
+    }
+
+    private PostDetailDto bySlug(String slug) {
+        return cacheManager.getCache(CacheNames.POSTS_BY_SLUG).get(slug, PostDetailDto.class);
+    }
+
+    private static PostDetailDto post(String slug, Instant updatedAt) {
+        return new PostDetailDto(1L, "Hello", slug, "body", null, CREATED, updatedAt, null, List.of(), null);
+    }
+}
@@ -0,0 +1,118 @@
+package com.onenotebe.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onenotebe.config.RenderProperties;
+import com.onenotebe.dto.CategoryDto;
+import com.onenotebe.dto.PostDetailDto;
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.render.MarkdownRenderer;
+import com.onenotebe.repository.PostRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RenderedPostStoreTest {
+
+    private static final Instant CREATED = Instant.parse("2024-06-01T10:00:00Z");
+
+    private final PostVersionIndex versions = new PostVersionIndex(mock(PostRepository.class));
+    private final RenderedPostStore store = new RenderedPostStore(new ObjectMapper().findAndRegisterModules(),
+            new MarkdownRenderer(new RenderProperties()), versions, 1 << 20, Duration.ofHours(1));
+
+    @Test
+    void servesPayloadsRenderedOnWrite() {
+        var post = post("hello", CREATED);
+        publish(PostChangedEvent.created(post));
+
+        var payload = store.find("hello", false);
+
+        assertThat(payload).isNotNull();
+        assertThat(payload.etag()).isEqualTo(PostVersion.of(1L, CREATED).etag());
+        assertThat(store.find("hello", true)).isNotNull();
+    }
+
+    @Test
+    void doesNotStoreAReadThatFinishesAfterADelete() {
+        var post = post("hello", CREATED);
+        publish(PostChangedEvent.created(post));
+        publish(PostChangedEvent.deleted(1L, "hello"));
+
+        var rendered = store.renderOnRead(post, false);
+
+        assertThat(rendered).isNotNull();
+        assertThat(store.find("hello", false)).isNull();
+    }
+
+    @Test
+    void doesNotStoreAReadThatFinishesAfterASlugMove() {
+        var before = post("hello", CREATED);
+        publish(PostChangedEvent.created(before));
+        var after = post("hello-again", CREATED.plusSeconds(60));
+        publish(PostChangedEvent.updated("hello", after));
+
+        store.renderOnRead(before, true);
+
+        assertThat(store.find("hello", true)).isNull();
+        assertThat(store.find("hello-again", true)).isNotNull();
+    }
+
+    @Test
+    void neverServesAPayloadOlderThanTheIndexedVersion() {
+        var post = post("hello", CREATED);
+        store.onPostChanged(PostChangedEvent.created(post));
+        // Only the version index saw the newer write, e.g. its event ran first
+        versions.onPostChanged(PostChangedEvent.updated("hello", post("hello", CREATED.plusSeconds(60))));
+
+        assertThat(store.find("hello", false)).isNull();
+        assertThat(store.renderOnRead(post, false)).isNotNull();
+        assertThat(store.find("hello", false)).as("the stale read is not stored").isNull();
+    }
+
+    @Test
+    void dropsPayloadsWhenACategoryChangeTouchedPosts() {
+        publish(PostChangedEvent.created(post("hello", CREATED)));
+
+        store.onCategoryChanged(CategoryChangedEvent.created(new CategoryDto(8L, "Other", "other", 0)));
+        store.onCategoryChanged(CategoryChangedEvent.updated(new CategoryDto(8L, "Misc", "misc", 0), List.of(), null));
+        assertThat(store.find("hello", false)).isNotNull();
+
+        var renamed = CREATED.plusSeconds(60);
+        var event = CategoryChangedEvent.updated(new CategoryDto(7L, "Kotlin", "kotlin", 1), List.of(1L), renamed);
+        versions.onCategoryChanged(event);
+        store.onCategoryChanged(event);
+        assertThat(store.find("hello", false)).isNull();
+        assertThat(versions.find("hello")).isEqualTo(PostVersion.of(1L, renamed));
+    }
+
+    @Test
+    void rerendersHtmlPayloadsInPlace() {
+        publish(PostChangedEvent.created(post("hello", CREATED)));
+        var plain = store.find("hello", false);
+        var html = store.find("hello", true);
+
+        assertThat(store.slugsWithHtml()).containsExactly("hello");
+        assertThat(store.rerenderHtml("hello")).isTrue();
+
+        var rerendered = store.find("hello", true);
+        assertThat(rerendered).isNotSameAs(html);
+        assertThat(rerendered.identity()).isEqualTo(html.identity());
+        assertThat(rerendered.etag()).isEqualTo(html.etag());
+        assertThat(store.find("hello", false)).isSameAs(plain);
+        assertThat(store.rerenderHtml("missing")).isFalse();
+    }
+
+    private void publish(PostChangedEvent event) {
+        versions.onPostChanged(event);
+        store.onPostChanged(event);
+    }
+
+    private static PostDetailDto post(String slug, Instant updatedAt) {
+        return new PostDetailDto(1L, "Hello", slug, "Some *text*", null, CREATED, updatedAt, null,
+                List.of(new CategoryDto(7L, "Java", "java", null)), null);
+    }
+}
@@ -0,0 +1,78 @@
+package com.onenotebe.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class TieredCacheTest {
+
+    private static final byte[] STALE = "\"stale\"".getBytes(StandardCharsets.UTF_8);
+
+    private final MappedFileStore l2 = mock(MappedFileStore.class);
+    private final TieredCache cache = new TieredCache("posts", 1024 * 1024, Duration.ofMinutes(5),
+            l2, new ObjectMapper(), String.class);
+
+    @Test
+    void promotesAnL2HitIntoL1() {
+        when(l2.get(eq("posts:a"), anyLong())).thenReturn(STALE);
+
+        assertThat(cache.get("a").get()).isEqualTo("stale");
+        assertThat(cache.stats().l2HitCount()).isEqualTo(1);
+
+        assertThat(cache.get("a").get()).isEqualTo("stale");
+        assertThat(cache.stats().l2HitCount()).as("served from L1 the second time").isEqualTo(1);
+    }
+
+    @Test
+    void anEvictRacingWithAPromotionIsNotUndone() throws Exception {
+        raceWithPromotion(cache -> cache.evict("a"));
+
+        assertThat(cache.get("a")).isNull();
+        verify(l2).remove("posts:a");
+    }
+
+    @Test
+    void aPutRacingWithAPromotionIsNotOverwritten() throws Exception {
+        raceWithPromotion(cache -> cache.put("a", "fresh"));
+
+        assertThat(cache.get("a").get()).isEqualTo("fresh");
+    }
+
+    /**
+     * Runs {@code write} while a lookup of {@code a} is reading the stale copy from L2,
+     * and returns once both finished.
+     */
+    private void raceWithPromotion(Consumer<TieredCache> write) throws Exception {
+        var reading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(l2.get(eq("posts:a"), anyLong())).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return STALE;
+        }).thenReturn(null);
+
+        var lookup = CompletableFuture.runAsync(() -> cache.get("a"));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        var writer = new Thread(() -> write.accept(cache));
+        writer.start();
+        // The write either finishes (nothing guards the key) or waits for the promotion
+        while (writer.isAlive() && writer.getState() == Thread.State.RUNNABLE) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        lookup.get(5, TimeUnit.SECONDS);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
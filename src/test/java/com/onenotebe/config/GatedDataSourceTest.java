@@ -0,0 +1,82 @@
+package com.onenotebe.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+class GatedDataSourceTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(50);
+
+    private final DataSource target = mock(DataSource.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatedDataSource gate = new GatedDataSource(target, 1, TIMEOUT, meterRegistry);
+
+    @Test
+    void releasesThePermitWhenThePoolFailsToConnect() throws SQLException {
+        var connection = mock(Connection.class);
+        when(target.getConnection())
+                .thenThrow(new SQLException("refused"))
+                .thenThrow(new SQLException("refused"))
+                .thenReturn(connection);
+
+        assertThatThrownBy(gate::getConnection).hasMessage("refused");
+        assertThatThrownBy(gate::getConnection).hasMessage("refused");
+
+        assertThat(((ConnectionProxy) gate.getConnection()).getTargetConnection()).isSameAs(connection);
+    }
+
+    @Test
+    void releasesOnceWhenAConnectionIsClosedTwice() throws SQLException {
+        when(target.getConnection()).thenReturn(mock(Connection.class), mock(Connection.class));
+        var first = gate.getConnection();
+
+        first.close();
+        first.close();
+
+        var second = gate.getConnection();
+        // A second release would have left a spare permit for this checkout
+        assertThatThrownBy(gate::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+    }
+
+    @Test
+    void releasesThePermitWhenClosingTheConnectionFails() throws SQLException {
+        var failing = mock(Connection.class);
+        doThrow(new SQLException("broken")).when(failing).close();
+        when(target.getConnection()).thenReturn(failing, mock(Connection.class));
+
+        assertThatThrownBy(gate.getConnection()::close).hasMessage("broken");
+
+        assertThat(gate.getConnection()).isNotNull();
+    }
+
+    @Test
+    void failsWithATransientExceptionWhenNoPermitFreesUpInTime() throws SQLException {
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        var held = gate.getConnection();
+
+        long started = System.nanoTime();
+        assertThatThrownBy(gate::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("within 50ms");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(TIMEOUT);
+        assertThat(meterRegistry.get("jdbc.connections.gate.wait").timer().count()).isEqualTo(2);
+        verify(target, times(1)).getConnection();
+        held.close();
+    }
+}
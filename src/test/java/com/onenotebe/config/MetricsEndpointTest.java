@@ -0,0 +1,87 @@
+package com.onenotebe.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "management.prometheus.metrics.export.enabled=true",
+        "management.endpoints.web.exposure.include=health,metrics,prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.distribution.percentiles-histogram.spring.data.repository.invocations=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.threads.virtual.enabled=true",
+        "app.rate-limit.register.capacity=1",
+        "app.rate-limit.register.period=PT1H"
+})
+@AutoConfigureMockMvc
+class MetricsEndpointTest {
+
+    private static final Pattern REGISTER_REJECTED =
+            Pattern.compile("(?m)^rate_limit_rejected_total\\{[^}]*policy=\"register\"[^}]*} (\\S+)$");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void publishesEveryMeterFamily() throws Exception {
+        mockMvc.perform(get("/api/v1/posts")).andExpect(status().isOk());
+
+        assertThat(scrape()).contains(
+                "http_server_requests_seconds_bucket",
+                "spring_data_repository_invocations_seconds_bucket",
+                "hikaricp_connections_acquire_seconds",
+                "jdbc_connections_gate_wait_seconds",
+                "hibernate_statements_total",
+                "cache_gets_total",
+                "cache_puts_total",
+                "cache_evictions_total",
+                "cache_size",
+                "cache_weighted_size_bytes",
+                "rate_limit_rejected_total");
+    }
+
+    @Test
+    void countsRateLimitRejectionsPerPolicy() throws Exception {
+        double before = registerRejections();
+        // The filter runs before validation, so an empty body is enough to use up the bucket
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/v1/auth/register").contentType(MediaType.APPLICATION_JSON).content("{}")
+                    .with(request -> {
+                        request.setRemoteAddr("203.0.113.25");
+                        return request;
+                    }));
+        }
+
+        assertThat(registerRejections()).isEqualTo(before + 2);
+    }
+
+    @Test
+    void keepsTheScrapeAdminOnly() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").with(user("reader").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private double registerRejections() throws Exception {
+        var matcher = REGISTER_REJECTED.matcher(scrape());
+        assertThat(matcher.find()).as("rate_limit_rejected_total{policy=\"register\"}").isTrue();
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus").with(user("prometheus").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
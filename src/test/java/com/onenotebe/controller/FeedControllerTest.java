@@ -0,0 +1,80 @@
+package com.onenotebe.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.onenotebe.feed.FeedPublisher;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FeedPublisher feedPublisher;
+
+    @BeforeEach
+    void awaitFirstRender() throws InterruptedException {
+        // Documents are rendered on the publisher's thread after startup
+        var deadline = Instant.now().plus(Duration.ofSeconds(10));
+        while ((feedPublisher.sitemap() == null || feedPublisher.rss() == null || feedPublisher.atom() == null)
+                && Instant.now().isBefore(deadline)) {
+            Thread.sleep(10);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/sitemap.xml", "/feed.rss", "/feed.atom"})
+    void answersAMatchingETagWithNotModified(String uri) throws Exception {
+        var response = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse();
+        var etag = response.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void answersAnUnchangedLastModifiedWithNotModified() throws Exception {
+        var lastModified = mockMvc.perform(get("/feed.rss"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/feed.rss").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void servesGzipWhenAccepted() throws Exception {
+        mockMvc.perform(get("/feed.atom").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void answersUnknownSitemapFilesWithNotFound() throws Exception {
+        mockMvc.perform(get("/sitemaps/sitemap-999.xml")).andExpect(status().isNotFound());
+    }
+}
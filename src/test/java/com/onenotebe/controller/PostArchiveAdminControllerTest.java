@@ -0,0 +1,154 @@
+package com.onenotebe.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onenotebe.dto.PostArchiveDto;
+import com.onenotebe.model.Category;
+import com.onenotebe.repository.CategoryRepository;
+import com.onenotebe.repository.PostRepository;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+// Own database, so every test starts from an empty posts table
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:post-archive;MODE=PostgreSQL;"
+        + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class PostArchiveAdminControllerTest {
+
+    private static final String NDJSON = PostArchiveAdminController.NDJSON;
+    private static final RequestPostProcessor ADMIN = user("admin").roles("ADMIN");
+
+    private static final List<PostArchiveDto> ARCHIVE = List.of(
+            new PostArchiveDto("Hello World", "hello-world", "# Hello\n\nFirst post.", null, "admin",
+                    List.of("java", "spring"), Instant.parse("2024-01-01T08:00:00Z")),
+            new PostArchiveDto("Đà Lạt mùa sương", "da-lat", "Line \"quoted\"\ttabbed", "https://cdn.example/a.png",
+                    "admin", List.of(), Instant.parse("2024-02-01T08:00:00Z")),
+            new PostArchiveDto("Tuning Spring", "tuning-spring", "```java\nvar x = 1;\n```", null, "admin",
+                    List.of("spring"), Instant.parse("2024-03-01T08:00:00Z")));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        postRepository.deleteAll();
+        if (categoryRepository.count() == 0) {
+            categoryRepository.save(Category.builder().name("Java").slug("java").build());
+            categoryRepository.save(Category.builder().name("Spring").slug("spring").build());
+        }
+        importArchive(ndjson(ARCHIVE));
+    }
+
+    @Test
+    void exportsOneArchiveObjectPerLine() throws Exception {
+        var lines = exportText().split("\n", -1);
+
+        // Every record ends with a newline, so the last split is empty
+        assertThat(lines).hasSize(ARCHIVE.size() + 1);
+        assertThat(lines[ARCHIVE.size()]).isEmpty();
+        for (int i = 0; i < ARCHIVE.size(); i++) {
+            assertThat(objectMapper.readTree(lines[i]).isObject()).isTrue();
+            assertThat(objectMapper.readValue(lines[i], PostArchiveDto.class)).isEqualTo(ARCHIVE.get(i));
+        }
+    }
+
+    @Test
+    void roundTripsIntoAnEmptySchema() throws Exception {
+        var exported = exportText();
+        postRepository.deleteAll();
+        assertThat(postRepository.count()).isZero();
+
+        importArchive(exported);
+
+        assertThat(postRepository.count()).isEqualTo(ARCHIVE.size());
+        assertThat(exportText()).isEqualTo(exported);
+    }
+
+    @Test
+    void gzipsTheExportOnlyWhenAccepted() throws Exception {
+        var plain = export(get("/api/v1/admin/posts/export"));
+        assertThat(plain.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(plain.getContentType()).startsWith(NDJSON);
+        assertThat(plain.getHeader(HttpHeaders.CONTENT_DISPOSITION)).startsWith("attachment; filename=\"posts-");
+        assertThat(plain.getHeader(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+
+        var gzipped = export(get("/api/v1/admin/posts/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+        assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getContentAsByteArray());
+        }
+    }
+
+    @Test
+    void restrictsTheArchiveEndpointsToAdmins() throws Exception {
+        var reader = user("reader").roles("USER");
+
+        mockMvc.perform(get("/api/v1/admin/posts/export")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/admin/posts/export").with(reader)).andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/v1/admin/posts/import").contentType(NDJSON).content(ndjson(ARCHIVE)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/v1/admin/posts/import").with(reader).contentType(NDJSON).content(ndjson(ARCHIVE)))
+                .andExpect(status().isForbidden());
+        assertThat(postRepository.count()).isEqualTo(ARCHIVE.size());
+    }
+
+    private void importArchive(String archive) throws Exception {
+        mockMvc.perform(post("/api/v1/admin/posts/import").with(ADMIN).contentType(NDJSON).content(archive))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(archive.lines().count()))
+                .andExpect(jsonPath("$.data.failed").value(0));
+    }
+
+    private String exportText() throws Exception {
+        return export(get("/api/v1/admin/posts/export")).getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private MockHttpServletResponse export(MockHttpServletRequestBuilder builder) throws Exception {
+        var started = mockMvc.perform(builder.with(ADMIN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CONTENT_DISPOSITION))
+                .andReturn().getResponse();
+    }
+
+    private String ndjson(List<PostArchiveDto> posts) throws Exception {
+        var archive = new StringBuilder();
+        for (var post : posts) {
+            archive.append(objectMapper.writeValueAsString(post)).append('\n');
+        }
+        return archive.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.onenotebe.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.onenotebe.dto.CategoryDto;
+import com.onenotebe.dto.CreateCategoryDto;
+import com.onenotebe.dto.CreatePostDto;
+import com.onenotebe.dto.UpdateCategoryDto;
+import com.onenotebe.model.Role;
+import com.onenotebe.model.User;
+import com.onenotebe.repository.UserRepository;
+import com.onenotebe.service.CategoryService;
+import com.onenotebe.service.PostService;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/v1/posts?cursor={cursor}", "/api/v1/posts?categories=1&cursor={cursor}"})
+    void answersMalformedCursorsWithBadRequest(String uri) throws Exception {
+        mockMvc.perform(get(uri, "MTIzOng"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error.code").value("BAD_REQUEST"));
+    }
+
+    @Test
+    void changesTheETagWhenAnEmbeddedCategoryIsRenamed() throws Exception {
+        var suffix = UUID.randomUUID().toString().substring(0, 8);
+        var author = "author-" + suffix;
+        userRepository.save(User.builder()
+                .username(author)
+                .email(author + "@example.com")
+                .password("hashed")
+                .role(Role.ROLE_ADMIN)
+                .build());
+        var category = categoryService.create(new CreateCategoryDto("Before " + suffix));
+        var post = postService.create(
+                new CreatePostDto("Renamed category " + suffix, "body", null, Set.of(category.id())), author);
+        var uri = "/api/v1/posts/" + post.slug();
+        var etag = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.categories[0].name").value("Before " + suffix))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        // ETags carry millisecond versions
+        Thread.sleep(5);
+        categoryService.update(category.id(), new UpdateCategoryDto("After " + suffix));
+
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.data.categories[0].name").value("After " + suffix));
+        assertThat(postService.getBySlug(post.slug()).categories()).extracting(CategoryDto::name)
+                .containsExactly("After " + suffix);
+    }
+}
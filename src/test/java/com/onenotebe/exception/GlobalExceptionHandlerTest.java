@@ -0,0 +1,32 @@
+package com.onenotebe.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 1",
+            "1, 1",
+            "999999999, 1",
+            "1000000000, 1",
+            "1000000001, 2",
+            "2500000000, 3",
+            "60000000000, 60"
+    })
+    void roundsRetryAfterUpToWholeSeconds(long waitNanos, String expectedSeconds) {
+        var response = handler.handleRateLimit(
+                new RateLimitExceededException("Too many requests", Duration.ofNanos(waitNanos)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo(expectedSeconds);
+    }
+}
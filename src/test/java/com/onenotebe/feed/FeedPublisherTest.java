@@ -0,0 +1,140 @@
+package com.onenotebe.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.onenotebe.config.FeedProperties;
+import com.onenotebe.config.RenderProperties;
+import com.onenotebe.dto.CategoryDto;
+import com.onenotebe.dto.PostDetailDto;
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.render.MarkdownRenderer;
+import com.onenotebe.repository.CategoryRepository;
+import com.onenotebe.repository.PostRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FeedPublisherTest {
+
+    private static final Instant CREATED = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final FeedProperties properties = new FeedProperties();
+    private final FeedPublisher publisher;
+
+    FeedPublisherTest() {
+        properties.setBaseUrl("https://blog.example");
+        properties.setUrlsPerSitemap(2);
+        publisher = new FeedPublisher(postRepository, mock(CategoryRepository.class),
+                new MarkdownRenderer(new RenderProperties()), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+    }
+
+    @Test
+    void switchesToASitemapIndexOnceTheUrlsNoLongerFitInOneFile() throws Exception {
+        load(10, 20);
+        assertThat(xml(publisher.sitemap())).contains("<urlset", "/posts/post-10", "/posts/post-20");
+        assertThat(publisher.sitemap()).isSameAs(publisher.sitemapPart(1));
+
+        publisher.onCategoryChanged(CategoryChangedEvent.created(new CategoryDto(1L, "Java", "java", 0)));
+        publisher.awaitPublished();
+
+        assertThat(xml(publisher.sitemap())).contains("<sitemapindex",
+                "https://blog.example/sitemaps/sitemap-1.xml", "https://blog.example/sitemaps/sitemap-2.xml");
+        assertThat(xml(publisher.sitemapPart(2))).contains("https://blog.example/categories/java");
+        assertThat(publisher.sitemapPart(3)).isNull();
+    }
+
+    @Test
+    void rerendersOnlyThePartHoldingAnEditedUrl() throws Exception {
+        load(10, 20, 30, 40, 50);
+        var before = parts();
+
+        publisher.onPostChanged(PostChangedEvent.updated("post-30", post(30, "Retitled", CREATED.plusSeconds(60))));
+        publisher.awaitPublished();
+
+        var after = parts();
+        assertThat(after.get(0)).isSameAs(before.get(0));
+        assertThat(after.get(1)).isNotSameAs(before.get(1));
+        assertThat(xml(after.get(1))).contains("2024-01-01T00:01:00Z");
+        assertThat(after.get(2)).isSameAs(before.get(2));
+    }
+
+    @Test
+    void rerendersFromTheInsertedPositionOn() throws Exception {
+        load(10, 20, 30, 40);
+        var before = parts();
+
+        publisher.onPostChanged(PostChangedEvent.created(post(35, "Inserted", CREATED)));
+        publisher.awaitPublished();
+
+        var after = parts();
+        assertThat(after).hasSize(3);
+        assertThat(after.get(0)).isSameAs(before.get(0));
+        assertThat(after.get(1)).isNotSameAs(before.get(1));
+        assertThat(xml(after.get(1))).contains("/posts/post-30", "/posts/post-35");
+        assertThat(xml(after.get(2))).contains("/posts/post-40");
+    }
+
+    @Test
+    void rerendersFromTheDeletedPositionOn() throws Exception {
+        load(10, 20, 30, 40, 50);
+        var before = parts();
+
+        publisher.onPostChanged(PostChangedEvent.deleted(30L, "post-30"));
+        publisher.awaitPublished();
+
+        var after = parts();
+        assertThat(after).hasSize(2);
+        assertThat(after.get(0)).isSameAs(before.get(0));
+        assertThat(xml(after.get(1))).contains("/posts/post-40", "/posts/post-50").doesNotContain("/posts/post-30");
+    }
+
+    @Test
+    void dropsTrailingPartsWhenTheUrlCountShrinks() throws Exception {
+        load(10, 20, 30, 40, 50);
+
+        publisher.onPostChanged(PostChangedEvent.deleted(50L, "post-50"));
+        publisher.awaitPublished();
+        assertThat(publisher.sitemapPart(3)).isNull();
+        assertThat(xml(publisher.sitemap())).doesNotContain("sitemap-3.xml");
+
+        publisher.onPostChanged(PostChangedEvent.deleted(40L, "post-40"));
+        publisher.onPostChanged(PostChangedEvent.deleted(30L, "post-30"));
+        publisher.awaitPublished();
+
+        assertThat(publisher.sitemapPart(2)).isNull();
+        assertThat(publisher.sitemap()).isSameAs(publisher.sitemapPart(1));
+        assertThat(xml(publisher.sitemap())).contains("<urlset", "/posts/post-20");
+    }
+
+    private void load(long... ids) throws Exception {
+        when(postRepository.streamFeedRows()).thenReturn(Arrays.stream(ids).mapToObj(id ->
+                new PostRepository.FeedRow(id, "Post " + id, "post-" + id, CREATED, CREATED)));
+        publisher.load();
+        publisher.awaitPublished();
+    }
+
+    private List<FeedDocument> parts() {
+        return IntStream.rangeClosed(1, 10).mapToObj(publisher::sitemapPart).takeWhile(part -> part != null).toList();
+    }
+
+    private static String xml(FeedDocument document) {
+        return new String(document.identity(), StandardCharsets.UTF_8);
+    }
+
+    private static PostDetailDto post(long id, String title, Instant updatedAt) {
+        return new PostDetailDto(id, title, "post-" + id, "body", null, CREATED, updatedAt, null, List.of(), null);
+    }
+}
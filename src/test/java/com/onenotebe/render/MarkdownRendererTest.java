@@ -0,0 +1,57 @@
+package com.onenotebe.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.onenotebe.config.RenderProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class MarkdownRendererTest {
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer(new RenderProperties());
+
+    @Test
+    void escapesRawHtml() {
+        var html = renderer.render("Hi <script>alert(1)</script>\n\n<img src=x onerror=alert(1)>");
+
+        assertThat(html).doesNotContain("<script", "<img");
+        assertThat(html).contains("&lt;script&gt;alert(1)&lt;/script&gt;", "&lt;img src=x onerror=alert(1)&gt;");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[click](javascript:alert(1))",
+            "[click](JavaScript:alert(1))",
+            "![pic](javascript:alert(1))",
+            "<javascript:alert(1)>",
+            "[click](vbscript:msgbox(1))",
+            "[click](data:text/html;base64,PHNjcmlwdD4=)"})
+    void dropsUnsafeLinkSchemes(String markdown) {
+        var html = renderer.render(markdown);
+
+        assertThat(html.toLowerCase()).doesNotContain("href=\"javascript:", "src=\"javascript:",
+                "href=\"vbscript:", "href=\"data:");
+    }
+
+    @Test
+    void keepsSafeLinks() {
+        assertThat(renderer.render("[docs](https://example.com/a?b=1)"))
+                .contains("href=\"https://example.com/a?b=1\">docs</a>");
+        assertThat(renderer.render("[mail](mailto:me@example.com) [page](/posts/hello)"))
+                .contains("href=\"mailto:me@example.com\"", "href=\"/posts/hello\"");
+    }
+
+    @Test
+    void rendersGfmTablesAndStrikethrough() {
+        var html = renderer.render("| a | b |\n|---|---|\n| 1 | 2 |\n\n~~gone~~");
+
+        assertThat(html).contains("<table>", "<td>1</td>", "<del>gone</del>");
+    }
+
+    @Test
+    void rendersEmptyContentAsEmptyHtml() {
+        assertThat(renderer.render(null)).isEmpty();
+        assertThat(renderer.render("")).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.onenotebe.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.onenotebe.config.JpaConfig;
+import com.onenotebe.mapper.PostMapper;
+import com.onenotebe.mapper.PostMapperImpl;
+import com.onenotebe.model.Category;
+import com.onenotebe.model.Post;
+import com.onenotebe.model.Role;
+import com.onenotebe.model.User;
+import com.onenotebe.support.SqlStatementRecorder;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import java.util.Set;
+
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.onenotebe.support.SqlStatementRecorder")
+@Import({JpaConfig.class, PostMapperImpl.class})
+class PostRepositoryTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostMapper postMapper;
+
+    private Long firstPostId;
+
+    @BeforeEach
+    void setUp() {
+        var author = entityManager.persist(User.builder()
+                .username("author")
+                .email("author@example.com")
+                .password("hashed")
+                .role(Role.ROLE_ADMIN)
+                .build());
+        var java = entityManager.persist(Category.builder().name("Java").slug("java").build());
+        var spring = entityManager.persist(Category.builder().name("Spring").slug("spring").build());
+        for (int i = 0; i < 3; i++) {
+            var post = entityManager.persist(Post.builder()
+                    .title("Post " + i)
+                    .slug("post-" + i)
+                    .content("long markdown body ".repeat(1_000))
+                    .author(author)
+                    .categories(Set.of(java, spring))
+                    .build());
+            if (firstPostId == null) {
+                firstPostId = post.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.reset();
+    }
+
+    @Test
+    void summaryQueriesNeverSelectContent() {
+        var offsetPage = postRepository.findSummaries(PageRequest.of(0, 2));
+        var firstPage = postRepository.findFirstSummaryPage(Limit.of(2));
+        var last = firstPage.get(firstPage.size() - 1);
+        var nextPage = postRepository.findSummaryPageAfter(last.createdAt(), last.id(), Limit.of(2));
+
+        assertThat(offsetPage).hasSize(2);
+        assertThat(firstPage).hasSize(2);
+        assertThat(nextPage).hasSize(1);
+        assertThat(SqlStatementRecorder.statements())
+                .hasSize(3)
+                .noneMatch(sql -> sql.toLowerCase().contains("content"))
+                .noneMatch(sql -> sql.toLowerCase().contains("count("));
+    }
+
+    @Test
+    void summaryQueriesDoNotPopulatePersistenceContext() {
+        postRepository.findFirstSummaryPage(Limit.of(3));
+
+        var statistics = entityManager.getEntityManager()
+                .unwrap(Session.class)
+                .getStatistics();
+        assertThat(statistics.getEntityCount()).isZero();
+    }
+
+    @Test
+    void detailBySlugIsOneStatement() {
+        var detail = postRepository.findBySlug("post-1").map(postMapper::toDetailDto).orElseThrow();
+
+        assertThat(detail.author().username()).isEqualTo("author");
+        assertThat(detail.categories()).extracting("slug").containsExactly("java", "spring");
+        assertThat(SqlStatementRecorder.statements()).hasSize(1);
+    }
+
+    @Test
+    void detailByIdIsOneStatement() {
+        var detail = postRepository.findDetailById(firstPostId).map(postMapper::toDetailDto).orElseThrow();
+
+        assertThat(detail.author().username()).isEqualTo("author");
+        assertThat(detail.categories()).hasSize(2);
+        assertThat(SqlStatementRecorder.statements()).hasSize(1);
+    }
+}
@@ -0,0 +1,122 @@
+package com.onenotebe.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.onenotebe.dto.CategoryDto;
+import com.onenotebe.dto.PostDetailDto;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.model.Category;
+import com.onenotebe.repository.CategoryRepository;
+import com.onenotebe.repository.PostRepository;
+import com.onenotebe.repository.PostRepository.CategoryLinkRow;
+import com.onenotebe.repository.PostRepository.ListingKeyRow;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CategoryPostIndexTest {
+
+    private static final long JAVA = 1L;
+    private static final long SPRING = 2L;
+    private static final Instant DAY = Instant.parse("2024-06-01T00:00:00Z");
+
+    private CategoryPostIndex index;
+
+    @BeforeEach
+    void setUp() {
+        var postRepository = mock(PostRepository.class);
+        var categoryRepository = mock(CategoryRepository.class);
+        var java = Category.builder().name("Java").slug("java").build();
+        java.setId(JAVA);
+        var spring = Category.builder().name("Spring").slug("spring").build();
+        spring.setId(SPRING);
+        when(categoryRepository.findAll()).thenReturn(List.of(java, spring));
+        // Ids 40 and 50 were imported later with historical dates, so id order is not date order
+        when(postRepository.streamListingKeys()).thenAnswer(invocation -> Stream.of(
+                new ListingKeyRow(10L, DAY.plusSeconds(10)),
+                new ListingKeyRow(20L, DAY.plusSeconds(20)),
+                new ListingKeyRow(30L, DAY.plusSeconds(30)),
+                new ListingKeyRow(40L, DAY.minusSeconds(1_000)),
+                new ListingKeyRow(50L, DAY.plusSeconds(20))));
+        when(postRepository.streamCategoryLinks()).thenAnswer(invocation -> Stream.of(
+                new CategoryLinkRow(10L, JAVA), new CategoryLinkRow(20L, JAVA), new CategoryLinkRow(30L, JAVA),
+                new CategoryLinkRow(40L, JAVA), new CategoryLinkRow(50L, JAVA), new CategoryLinkRow(30L, SPRING),
+                new CategoryLinkRow(40L, SPRING)));
+        index = new CategoryPostIndex(postRepository, categoryRepository);
+        index.load();
+    }
+
+    @Test
+    void pagesInTheMainListingOrder() {
+        assertThat(ids(index.page(List.of(JAVA), CategoryMatch.ANY, null, 10)))
+                .containsExactly(30L, 50L, 20L, 10L, 40L);
+    }
+
+    @Test
+    void resumesStrictlyAfterTheCursor() {
+        var first = index.page(List.of(JAVA), CategoryMatch.ANY, null, 2);
+        var second = index.page(List.of(JAVA), CategoryMatch.ANY, first.get(1), 2);
+        var third = index.page(List.of(JAVA), CategoryMatch.ANY, second.get(1), 2);
+
+        assertThat(ids(first)).containsExactly(30L, 50L);
+        assertThat(ids(second)).containsExactly(20L, 10L);
+        assertThat(ids(third)).containsExactly(40L);
+    }
+
+    @Test
+    void filtersThroughCombinedBitmaps() {
+        assertThat(ids(index.page(List.of(JAVA, SPRING), CategoryMatch.ALL, null, 10))).containsExactly(30L, 40L);
+        assertThat(ids(index.page(List.of(SPRING, 99L), CategoryMatch.ANY, null, 10))).containsExactly(30L, 40L);
+        assertThat(index.page(List.of(SPRING, 99L), CategoryMatch.ALL, null, 10)).isEmpty();
+    }
+
+    @Test
+    void keepsTheOrderAcrossPostEvents() {
+        index.onPostChanged(PostChangedEvent.created(post(60L, DAY.plusSeconds(15), JAVA)));
+        index.onPostChanged(PostChangedEvent.deleted(30L, "post-30"));
+
+        assertThat(ids(index.page(List.of(JAVA), CategoryMatch.ANY, null, 10)))
+                .containsExactly(50L, 20L, 60L, 10L, 40L);
+        assertThat(index.postCount(JAVA)).isEqualTo(5);
+    }
+
+    @Test
+    void pagesSparseCategoriesFromTheirMembers() {
+        var postRepository = mock(PostRepository.class);
+        var categoryRepository = mock(CategoryRepository.class);
+        var sparse = Category.builder().name("Sparse").slug("sparse").build();
+        sparse.setId(3L);
+        when(categoryRepository.findAll()).thenReturn(List.of(sparse));
+        when(postRepository.streamListingKeys()).thenAnswer(invocation -> LongStream.rangeClosed(1, 5_000)
+                .mapToObj(id -> new ListingKeyRow(id, DAY.plusSeconds(id))));
+        when(postRepository.streamCategoryLinks()).thenAnswer(invocation -> Stream.of(7L, 13L, 2_500L, 4_999L)
+                .map(id -> new CategoryLinkRow(id, 3L)));
+        var sparseIndex = new CategoryPostIndex(postRepository, categoryRepository);
+        sparseIndex.load();
+
+        var first = sparseIndex.page(List.of(3L), CategoryMatch.ANY, null, 2);
+        var second = sparseIndex.page(List.of(3L), CategoryMatch.ANY, first.get(1), 2);
+        var third = sparseIndex.page(List.of(3L), CategoryMatch.ANY, second.get(1), 2);
+
+        assertThat(ids(first)).containsExactly(4_999L, 2_500L);
+        assertThat(ids(second)).containsExactly(13L, 7L);
+        assertThat(third).isEmpty();
+    }
+
+    private static List<Long> ids(List<CategoryPostIndex.Position> positions) {
+        return positions.stream().map(CategoryPostIndex.Position::id).toList();
+    }
+
+    private static PostDetailDto post(Long id, Instant createdAt, long categoryId) {
+        var categories = new ArrayList<CategoryDto>();
+        categories.add(new CategoryDto(categoryId, "Java", "java", null));
+        return new PostDetailDto(id, "Post " + id, "post-" + id, "body", null, createdAt, createdAt, null,
+                categories, null);
+    }
+}
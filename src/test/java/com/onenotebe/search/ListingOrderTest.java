@@ -0,0 +1,80 @@
+package com.onenotebe.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ListingOrderTest {
+
+    private static final Instant DAY = Instant.parse("2024-06-01T00:00:00Z");
+
+    @Test
+    void ordersNewestFirstWithIdsBreakingTies() {
+        var order = ListingOrder.of(new long[] {nanos(10), nanos(30), nanos(10), nanos(20)}, new int[] {1, 2, 3, 4});
+
+        assertThat(ids(order)).containsExactly(2, 4, 3, 1);
+        assertThat(order.positionOf(3)).isEqualTo(2);
+        assertThat(order.positionOf(9)).isEqualTo(-1);
+        assertThat(order.indexAfter(DAY.plusSeconds(10), 3)).isEqualTo(3);
+        assertThat(order.indexAfter(DAY.plusSeconds(25), 0)).isEqualTo(1);
+    }
+
+    @Test
+    void copiesMatchARebuildAfterRandomWrites() {
+        var random = new Random(42);
+        var model = new HashMap<Integer, Long>();
+        var order = ListingOrder.EMPTY;
+        for (int step = 0; step < 2_000; step++) {
+            int id = random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                order = order.without(id);
+                model.remove(id);
+            } else {
+                long seconds = random.nextInt(50);
+                order = order.with(id, DAY.plusSeconds(seconds));
+                model.put(id, nanos(seconds));
+            }
+        }
+
+        var rebuilt = rebuild(model);
+        assertThat(ids(order)).containsExactly(ids(rebuilt));
+        for (int id = 0; id < 300; id++) {
+            assertThat(order.positionOf(id)).as("position of %d", id).isEqualTo(rebuilt.positionOf(id));
+            assertThat(order.contains(id)).isEqualTo(model.containsKey(id));
+        }
+    }
+
+    @Test
+    void returnsItselfWhenNothingChanges() {
+        var order = ListingOrder.EMPTY.with(1, DAY);
+
+        assertThat(order.with(1, DAY)).isSameAs(order);
+        assertThat(order.without(2)).isSameAs(order);
+        assertThat(order.with(1, DAY.plusSeconds(1)).createdAt(0)).isEqualTo(DAY.plusSeconds(1));
+    }
+
+    private static ListingOrder rebuild(Map<Integer, Long> model) {
+        var ids = model.keySet().stream().mapToInt(Integer::intValue).toArray();
+        var createdAt = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            createdAt[i] = model.get(ids[i]);
+        }
+        return ListingOrder.of(createdAt, ids);
+    }
+
+    private static Integer[] ids(ListingOrder order) {
+        var ids = new Integer[order.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = order.id(i);
+        }
+        return ids;
+    }
+
+    private static long nanos(long seconds) {
+        return ListingOrder.toEpochNanos(DAY.plusSeconds(seconds));
+    }
+}
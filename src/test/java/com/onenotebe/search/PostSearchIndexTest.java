@@ -0,0 +1,126 @@
+package com.onenotebe.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.onenotebe.config.SearchProperties;
+import com.onenotebe.dto.PostDetailDto;
+import com.onenotebe.dto.PostSummaryDto;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.repository.PostRepository;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PostSearchIndexTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2024-01-02T00:00:00Z");
+
+    private PostRepository postRepository;
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var properties = new SearchProperties();
+        properties.setInMemory(true);
+        postRepository = mock(PostRepository.class);
+        index = new PostSearchIndex(postRepository, properties);
+        index.onPostChanged(PostChangedEvent.created(post(1L, "Spring Boot caching", "Caffeine in front of JPA")));
+        index.onPostChanged(PostChangedEvent.created(post(2L, "Virtual threads", "Pinning and JDBC pools")));
+        index.onPostChanged(PostChangedEvent.created(post(3L, "Spring Security", "JWT refresh rotation")));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void supportsPhrasesAlternativesAndExclusions() {
+        assertThat(ids("spring")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids("\"spring boot\"")).containsExactly(1L);
+        assertThat(ids("caffeine | pinning")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("spring -jwt")).containsExactly(1L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a*", "?pring", "/.{0,50}x/", "/[a-z]+/", "spring~2", "title:spring",
+            "content:*", "((((", "\"unbalanced", "+", "-", "the"})
+    void treatsExpensiveOrMalformedSyntaxAsLiteralText(String query) {
+        // Must neither throw nor expand wildcards, regexes or fuzzy terms into matches
+        assertThat(ids(query)).isSubsetOf(1L, 3L);
+    }
+
+    @Test
+    void matchesNothingForOperatorOnlyInput() {
+        assertThat(ids("| -")).isEmpty();
+    }
+
+    @Test
+    void leavesTheIndexAloneWhenItHasSeenTheLatestChange() throws IOException {
+        when(postRepository.count()).thenReturn(3L);
+        when(postRepository.findMaxUpdatedAt()).thenReturn(UPDATED_AT);
+
+        index.rebuildIfStale();
+
+        verify(postRepository, never()).streamSearchRows();
+    }
+
+    @Test
+    void rebuildsWhenAPostWasEditedElsewhere() throws IOException {
+        // Same document count, but another node retitled post 2 after the last change seen here
+        when(postRepository.count()).thenReturn(3L);
+        when(postRepository.findMaxUpdatedAt()).thenReturn(UPDATED_AT.plusSeconds(60));
+        when(postRepository.streamSearchRows()).thenReturn(Stream.of(
+                row(1L, "Spring Boot caching", "Caffeine in front of JPA"),
+                row(2L, "Structured concurrency", "Scopes and subtasks"),
+                row(3L, "Spring Security", "JWT refresh rotation")));
+
+        index.rebuildIfStale();
+
+        assertThat(ids("structured")).containsExactly(2L);
+        assertThat(ids("virtual")).isEmpty();
+    }
+
+    @Test
+    void rebuildsAfterAFailedUpdate() throws IOException {
+        // A post without a title cannot be indexed; the write that triggered it must not fail
+        index.onPostChanged(PostChangedEvent.updated("post-2", post(2L, null, "Pinning and JDBC pools")));
+        assertThat(index.isDirty()).isTrue();
+
+        when(postRepository.count()).thenReturn(3L);
+        when(postRepository.findMaxUpdatedAt()).thenReturn(UPDATED_AT);
+        when(postRepository.streamSearchRows()).thenReturn(Stream.of(
+                row(1L, "Spring Boot caching", "Caffeine in front of JPA"),
+                row(2L, "Virtual threads", "Pinning and JDBC pools"),
+                row(3L, "Spring Security", "JWT refresh rotation")));
+
+        index.rebuildIfStale();
+
+        assertThat(index.isDirty()).isFalse();
+        assertThat(ids("virtual")).containsExactly(2L);
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, null, 10).items().stream().map(PostSummaryDto::id).toList();
+    }
+
+    private static PostDetailDto post(Long id, String title, String content) {
+        return new PostDetailDto(id, title, "post-" + id, content, null,
+                Instant.parse("2024-01-01T00:00:00Z"), UPDATED_AT, null, List.of(), null);
+    }
+
+    private static PostRepository.SearchRow row(Long id, String title, String content) {
+        return new PostRepository.SearchRow(id, title, "post-" + id, content,
+                Instant.parse("2024-01-01T00:00:00Z"), null);
+    }
+}
@@ -0,0 +1,101 @@
+package com.onenotebe.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.onenotebe.dto.SuggestionDto;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PrefixTrieTest {
+
+    private final PrefixTrie trie = PrefixTrie.builder(3, 16)
+            .add(post("Getting started with Spring"), 1, "Getting started with Spring")
+            .add(post("Spring Boot caching"), 2, "Spring Boot caching")
+            .add(post("Spring Security"), 3, "Spring Security")
+            .add(post("Springfield travel notes"), 4, "Springfield travel notes")
+            .add(post("Virtual threads"), 5, "Virtual threads")
+            .build();
+
+    @Test
+    void findsLabelsByThePrefixOfAnyWord() {
+        assertThat(labels("virt")).containsExactly("Virtual threads");
+        assertThat(labels("threa")).containsExactly("Virtual threads");
+        assertThat(labels("started w")).containsExactly("Getting started with Spring");
+    }
+
+    @Test
+    void ranksHighestFirstAndKeepsOnlyTheTopK() {
+        assertThat(labels("spring")).containsExactly(
+                "Springfield travel notes", "Spring Security", "Spring Boot caching");
+    }
+
+    @Test
+    void honoursTheLimit() {
+        assertThat(trie.lookup("spring", 1)).extracting(SuggestionDto::label)
+                .containsExactly("Springfield travel notes");
+        assertThat(trie.lookup("spring", 0)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "--", "kotlin", "springs", "threads virtual"})
+    void returnsNothingForBlankOrUnknownPrefixes(String prefix) {
+        assertThat(labels(prefix)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {"SPRING BOOT|Spring Boot caching", "spring-boot|Spring Boot caching",
+            "  spring   boot  |Spring Boot caching", "spring boot |Spring Boot caching"})
+    void normalizesCaseAndSeparators(String prefix, String expected) {
+        assertThat(labels(prefix)).containsExactly(expected);
+    }
+
+    @Test
+    void indexesNonAsciiLettersAsTyped() {
+        var unicode = PrefixTrie.builder(3, 16)
+                .add(post("Đà Lạt mùa sương"), 1, "Đà Lạt mùa sương")
+                .add(post("Привет, мир"), 2, "Привет, мир")
+                .add(post("日本語の文章"), 3, "日本語の文章")
+                .build();
+
+        assertThat(unicode.lookup("ĐÀ", 3)).extracting(SuggestionDto::label).containsExactly("Đà Lạt mùa sương");
+        assertThat(unicode.lookup("sươ", 3)).extracting(SuggestionDto::label).containsExactly("Đà Lạt mùa sương");
+        assertThat(unicode.lookup("МИР", 3)).extracting(SuggestionDto::label).containsExactly("Привет, мир");
+        assertThat(unicode.lookup("日本", 3)).extracting(SuggestionDto::label).containsExactly("日本語の文章");
+        // Accents are not folded
+        assertThat(unicode.lookup("da", 3)).isEmpty();
+    }
+
+    @Test
+    void ignoresCharactersPastTheMaximumDepth() {
+        var shallow = PrefixTrie.builder(3, 4).add(post("Benchmarks"), 1, "Benchmarks").build();
+
+        assertThat(shallow.lookup("benchmarks", 3)).hasSize(1);
+        assertThat(shallow.lookup("benchXYZ", 3)).hasSize(1);
+    }
+
+    @Test
+    void exposesRanksForMerging() {
+        int node = trie.find("spring");
+
+        assertThat(trie.rankedCount(node)).isEqualTo(3);
+        assertThat(List.of(trie.rank(node, 0), trie.rank(node, 1), trie.rank(node, 2))).containsExactly(4L, 3L, 2L);
+        assertThat(trie.find("kotlin")).isEqualTo(-1);
+        assertThat(trie.rankedCount(-1)).isZero();
+    }
+
+    @Test
+    void emptyTrieFindsNothing() {
+        assertThat(PrefixTrie.empty().lookup("a", 10)).isEmpty();
+    }
+
+    private List<String> labels(String prefix) {
+        return trie.lookup(prefix, 10).stream().map(SuggestionDto::label).toList();
+    }
+
+    private static SuggestionDto post(String title) {
+        return new SuggestionDto(SuggestionDto.Type.POST, title, title.toLowerCase().replace(' ', '-'));
+    }
+}
@@ -0,0 +1,124 @@
+package com.onenotebe.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.onenotebe.dto.CategoryDto;
+import com.onenotebe.dto.PostDetailDto;
+import com.onenotebe.dto.SuggestionDto;
+import com.onenotebe.event.CategoryChangedEvent;
+import com.onenotebe.event.PostChangedEvent;
+import com.onenotebe.repository.CategoryRepository;
+import com.onenotebe.repository.PostRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SuggestionIndexTest {
+
+    private static final Instant CREATED = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final SuggestionIndex index = new SuggestionIndex(postRepository, mock(CategoryRepository.class));
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void ranksPostsByRecency() {
+        load(1, 2, 3);
+
+        assertThat(labels("spring")).containsExactly("Spring 3", "Spring 2", "Spring 1");
+        assertThat(labels("")).isEmpty();
+        assertThat(labels("kotlin")).isEmpty();
+    }
+
+    @Test
+    void ranksCategoriesAbovePostsAndByPostCount() throws Exception {
+        when(postRepository.streamCategoryLinks()).thenReturn(Stream.of(
+                new PostRepository.CategoryLinkRow(1L, 20L), new PostRepository.CategoryLinkRow(2L, 20L)));
+        load(1, 2);
+        index.onCategoryChanged(CategoryChangedEvent.created(new CategoryDto(10L, "Spring Data", "spring-data", 0)));
+        index.onCategoryChanged(CategoryChangedEvent.created(new CategoryDto(20L, "Spring Boot", "spring-boot", 0)));
+        index.awaitPublished();
+
+        assertThat(index.suggest("spring", 10)).extracting(SuggestionDto::type, SuggestionDto::label)
+                .containsExactly(
+                        tuple(SuggestionDto.Type.CATEGORY, "Spring Boot"),
+                        tuple(SuggestionDto.Type.CATEGORY, "Spring Data"),
+                        tuple(SuggestionDto.Type.POST, "Spring 2"),
+                        tuple(SuggestionDto.Type.POST, "Spring 1"));
+        assertThat(labels("spring", 1)).containsExactly("Spring Boot");
+    }
+
+    @Test
+    void mergesChangedPostsWithoutARebuild() throws Exception {
+        load(1, 2, 3);
+
+        index.onPostChanged(PostChangedEvent.created(post(4, "Spring 4")));
+        index.onPostChanged(PostChangedEvent.updated("post-2", post(2, "Kotlin 2")));
+        index.onPostChanged(PostChangedEvent.deleted(3L, "post-3"));
+        index.awaitPublished();
+
+        assertThat(labels("spring")).containsExactly("Spring 4", "Spring 1");
+        assertThat(labels("kotlin")).containsExactly("Kotlin 2");
+        assertThat(labels("spring", 1)).containsExactly("Spring 4");
+    }
+
+    @Test
+    void unhidesAnEntryChangedBackToWhatWasIndexed() throws Exception {
+        load(1, 2);
+
+        index.onPostChanged(PostChangedEvent.updated("post-1", post(1, "Kotlin 1")));
+        index.awaitPublished();
+        index.onPostChanged(PostChangedEvent.updated("post-1", post(1, "Spring 1")));
+        index.awaitPublished();
+
+        assertThat(labels("spring")).containsExactly("Spring 2", "Spring 1");
+        assertThat(labels("kotlin")).isEmpty();
+    }
+
+    @Test
+    void staysExactOnceMoreEntriesAreHiddenThanNodesKeepSpare() throws Exception {
+        int total = SuggestionIndex.TOP_K + SuggestionIndex.SPARE + 10;
+        load(LongStream.rangeClosed(1, total).toArray());
+
+        // Retitle the newest posts one pass at a time, past the spare ranked entries
+        for (long id = total; id > total - SuggestionIndex.SPARE - 2; id--) {
+            index.onPostChanged(PostChangedEvent.updated("post-" + id, post(id, "Kotlin " + id)));
+            index.awaitPublished();
+        }
+
+        long newest = total - SuggestionIndex.SPARE - 2;
+        assertThat(labels("spring")).hasSize(SuggestionIndex.TOP_K)
+                .containsExactlyElementsOf(LongStream.iterate(newest, id -> id - 1)
+                        .limit(SuggestionIndex.TOP_K).mapToObj(id -> "Spring " + id).toList());
+        assertThat(labels("kotlin")).first().isEqualTo("Kotlin " + total);
+    }
+
+    private void load(long... ids) {
+        when(postRepository.streamTitles()).thenReturn(LongStream.of(ids).mapToObj(id ->
+                new PostRepository.TitleRow(id, "Spring " + id, "post-" + id, CREATED.plusSeconds(id))));
+        index.load();
+    }
+
+    private List<String> labels(String prefix) {
+        return labels(prefix, 10);
+    }
+
+    private List<String> labels(String prefix, int limit) {
+        return index.suggest(prefix, limit).stream().map(SuggestionDto::label).toList();
+    }
+
+    private static PostDetailDto post(long id, String title) {
+        return new PostDetailDto(id, title, "post-" + id, "body", null, CREATED.plusSeconds(id), CREATED, null,
+                List.of(), null);
+    }
+}
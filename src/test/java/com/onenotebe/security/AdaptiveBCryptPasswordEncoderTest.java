@@ -0,0 +1,24 @@
+package com.onenotebe.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    private final AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+    @Test
+    void upgradesOnlyHashesWeakerThanTheCurrentCost() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isFalse();
+    }
+
+    @Test
+    void leavesNonBCryptValuesAlone() {
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("plain")).isFalse();
+    }
+}
@@ -0,0 +1,56 @@
+package com.onenotebe.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+
+    @Test
+    void hasNoFalseNegatives() {
+        var filter = BloomFilter.create(INSERTIONS, 0.01);
+        var values = uuids(INSERTIONS);
+
+        values.forEach(filter::put);
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void hasNoFalseNegativesUnderConcurrentPuts() {
+        var filter = BloomFilter.create(INSERTIONS, 0.01);
+        var values = uuids(INSERTIONS);
+
+        values.parallelStream().forEach(filter::put);
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        var filter = BloomFilter.create(INSERTIONS, 0.01);
+        uuids(INSERTIONS).forEach(filter::put);
+
+        long falsePositives = uuids(INSERTIONS).stream().filter(filter::mightContain).count();
+
+        assertThat(falsePositives).isLessThan(INSERTIONS * 3 / 100);
+    }
+
+    @Test
+    void containsNothingWhenEmpty() {
+        var filter = BloomFilter.create(0, 0.01);
+
+        assertThat(filter.expectedInsertions()).isEqualTo(1);
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain("jti")).isFalse();
+    }
+
+    private static List<String> uuids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID().toString()).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.onenotebe.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.onenotebe.config.RateLimitProperties;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Two store instances on one database stand in for two application nodes.
+ * Runs outside the test transaction so each lease commits like it would in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcRateLimitStoreTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcRateLimitStore nodeA;
+    private JdbcRateLimitStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from rate_limit_buckets");
+        var properties = new RateLimitProperties();
+        properties.getJdbc().setLeaseFraction(0.2);
+        nodeA = new JdbcRateLimitStore(jdbcTemplate, transactionManager, properties);
+        nodeB = new JdbcRateLimitStore(jdbcTemplate, transactionManager, properties);
+    }
+
+    @Test
+    void limitHoldsAcrossNodes() {
+        var limiterA = nodeA.limiter("register", 10, Duration.ofMinutes(1), 100);
+        var limiterB = nodeB.limiter("register", 10, Duration.ofMinutes(1), 100);
+
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            var limiter = i % 2 == 0 ? limiterA : limiterB;
+            if (limiter.allow("10.0.0.1")) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(10);
+        assertThat(limiterA.tryAcquire("10.0.0.1")).isPositive();
+        assertThat(limiterA.allow("10.0.0.2")).isTrue();
+    }
+
+    @Test
+    void tokensAreLeasedInBatches() {
+        var limiterA = nodeA.limiter("read", 100, Duration.ofMinutes(1), 100);
+        var limiterB = nodeB.limiter("read", 100, Duration.ofMinutes(1), 100);
+
+        // One request on A leases a batch of 20; the rest of that batch is spent on A only
+        assertThat(limiterA.allow("10.0.0.1")).isTrue();
+        int allowedOnB = 0;
+        while (limiterB.allow("10.0.0.1")) {
+            allowedOnB++;
+        }
+        int allowedOnA = 0;
+        while (limiterA.allow("10.0.0.1")) {
+            allowedOnA++;
+        }
+
+        assertThat(allowedOnB).isEqualTo(80);
+        assertThat(allowedOnA).isEqualTo(19);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from rate_limit_buckets", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void policiesDoNotShareBuckets() {
+        var login = nodeA.limiter("login", 1, Duration.ofMinutes(1), 100);
+        var register = nodeA.limiter("register", 1, Duration.ofMinutes(1), 100);
+
+        assertThat(login.allow("10.0.0.1")).isTrue();
+        assertThat(login.allow("10.0.0.1")).isFalse();
+        assertThat(register.allow("10.0.0.1")).isTrue();
+    }
+
+    @Test
+    void failsOpenAndBacksOffWhenNoConnectionCanBeObtained() throws Exception {
+        var dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        var properties = new RateLimitProperties();
+        properties.getJdbc().setLeaseFraction(0.2);
+        var store = new JdbcRateLimitStore(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource),
+                properties);
+        var limiter = store.limiter("login", 10, Duration.ofMinutes(1), 100);
+
+        // Batches of 2: the first renewal fails, the next ones are granted locally during the back-off
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.allow("10.0.0." + i)).isTrue();
+            assertThat(limiter.allow("10.0.0." + i)).isTrue();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+
+        verify(dataSource, times(1)).getConnection();
+    }
+}
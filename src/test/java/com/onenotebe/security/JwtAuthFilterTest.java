@@ -0,0 +1,79 @@
+package com.onenotebe.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.onenotebe.config.JwtProperties;
+import com.onenotebe.repository.RevokedTokenRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class JwtAuthFilterTest {
+
+    private final JwtService jwtService = mock(JwtService.class);
+    private final TokenVersionCache tokenVersionCache = mock(TokenVersionCache.class);
+    private final TokenRevocationList revocationList =
+            new TokenRevocationList(mock(RevokedTokenRepository.class), new JwtProperties());
+    private final JwtAuthFilter filter = new JwtAuthFilter(jwtService, tokenVersionCache, revocationList);
+    private final VerifiedToken token = new VerifiedToken("jti-1", 7L, "alice", "ROLE_USER", 0,
+            Instant.now().plus(15, ChronoUnit.MINUTES));
+
+    @BeforeEach
+    void setUp() {
+        when(jwtService.verify("signed")).thenReturn(token);
+        when(tokenVersionCache.isCurrent(anyLong(), anyInt())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesAValidToken() throws Exception {
+        var chain = new MockFilterChain();
+
+        filter.doFilter(bearer("signed"), new MockHttpServletResponse(), chain);
+
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isEqualTo(AuthenticatedUser.of(token));
+        assertThat(chain.getRequest()).as("the request continues down the chain").isNotNull();
+    }
+
+    @Test
+    void rejectsARevokedToken() throws Exception {
+        revocationList.revoke(token.tokenId(), token.expiresAt());
+        var chain = new MockFilterChain();
+
+        filter.doFilter(bearer("signed"), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).as("left to the authorization rules to reject").isNotNull();
+    }
+
+    @Test
+    void rejectsATokenIssuedBeforeTheUsersLastLogoutEverywhere() throws Exception {
+        when(tokenVersionCache.isCurrent(7L, 0)).thenReturn(false);
+
+        filter.doFilter(bearer("signed"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private static MockHttpServletRequest bearer(String value) {
+        var request = new MockHttpServletRequest("GET", "/api/v1/auth/me");
+        request.addHeader("Authorization", "Bearer " + value);
+        return request;
+    }
+}
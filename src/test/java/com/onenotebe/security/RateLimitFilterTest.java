@@ -0,0 +1,83 @@
+package com.onenotebe.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.onenotebe.config.RateLimitProperties;
+import com.onenotebe.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+class RateLimitFilterTest {
+
+    private final List<String> consulted = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HandlerExceptionResolver exceptionResolver = mock(HandlerExceptionResolver.class);
+
+    // Every limiter rejects and records which policy was asked
+    private final RateLimitStore store = (name, capacity, period, maxKeys) -> key -> {
+        consulted.add(name);
+        return 1_000_000_000L;
+    };
+
+    @ParameterizedTest
+    @CsvSource({
+            "POST, /api/v1/auth/login, login",
+            "POST, /api/v1/auth/register, register",
+            "POST, /api/v1/auth/refresh, auth",
+            "POST, /api/v1/auth/logout, auth",
+            "GET, /api/v1/auth/me, read",
+            "GET, /api/v1/posts, read",
+            "HEAD, /feed.rss, read",
+            "POST, /api/v1/posts, write",
+            "PUT, /api/v1/posts/1, write",
+            "DELETE, /api/v1/categories/1, write"
+    })
+    void picksThePolicyByMethodAndRoute(String method, String path, String policy) throws Exception {
+        var filter = new RateLimitFilter(new RateLimitProperties(), store, meterRegistry, exceptionResolver);
+        var request = new MockHttpServletRequest(method, path);
+        var chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(consulted).containsExactly(policy);
+        assertThat(chain.getRequest()).as("rejected requests do not reach the chain").isNull();
+        assertThat(meterRegistry.get("rate.limit.rejected").tag("policy", policy).counter().count()).isEqualTo(1);
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(RateLimitExceededException.class));
+    }
+
+    @Test
+    void stripsTheContextPathBeforeMatching() throws Exception {
+        var filter = new RateLimitFilter(new RateLimitProperties(), store, meterRegistry, exceptionResolver);
+        var request = new MockHttpServletRequest("POST", "/blog/api/v1/auth/login");
+        request.setContextPath("/blog");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(consulted).containsExactly("login");
+    }
+
+    @Test
+    void passesEverythingThroughWhenDisabled() throws Exception {
+        var properties = new RateLimitProperties();
+        properties.setEnabled(false);
+        var filter = new RateLimitFilter(properties, store, meterRegistry, exceptionResolver);
+        var chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/auth/login"), new MockHttpServletResponse(), chain);
+
+        assertThat(consulted).isEmpty();
+        assertThat(chain.getRequest()).isNotNull();
+    }
+}
@@ -0,0 +1,99 @@
+package com.onenotebe.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private static final Duration PERIOD = Duration.ofSeconds(6);
+    private static final long INTERVAL = Duration.ofSeconds(2).toNanos();
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void grantsTheFullBurstThenReportsTheWait() {
+        var limiter = limiter(3, 100);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(INTERVAL);
+        assertThat(limiter.tryAcquire("b")).as("other keys keep their own bucket").isZero();
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        var limiter = limiter(3, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        advance(INTERVAL / 2);
+        assertThat(limiter.tryAcquire("a")).isEqualTo(INTERVAL / 2);
+        advance(INTERVAL / 2);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(INTERVAL);
+
+        advance(PERIOD.toNanos());
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.allow("a")).as("refill stops at capacity").isFalse();
+    }
+
+    @Test
+    void sweepsBucketsThatRefilledWhenANewKeyArrives() {
+        var limiter = limiter(3, 100);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertThat(limiter.trackedKeys()).isEqualTo(2);
+
+        advance(PERIOD.toNanos() / 2);
+        limiter.tryAcquire("c");
+        assertThat(limiter.trackedKeys()).as("no sweep within the period").isEqualTo(3);
+
+        advance(PERIOD.toNanos() / 2);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("b");
+        }
+        advance(PERIOD.toNanos() / 2);
+        limiter.tryAcquire("d");
+        // a and c are full again; b is still draining
+        assertThat(limiter.trackedKeys()).isEqualTo(2);
+    }
+
+    @Test
+    void sharesOneOverflowBucketBeyondMaxKeys() {
+        var limiter = limiter(2, 2);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.tryAcquire("d")).isZero();
+        assertThat(limiter.tryAcquire("e")).as("c, d and e share the overflow bucket").isPositive();
+        assertThat(limiter.trackedKeys()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a")).as("tracked keys keep their own bucket").isZero();
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(0, PERIOD, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(1, Duration.ZERO, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(1, PERIOD, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TokenBucketRateLimiter limiter(int capacity, int maxKeys) {
+        return new TokenBucketRateLimiter(capacity, PERIOD, maxKeys, clock::get);
+    }
+
+    private void advance(long nanos) {
+        clock.addAndGet(nanos);
+    }
+}
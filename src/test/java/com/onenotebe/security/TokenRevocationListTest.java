@@ -0,0 +1,88 @@
+package com.onenotebe.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.onenotebe.config.JwtProperties;
+import com.onenotebe.model.RevokedToken;
+import com.onenotebe.repository.RevokedTokenRepository;
+import com.onenotebe.repository.RevokedTokenRepository.RevocationRow;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TokenRevocationListTest {
+
+    private static final Instant LATER = Instant.now().plus(1, ChronoUnit.HOURS);
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final JwtProperties properties = new JwtProperties();
+
+    @Test
+    void persistsAndAppliesARevocationAtOnce() {
+        var list = new TokenRevocationList(repository, properties);
+
+        list.revoke("jti-1", LATER);
+
+        assertThat(list.isRevoked("jti-1")).isTrue();
+        assertThat(list.isRevoked("jti-2")).isFalse();
+        assertThat(list.isRevoked(null)).isFalse();
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void ignoresTokensThatHaveAlreadyExpired() {
+        var list = new TokenRevocationList(repository, properties);
+
+        list.revoke("jti-1", Instant.now().minusSeconds(1));
+
+        assertThat(list.isRevoked("jti-1")).isFalse();
+        verify(repository, never()).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void syncPicksUpRevocationsRecordedByOtherInstances() {
+        var list = new TokenRevocationList(repository, properties);
+        when(repository.findActiveSince(any(), any())).thenReturn(List.of(new RevocationRow("remote", LATER)));
+
+        list.sync();
+
+        assertThat(list.isRevoked("remote")).isTrue();
+    }
+
+    @Test
+    void syncDropsExpiredRevocationsAndRebuildsTheFilter() throws InterruptedException {
+        var list = new TokenRevocationList(repository, properties);
+        list.revoke("short-lived", Instant.now().plusMillis(50));
+        list.revoke("long-lived", LATER);
+        Thread.sleep(100);
+
+        list.sync();
+
+        assertThat(list.isRevoked("short-lived")).isFalse();
+        assertThat(list.isRevoked("long-lived")).as("survives the filter rebuild").isTrue();
+    }
+
+    @Test
+    void growsTheFilterBeyondTheExpectedRevocations() {
+        properties.setExpectedRevocations(4);
+        var list = new TokenRevocationList(repository, properties);
+
+        IntStream.range(0, 100).forEach(i -> list.revoke("jti-" + i, LATER));
+
+        assertThat(IntStream.range(0, 100)).allSatisfy(i -> assertThat(list.isRevoked("jti-" + i)).isTrue());
+    }
+
+    @Test
+    void purgeDeletesExpiredRows() {
+        new TokenRevocationList(repository, properties).purge();
+
+        verify(repository).deleteExpired(any(Instant.class));
+    }
+}
@@ -0,0 +1,73 @@
+package com.onenotebe.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.onenotebe.dto.auth.RegisterRequest;
+import com.onenotebe.exception.DuplicateEmailException;
+import com.onenotebe.exception.DuplicateUsernameException;
+import com.onenotebe.model.Role;
+import com.onenotebe.model.User;
+import com.onenotebe.repository.UserRepository;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class AuthServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void translatesConstraintViolationsIntoDuplicateErrors() {
+        authService.register(new RegisterRequest("alice-" + suffix, "alice-" + suffix + "@example.com", "secret123", null));
+
+        assertThatThrownBy(() -> authService.register(
+                new RegisterRequest("alice-" + suffix, "other-" + suffix + "@example.com", "secret123", null)))
+                .isInstanceOf(DuplicateUsernameException.class);
+        assertThatThrownBy(() -> authService.register(
+                new RegisterRequest("bob-" + suffix, "alice-" + suffix + "@example.com", "secret123", null)))
+                .isInstanceOf(DuplicateEmailException.class);
+    }
+
+    @Test
+    void answersAvailabilityForNamesRegisteredHere() {
+        authService.register(new RegisterRequest("carol-" + suffix, "carol-" + suffix + "@example.com", "secret123", null));
+
+        assertThat(authService.isUsernameAvailable("carol-" + suffix)).isFalse();
+        assertThat(authService.isUsernameAvailable(" carol-" + suffix + " ")).isFalse();
+        assertThat(authService.isUsernameAvailable("dave-" + suffix)).isTrue();
+    }
+
+    @Test
+    void picksUpNamesRegisteredOnOtherNodesOnSync() {
+        // Written straight to the table, as another node would
+        var username = "erin-" + suffix;
+        userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("hashed")
+                .role(Role.ROLE_USER)
+                .build());
+
+        usernameIndex.sync();
+
+        assertThat(authService.isUsernameAvailable(username)).isFalse();
+    }
+}
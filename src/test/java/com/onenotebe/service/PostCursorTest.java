@@ -0,0 +1,47 @@
+package com.onenotebe.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.onenotebe.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PostCursorTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "2024-06-01T10:15:30Z, 1",
+            "2024-06-01T10:15:30.123456789Z, 9007199254740993",
+            "1969-12-31T23:59:59.5Z, 42",
+            "1970-01-01T00:00:00Z, 0"
+    })
+    void roundTripsThroughItsToken(Instant createdAt, long id) {
+        var cursor = new PostCursor(createdAt, id);
+        var token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(PostCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor", "%%%", "QQ="})
+    void rejectsTokensThatAreNotBase64(String token) {
+        assertThatThrownBy(() -> PostCursor.decode(token)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "123", "123.0", "123:4", "4:123.0", "abc.0:1", "123.x:1", "123.0:", "123.0:1:2",
+            "123.0:x", "99999999999999999.0:1"})
+    void rejectsMalformedPositions(String raw) {
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> PostCursor.decode(token))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessage("Malformed cursor");
+    }
+}
@@ -0,0 +1,101 @@
+package com.onenotebe.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.Normalizer;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class SlugifierTest {
+
+    private final Slugifier slugifier = new Slugifier();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "Hello, World!              | hello-world",
+            "  --Spring   Boot 3.5--    | spring-boot-3-5",
+            "Đường đến Hà Nội           | duong-den-ha-noi",
+            "Phở ngon ở Sài Gòn         | pho-ngon-o-sai-gon",
+            "Ưu tiên chất lượng         | uu-tien-chat-luong",
+            "Tạp chí Công nghệ          | tap-chi-cong-nghe",
+            "Thơ mới                    | tho-moi",
+            "Straße                     | strasse",
+            "Æsir Œuvre                 | aesir-oeuvre",
+            "Encyclopædia cœur          | encyclopaedia-coeur",
+            "Łódź Ørsted Þór            | lodz-orsted-thor",
+            "Привет мир                 | привет-мир",
+            "!!!                        | ''"
+    })
+    void slugifies(String text, String expected) {
+        assertThat(slugifier.slugify(text)).isEqualTo(expected);
+    }
+
+    @Test
+    void dropsCombiningMarksOfDecomposedInput() {
+        var composed = "Tiếng Việt đẹp";
+        var decomposed = Normalizer.normalize(composed, Normalizer.Form.NFD);
+
+        assertThat(decomposed).isNotEqualTo(composed);
+        assertThat(slugifier.slugify(decomposed)).isEqualTo("tieng-viet-dep").isEqualTo(slugifier.slugify(composed));
+    }
+
+    @Test
+    void handlesEmptyInput() {
+        assertThat(slugifier.slugify(null)).isEmpty();
+        assertThat(slugifier.slugify("")).isEmpty();
+    }
+
+    @Test
+    void truncatesAtMaxLength() {
+        assertThat(slugifier.slugify("a".repeat(Slugifier.MAX_LENGTH + 50)))
+                .hasSize(Slugifier.MAX_LENGTH);
+    }
+
+    @Test
+    void dropsTheSeparatorLeftAtTheCut() {
+        // The hyphen before "b" lands exactly on the last allowed character
+        var text = "a".repeat(Slugifier.MAX_LENGTH - 1) + " b";
+
+        assertThat(slugifier.slugify(text)).isEqualTo("a".repeat(Slugifier.MAX_LENGTH - 1));
+    }
+
+    @Test
+    void cutsMultiLetterFoldsAtMaxLength() {
+        var text = "a".repeat(Slugifier.MAX_LENGTH - 1) + "ß";
+
+        assertThat(slugifier.slugify(text)).isEqualTo("a".repeat(Slugifier.MAX_LENGTH - 1) + "s");
+    }
+
+    @Test
+    void keepsAFreeBase() {
+        assertThat(slugifier.unique("spring-boot", Set.of("spring-boot-2")::contains)).isEqualTo("spring-boot");
+    }
+
+    @Test
+    void suffixesTakenSlugsWithTheFirstFreeNumber() {
+        assertThat(slugifier.unique("spring-boot", Set.of("spring-boot")::contains)).isEqualTo("spring-boot-2");
+        assertThat(slugifier.unique("spring-boot", Set.of("spring-boot", "spring-boot-2", "spring-boot-3")::contains))
+                .isEqualTo("spring-boot-4");
+        assertThat(slugifier.unique("spring-boot", Set.of("spring-boot", "spring-boot-3")::contains))
+                .isEqualTo("spring-boot-2");
+    }
+
+    @Test
+    void resolvesTheSlugAgainstTheFamilyOfItsBase() {
+        var family = Set.of("spring-boot", "spring-boot-2");
+
+        assertThat(slugifier.uniqueSlug("Spring Boot", "post", null, base -> {
+            assertThat(base).isEqualTo("spring-boot");
+            return family;
+        })).isEqualTo("spring-boot-3");
+        assertThat(slugifier.uniqueSlug("Spring Boot", "post", "spring-boot-2", base -> family))
+                .as("the renamed entity keeps its own slug").isEqualTo("spring-boot-2");
+    }
+
+    @Test
+    void fallsBackWhenTheTextHasNoSlug() {
+        assertThat(slugifier.uniqueSlug("!!!", "post", null, base -> Set.of("post"))).isEqualTo("post-2");
+    }
+}
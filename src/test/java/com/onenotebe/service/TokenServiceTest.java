@@ -0,0 +1,142 @@
+package com.onenotebe.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.onenotebe.model.Role;
+import com.onenotebe.model.User;
+import com.onenotebe.repository.RefreshTokenRepository;
+import com.onenotebe.repository.UserRepository;
+import com.onenotebe.security.AuthenticatedUser;
+import com.onenotebe.security.JwtService;
+import com.onenotebe.security.TokenRevocationList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+
+@SpringBootTest
+class TokenServiceTest {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        var name = "refresher-" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .username(name)
+                .email(name + "@example.com")
+                .password("hashed")
+                .role(Role.ROLE_USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentRefreshesWithOneTokenLetExactlyOneThroughAndRevokeTheFamily() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            var pair = tokenService.issue(user.getId(), user.getUsername(), user.getRole().name(), 0);
+            var familyId = refreshTokenRepository.findAll().stream()
+                    .filter(token -> token.getAccessTokenId() != null && token.getRevokedAt() == null
+                            && token.getUser().getId().equals(user.getId()))
+                    .map(token -> token.getFamilyId())
+                    .findFirst()
+                    .orElseThrow();
+
+            var start = new CountDownLatch(1);
+            List<CompletableFuture<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                attempts.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                        tokenService.refresh(pair.refreshToken());
+                        return true;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    } catch (RuntimeException e) {
+                        return false;
+                    }
+                }, executor));
+            }
+            start.countDown();
+
+            long succeeded = attempts.stream().filter(CompletableFuture::join).count();
+            assertThat(succeeded).as("round %d", round).isEqualTo(1);
+            assertThat(refreshTokenRepository.findByFamilyId(familyId))
+                    .as("round %d", round)
+                    .hasSize(2)
+                    .allSatisfy(token -> assertThat(token.getRevokedAt()).isNotNull());
+        }
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheFamilyAndItsAccessTokens() {
+        var first = tokenService.issue(user.getId(), user.getUsername(), user.getRole().name(), 0);
+        var second = tokenService.refresh(first.refreshToken());
+        var firstJti = jwtService.verify(first.token()).tokenId();
+        var secondJti = jwtService.verify(second.token()).tokenId();
+        assertThat(revocationList.isRevoked(secondJti)).isFalse();
+
+        assertThatThrownBy(() -> tokenService.refresh(first.refreshToken()))
+                .isInstanceOf(BadCredentialsException.class);
+
+        assertThat(revocationList.isRevoked(firstJti)).isTrue();
+        assertThat(revocationList.isRevoked(secondJti)).isTrue();
+        assertThatThrownBy(() -> tokenService.refresh(second.refreshToken()))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void logoutRevokesTheCurrentAccessToken() {
+        var pair = tokenService.issue(user.getId(), user.getUsername(), user.getRole().name(), 0);
+        var verified = jwtService.verify(pair.token());
+
+        tokenService.logout(AuthenticatedUser.of(verified), null);
+
+        assertThat(revocationList.isRevoked(verified.tokenId())).isTrue();
+        // Without the refresh token the family stays usable
+        assertThat(tokenService.refresh(pair.refreshToken()).token()).isNotBlank();
+    }
+
+    @Test
+    void logoutWithTheRefreshTokenRevokesItsFamily() {
+        var pair = tokenService.issue(user.getId(), user.getUsername(), user.getRole().name(), 0);
+
+        tokenService.logout(AuthenticatedUser.of(jwtService.verify(pair.token())), pair.refreshToken());
+
+        assertThatThrownBy(() -> tokenService.refresh(pair.refreshToken()))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+}